@@ -1,5 +1,7 @@
 package aqs.v4;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * @author xiongyx
  * @date 2021/5/22
@@ -8,6 +10,12 @@ package aqs.v4;
  */
 public class MyReentrantLockV4 {
 
+    /**
+     * 非公平锁在进入同步队列park之前，自旋尝试加锁的次数（单核cpu上自旋没有意义）
+     * 临界区很短时，持有锁的线程往往很快就会释放锁，短暂的自旋可以避免park/unpark带来的上下文切换
+     * */
+    private static final int MAX_SPIN_TIMES = Runtime.getRuntime().availableProcessors() > 1 ? 64 : 0;
+
     private final MyReentrantLockV4.Sync sync;
 
     public MyReentrantLockV4() {
@@ -22,6 +30,12 @@ public class MyReentrantLockV4 {
 
         abstract void lock();
 
+        /**
+         * 进入同步队列之前的自旋加锁
+         * @return true加锁成功
+         * */
+        abstract boolean spinAcquire();
+
         final boolean nonfairTryAcquire(int acquires) {
             final Thread current = Thread.currentThread();
             int c = getState();
@@ -81,6 +95,19 @@ public class MyReentrantLockV4 {
         protected final boolean tryAcquire(int acquires) {
             return nonfairTryAcquire(acquires);
         }
+
+        /**
+         * 先读state，只有锁看起来是空闲的时候才cas（test-and-test-and-set），避免自旋时大量无意义的cas
+         * */
+        final boolean spinAcquire() {
+            for (int i = 0; i < MAX_SPIN_TIMES; i++) {
+                if (getState() == 0 && compareAndSetState(0, 1)) {
+                    setExclusiveOwnerThread(Thread.currentThread());
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 
     static final class FairSync extends Sync {
@@ -88,6 +115,13 @@ public class MyReentrantLockV4 {
             acquire(1);
         }
 
+        /**
+         * 公平锁需要按照排队的顺序获得锁，不进行自旋抢占
+         * */
+        final boolean spinAcquire() {
+            return false;
+        }
+
         /**
          * Fair version of tryAcquire.  Don't grant access unless
          * recursive call or no waiters or is first.
@@ -121,10 +155,36 @@ public class MyReentrantLockV4 {
         sync.release(1);
     }
 
+    /**
+     * 可响应中断的加锁
+     * 非公平锁会先自旋尝试加锁，失败后才进入同步队列park
+     * */
     public void lockInterruptibly() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (sync.spinAcquire()) {
+            return;
+        }
         sync.acquireInterruptibly(1);
     }
 
+    /**
+     * 尝试加锁，无论加锁是否成功都立即返回（即使是公平锁，也会直接抢占空闲的锁）
+     * @return true加锁成功
+     * */
+    public boolean tryLock() {
+        return sync.nonfairTryAcquire(1);
+    }
+
+    /**
+     * 尝试加锁，最多等待timeout时间
+     * @return true加锁成功；false超时
+     * */
+    public boolean tryLock(long timeout, TimeUnit unit) throws InterruptedException {
+        return sync.tryAcquireNanos(1, unit.toNanos(timeout));
+    }
+
     public Condition newCondition() {
         return sync.newCondition();
     }
@@ -5,6 +5,7 @@ import aqs.v4.MyReentrantLockV4;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author xiongyx
@@ -15,6 +16,50 @@ public class MyAqsV4Test {
     private static volatile int num = 0;
     public static void main(String[] args) throws InterruptedException {
        testConcurrentAdd(30,1000);
+       testTryLock();
+    }
+
+    private static void testTryLock() throws InterruptedException {
+        MyReentrantLockV4 myReentrantLock = new MyReentrantLockV4();
+
+        // 锁空闲时tryLock成功，并且可重入
+        if(!myReentrantLock.tryLock() || !myReentrantLock.tryLock()){
+            throw new RuntimeException("tryLock存在问题");
+        }
+
+        // 锁被当前线程持有时，其它线程tryLock失败，限时的tryLock超时失败
+        boolean[] otherThreadResult = new boolean[2];
+        Thread otherThread = new Thread(()->{
+            try {
+                otherThreadResult[0] = myReentrantLock.tryLock();
+                otherThreadResult[1] = myReentrantLock.tryLock(10, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        otherThread.start();
+        otherThread.join();
+        if(otherThreadResult[0] || otherThreadResult[1]){
+            throw new RuntimeException("tryLock存在问题");
+        }
+
+        // 完全释放后（重入了两次，需要释放两次），其它线程可以加锁成功
+        myReentrantLock.unlock();
+        myReentrantLock.unlock();
+        otherThread = new Thread(()->{
+            try {
+                otherThreadResult[0] = myReentrantLock.tryLock(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            myReentrantLock.unlock();
+        });
+        otherThread.start();
+        otherThread.join();
+        if(!otherThreadResult[0]){
+            throw new RuntimeException("tryLock存在问题");
+        }
+        System.out.println("testTryLock ok");
     }
 
     private static void testConcurrentAdd(int concurrentThreadNum,int repeatNum) throws InterruptedException {
@@ -0,0 +1,197 @@
+package blockingqueue.array;
+
+import blockingqueue.MyBlockingQueue;
+import blockingqueue.wait.BlockingWaitStrategy;
+import blockingqueue.wait.WaitStrategy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 数组作为底层结构的阻塞队列 v6版本（等待方式可配置）
+ * 1. 与v5版本一样使用putLock、takeLock两把锁保护入队和出队
+ * 2. 不再在持有锁时通过Condition.await等待，而是释放锁之后交给WaitStrategy等待队列未满/非空，
+ *    从而可以按部署环境在cpu占用和唤醒延迟之间做取舍（阻塞、自旋、yield、自旋后阻塞、定时park）
+ */
+public class MyArrayBlockingQueueV6<E> implements MyBlockingQueue<E> {
+
+    /**
+     * 队列默认的容量大小
+     * */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 承载队列元素的底层数组
+     * */
+    private final Object[] elements;
+
+    /**
+     * 当前头部元素的下标
+     * */
+    private int head;
+
+    /**
+     * 下一个元素插入时的下标
+     * */
+    private int tail;
+
+    /**
+     * 队列中元素个数
+     * */
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final ReentrantLock putLock;
+
+    private final ReentrantLock takeLock;
+
+    /**
+     * 生产者等待队列未满的策略
+     * */
+    private final WaitStrategy notFullWaitStrategy;
+
+    /**
+     * 消费者等待队列非空的策略
+     * */
+    private final WaitStrategy notEmptyWaitStrategy;
+
+    /**
+     * 队列未满/非空的判断条件（提前创建好，避免每次等待都创建新的lambda对象）
+     * */
+    private final BooleanSupplier notFullCondition;
+
+    private final BooleanSupplier notEmptyCondition;
+
+    //=================================================构造方法======================================================
+    /**
+     * 默认构造方法
+     * */
+    public MyArrayBlockingQueueV6() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 默认使用阻塞的等待策略
+     * */
+    public MyArrayBlockingQueueV6(int initCapacity) {
+        this(initCapacity, new BlockingWaitStrategy(), new BlockingWaitStrategy());
+    }
+
+    /**
+     * @param notFullWaitStrategy 生产者等待队列未满的策略
+     * @param notEmptyWaitStrategy 消费者等待队列非空的策略
+     * （有状态的等待策略，例如BlockingWaitStrategy，生产者和消费者不能共用同一个实例，否则会互相唤醒）
+     * */
+    public MyArrayBlockingQueueV6(int initCapacity, WaitStrategy notFullWaitStrategy, WaitStrategy notEmptyWaitStrategy) {
+        if (initCapacity <= 0 || notFullWaitStrategy == null || notEmptyWaitStrategy == null) {
+            throw new IllegalArgumentException();
+        }
+
+        this.elements = new Object[initCapacity];
+
+        this.putLock = new ReentrantLock();
+        this.takeLock = new ReentrantLock();
+
+        this.notFullWaitStrategy = notFullWaitStrategy;
+        this.notEmptyWaitStrategy = notEmptyWaitStrategy;
+        this.notFullCondition = () -> this.count.get() < this.elements.length;
+        this.notEmptyCondition = () -> this.count.get() > 0;
+    }
+
+    /**
+     * 下标取模
+     * */
+    private int getMod(int logicIndex){
+        int innerArrayLength = this.elements.length;
+        return logicIndex >= innerArrayLength ? logicIndex - innerArrayLength : logicIndex;
+    }
+
+    /**
+     * 尝试入队
+     * @return true入队成功；false队列已满
+     * */
+    private boolean tryEnqueue(E e) throws InterruptedException {
+        int currentCount;
+        putLock.lockInterruptibly();
+        try {
+            if (count.get() == elements.length) {
+                return false;
+            }
+            // 存放新插入的元素
+            this.elements[this.tail] = e;
+            // 尾部插入新元素后 tail下标后移一位
+            this.tail = getMod(this.tail + 1);
+
+            currentCount = count.getAndIncrement();
+        } finally {
+            putLock.unlock();
+        }
+
+        // 只有插入之前队列为空时，才可能有消费者在等待
+        if (currentCount == 0) {
+            notEmptyWaitStrategy.signalAllWhenBlocking();
+        }
+        return true;
+    }
+
+    /**
+     * 尝试出队
+     * @return 头部元素，队列为空时返回null
+     * */
+    private E tryDequeue() throws InterruptedException {
+        E headElement;
+        int currentCount;
+        takeLock.lockInterruptibly();
+        try {
+            if (count.get() == 0) {
+                return null;
+            }
+            // 暂存需要被删除的数据
+            headElement = (E) this.elements[this.head];
+            // 将当前头部元素引用释放
+            this.elements[this.head] = null;
+            // 头部下标 后移一位
+            this.head = getMod(this.head + 1);
+
+            currentCount = count.getAndDecrement();
+        } finally {
+            takeLock.unlock();
+        }
+
+        // 只有弹出之前队列已满时，才可能有生产者在等待
+        if (currentCount == elements.length) {
+            notFullWaitStrategy.signalAllWhenBlocking();
+        }
+        return headElement;
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+
+        // 队列已满时，在锁外按照等待策略等待队列未满，之后重新尝试入队
+        while (!tryEnqueue(e)) {
+            notFullWaitStrategy.waitFor(notFullCondition);
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E headElement;
+        // 队列为空时，在锁外按照等待策略等待队列非空，之后重新尝试出队
+        while ((headElement = tryDequeue()) == null) {
+            notEmptyWaitStrategy.waitFor(notEmptyCondition);
+        }
+        return headElement;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.count.get() == 0;
+    }
+}
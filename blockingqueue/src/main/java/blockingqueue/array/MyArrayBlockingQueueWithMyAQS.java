@@ -13,6 +13,9 @@ import java.util.concurrent.atomic.AtomicInteger;
  *
  * 数组作为底层结构的阻塞队列 v5版本（内部不实用jdk的ReenterLock，而是使用自己实现的ReenterLock和MyAQS）
  * 若是编译有问题，可能需要先install一下MyAQS模块
+ *
+ * 在v5版本的基础上记录了notFull、notEmpty上等待的线程数，没有线程等待时不再去获取另一把锁执行signal
+ * （入队/出队后的signalNotEmpty、signalNotFull需要获取对方的锁，是两把锁之间最主要的竞争来源）
  */
 public class MyArrayBlockingQueueWithMyAQS<E> implements MyBlockingQueue<E> {
 
@@ -49,6 +52,14 @@ public class MyArrayBlockingQueueWithMyAQS<E> implements MyBlockingQueue<E> {
 
     private final Condition notFull;
 
+    /**
+     * 在notFull、notEmpty上等待（或即将等待）的线程数
+     * 只在持有对应的锁时修改，但会在不持有锁时读取，因此需要volatile修饰
+     * */
+    private volatile int notFullWaiterCount;
+
+    private volatile int notEmptyWaiterCount;
+
 
     //=================================================构造方法======================================================
     /**
@@ -133,9 +144,16 @@ public class MyArrayBlockingQueueWithMyAQS<E> implements MyBlockingQueue<E> {
         try {
             // 因为被消费者唤醒后可能会被其它的生产者再度填满队列，需要循环的判断
             while (count.get() == elements.length) {
-                // put操作时，如果队列已满则进入notFull条件变量的等待队列，并释放条件变量对应的互斥锁
-                notFull.await();
-                // 消费者进行出队操作时
+                // 先登记为等待者再重新检查一次，与消费者出队后"先修改count再检查等待者个数"配合，保证不会丢失唤醒
+                notFullWaiterCount++;
+                try {
+                    if (count.get() == elements.length) {
+                        // put操作时，如果队列已满则进入notFull条件变量的等待队列，并释放条件变量对应的互斥锁
+                        notFull.await();
+                    }
+                } finally {
+                    notFullWaiterCount--;
+                }
             }
             // 走到这里，说明当前队列不满，可以执行入队操作
             enqueue(e);
@@ -143,7 +161,7 @@ public class MyArrayBlockingQueueWithMyAQS<E> implements MyBlockingQueue<E> {
             currentCount = count.getAndIncrement();
 
             // 如果在插入后队列仍然没满，则唤醒其他等待插入的线程
-            if (currentCount + 1 < elements.length) {
+            if (currentCount + 1 < elements.length && notFullWaiterCount > 0) {
                 notFull.signal();
             }
         } finally {
@@ -153,7 +171,7 @@ public class MyArrayBlockingQueueWithMyAQS<E> implements MyBlockingQueue<E> {
 
         // 如果插入之前队列为空，才唤醒等待弹出元素的线程
         // 为了防止死锁，不能在释放putLock之前获取takeLock
-        if (currentCount == 0) {
+        if (currentCount == 0 && notEmptyWaiterCount > 0) {
             signalNotEmpty();
         }
     }
@@ -168,7 +186,14 @@ public class MyArrayBlockingQueueWithMyAQS<E> implements MyBlockingQueue<E> {
         try {
             // 因为被生产者唤醒后可能会被其它的消费者消费而使得队列再次为空，需要循环的判断
             while(this.count.get() == 0){
-                notEmpty.await();
+                notEmptyWaiterCount++;
+                try {
+                    if (this.count.get() == 0) {
+                        notEmpty.await();
+                    }
+                } finally {
+                    notEmptyWaiterCount--;
+                }
             }
 
             headElement = dequeue();
@@ -176,7 +201,7 @@ public class MyArrayBlockingQueueWithMyAQS<E> implements MyBlockingQueue<E> {
             currentCount = this.count.getAndDecrement();
 
             // 如果队列在弹出一个元素后仍然非空，则唤醒其他等待队列非空的线程
-            if (currentCount - 1 > 0) {
+            if (currentCount - 1 > 0 && notEmptyWaiterCount > 0) {
                 notEmpty.signal();
             }
         } finally {
@@ -186,7 +211,7 @@ public class MyArrayBlockingQueueWithMyAQS<E> implements MyBlockingQueue<E> {
 
         // 只有在弹出之前队列已满的情况下才唤醒等待插入元素的线程
         // 为了防止死锁，不能在释放takeLock之前获取putLock
-        if (currentCount == elements.length) {
+        if (currentCount == elements.length && notFullWaiterCount > 0) {
             signalNotFull();
         }
 
@@ -0,0 +1,257 @@
+package blockingqueue.array;
+
+import blockingqueue.MyBlockingQueue;
+import blockingqueue.metrics.QueueMetrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 带运行指标统计的数组阻塞队列（需要排查瓶颈时用于替换MyArrayBlockingQueueV5）
+ * 1. 入队、出队的算法与v5版本一致（putLock、takeLock两把锁）
+ * 2. 额外统计入队/出队次数、生产者在notFull上阻塞的时间、消费者在notEmpty上阻塞的时间以及获取锁失败的次数，
+ *    通过getMetrics获取
+ * 3. 统计阻塞时间只在确实需要等待时才调用System.nanoTime，不阻塞的快速路径上只多了LongAdder的累加
+ */
+public class MyInstrumentedArrayBlockingQueue<E> implements MyBlockingQueue<E> {
+
+    /**
+     * 队列默认的容量大小
+     * */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 承载队列元素的底层数组
+     * */
+    private final Object[] elements;
+
+    /**
+     * 当前头部元素的下标
+     * */
+    private int head;
+
+    /**
+     * 下一个元素插入时的下标
+     * */
+    private int tail;
+
+    /**
+     * 队列中元素个数
+     * */
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final ReentrantLock putLock;
+
+    private final Condition notEmpty;
+
+    private final ReentrantLock takeLock;
+
+    private final Condition notFull;
+
+    /**
+     * 运行指标
+     * */
+    private final QueueMetrics metrics;
+
+    //=================================================构造方法======================================================
+    /**
+     * 默认构造方法
+     * */
+    public MyInstrumentedArrayBlockingQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MyInstrumentedArrayBlockingQueue(int initCapacity) {
+        if (initCapacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+
+        this.elements = new Object[initCapacity];
+
+        this.takeLock = new ReentrantLock();
+        this.notEmpty = this.takeLock.newCondition();
+
+        this.putLock = new ReentrantLock();
+        this.notFull = this.putLock.newCondition();
+
+        this.metrics = new QueueMetrics(this.count::get);
+    }
+
+    /**
+     * 下标取模
+     * */
+    private int getMod(int logicIndex){
+        int innerArrayLength = this.elements.length;
+        return logicIndex >= innerArrayLength ? logicIndex - innerArrayLength : logicIndex;
+    }
+
+    /**
+     * 入队
+     * */
+    private void enqueue(E e){
+        // 存放新插入的元素
+        this.elements[this.tail] = e;
+        // 尾部插入新元素后 tail下标后移一位
+        this.tail = getMod(this.tail + 1);
+    }
+
+    /**
+     * 出队
+     * */
+    private E dequeue(){
+        // 暂存需要被删除的数据
+        E dataNeedRemove = (E)this.elements[this.head];
+        // 将当前头部元素引用释放
+        this.elements[this.head] = null;
+        // 头部下标 后移一位
+        this.head = getMod(this.head + 1);
+
+        return dataNeedRemove;
+    }
+
+    /**
+     * 可响应中断的获取锁，先tryLock一次，失败时记为一次锁竞争后再进入阻塞的加锁
+     * @return true 本次加锁发生了竞争
+     * */
+    private static boolean lockInterruptibly(ReentrantLock lock) throws InterruptedException {
+        // tryLock不响应中断，为了与lockInterruptibly的语义保持一致，先检查一次中断标识
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (lock.tryLock()) {
+            return false;
+        }
+
+        lock.lockInterruptibly();
+        return true;
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+
+        int currentCount;
+        if (lockInterruptibly(putLock)) {
+            metrics.recordPutLockContended();
+        }
+        try {
+            if (count.get() == elements.length) {
+                long blockStartTime = System.nanoTime();
+                try {
+                    // 因为被消费者唤醒后可能会被其它的生产者再度填满队列，需要循环的判断
+                    while (count.get() == elements.length) {
+                        notFull.await();
+                    }
+                } finally {
+                    // 被中断时也将已经阻塞的时间统计进去
+                    metrics.recordPutBlocked(System.nanoTime() - blockStartTime);
+                }
+            }
+            enqueue(e);
+
+            currentCount = count.getAndIncrement();
+
+            // 如果在插入后队列仍然没满，则唤醒其他等待插入的线程
+            if (currentCount + 1 < elements.length) {
+                notFull.signal();
+            }
+        } finally {
+            putLock.unlock();
+        }
+        metrics.recordEnqueue();
+
+        // 如果插入之前队列为空，才唤醒等待弹出元素的线程
+        // 为了防止死锁，不能在释放putLock之前获取takeLock
+        if (currentCount == 0) {
+            signalNotEmpty();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E headElement;
+        int currentCount;
+
+        if (lockInterruptibly(takeLock)) {
+            metrics.recordTakeLockContended();
+        }
+        try {
+            if (count.get() == 0) {
+                long blockStartTime = System.nanoTime();
+                try {
+                    // 因为被生产者唤醒后可能会被其它的消费者消费而使得队列再次为空，需要循环的判断
+                    while (count.get() == 0) {
+                        notEmpty.await();
+                    }
+                } finally {
+                    metrics.recordTakeBlocked(System.nanoTime() - blockStartTime);
+                }
+            }
+            headElement = dequeue();
+
+            currentCount = count.getAndDecrement();
+
+            // 如果队列在弹出一个元素后仍然非空，则唤醒其他等待队列非空的线程
+            if (currentCount - 1 > 0) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        metrics.recordDequeue();
+
+        // 只有在弹出之前队列已满的情况下才唤醒等待插入元素的线程
+        // 为了防止死锁，不能在释放takeLock之前获取putLock
+        if (currentCount == elements.length) {
+            signalNotFull();
+        }
+
+        return headElement;
+    }
+
+    /**
+     * 唤醒等待队列非空条件的线程
+     */
+    private void signalNotEmpty() {
+        takeLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    /**
+     * 唤醒等待队列未满条件的线程
+     */
+    private void signalNotFull() {
+        putLock.lock();
+        try {
+            notFull.signal();
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.count.get() == 0;
+    }
+
+    public int size() {
+        return this.count.get();
+    }
+
+    /**
+     * 运行指标
+     * */
+    public QueueMetrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,243 @@
+package blockingqueue.array;
+
+import blockingqueue.MyBlockingQueue;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 只使用LockSupport阻塞线程的数组阻塞队列（适合大量线程/虚拟线程的场景）
+ * 1. 不使用synchronized（v2、v3版本），虚拟线程阻塞时不会钉住（pin）其运行所在的平台线程
+ * 2. 入队、出队基于无锁的有界环形数组（每个槽位带一个序号，生产者/消费者通过cas推进各自的下标，见Dmitry Vyukov的bounded MPMC queue），
+ *    不存在线程持有锁时被挂起导致其它线程全部阻塞的问题
+ * 3. 队列已满/为空时，线程将自己包装成等待节点加入notFull/notEmpty等待队列，通过LockSupport.park阻塞；
+ *    出队/入队成功后，如果存在等待者则unpark其中一个
+ */
+public class MyParkingArrayBlockingQueue<E> implements MyBlockingQueue<E> {
+
+    /**
+     * 队列默认的容量大小
+     * */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 承载队列元素的底层数组
+     * */
+    private final AtomicReferenceArray<E> elements;
+
+    /**
+     * 每个槽位的序号
+     * 序号 == 2 * 生产者下标：槽位空闲，可以写入；序号 == 2 * 消费者下标 + 1：槽位已写入，可以读取
+     * （乘以2是为了区分"下标k已写入"和"下标k+1可写入"两种状态，否则容量为1时两者的序号相同）
+     * */
+    private final AtomicLongArray sequences;
+
+    private final int capacity;
+
+    /**
+     * 下一个元素写入的逻辑下标（单调递增）
+     * */
+    private final AtomicLong putIndex = new AtomicLong();
+
+    /**
+     * 下一个元素读取的逻辑下标（单调递增）
+     * */
+    private final AtomicLong takeIndex = new AtomicLong();
+
+    /**
+     * 等待队列未满的生产者
+     * */
+    private final ConcurrentLinkedQueue<Waiter> notFullWaiters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 等待队列非空的消费者
+     * */
+    private final ConcurrentLinkedQueue<Waiter> notEmptyWaiters = new ConcurrentLinkedQueue<>();
+
+    //=================================================构造方法======================================================
+    /**
+     * 默认构造方法
+     * */
+    public MyParkingArrayBlockingQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MyParkingArrayBlockingQueue(int initCapacity) {
+        if (initCapacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+
+        this.capacity = initCapacity;
+        this.elements = new AtomicReferenceArray<>(initCapacity);
+        this.sequences = new AtomicLongArray(initCapacity);
+        for (int i = 0; i < initCapacity; i++) {
+            this.sequences.set(i, 2L * i);
+        }
+    }
+
+    /**
+     * 尝试入队
+     * @return true入队成功；false队列已满
+     * */
+    private boolean tryEnqueue(E e) {
+        for (;;) {
+            long currentPutIndex = putIndex.get();
+            int slot = (int) (currentPutIndex % capacity);
+            long diff = sequences.get(slot) - 2 * currentPutIndex;
+            if (diff == 0) {
+                // 槽位空闲，cas抢占该下标
+                if (putIndex.compareAndSet(currentPutIndex, currentPutIndex + 1)) {
+                    elements.set(slot, e);
+                    // 写入完成后更新序号，消费者才能读取
+                    sequences.set(slot, 2 * currentPutIndex + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                // 槽位中还是上一轮尚未被消费的元素，队列已满
+                return false;
+            }
+            // diff > 0，说明putIndex已经被其它生产者推进，重新读取
+        }
+    }
+
+    /**
+     * 尝试出队
+     * @return 头部元素，队列为空时返回null
+     * */
+    private E tryDequeue() {
+        for (;;) {
+            long currentTakeIndex = takeIndex.get();
+            int slot = (int) (currentTakeIndex % capacity);
+            long diff = sequences.get(slot) - (2 * currentTakeIndex + 1);
+            if (diff == 0) {
+                // 槽位已写入，cas抢占该下标
+                if (takeIndex.compareAndSet(currentTakeIndex, currentTakeIndex + 1)) {
+                    E headElement = elements.get(slot);
+                    elements.set(slot, null);
+                    // 读取完成后将序号推进到下一轮，生产者才能再次写入
+                    sequences.set(slot, 2 * (currentTakeIndex + capacity));
+                    return headElement;
+                }
+            } else if (diff < 0) {
+                // 槽位尚未写入，队列为空
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+
+        while (!tryEnqueue(e)) {
+            Waiter waiter = new Waiter(Thread.currentThread());
+            notFullWaiters.offer(waiter);
+            // 先加入等待队列再重新检查一次，与消费者"先出队再检查等待队列"配合，保证不会丢失唤醒
+            if (tryEnqueue(e)) {
+                cancelWait(waiter, notFullWaiters);
+                break;
+            }
+            awaitNotified(waiter, notFullWaiters);
+        }
+
+        if (!notEmptyWaiters.isEmpty()) {
+            signal(notEmptyWaiters);
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E headElement;
+        while ((headElement = tryDequeue()) == null) {
+            Waiter waiter = new Waiter(Thread.currentThread());
+            notEmptyWaiters.offer(waiter);
+            if ((headElement = tryDequeue()) != null) {
+                cancelWait(waiter, notEmptyWaiters);
+                break;
+            }
+            awaitNotified(waiter, notEmptyWaiters);
+        }
+
+        if (!notFullWaiters.isEmpty()) {
+            signal(notFullWaiters);
+        }
+        return headElement;
+    }
+
+    /**
+     * park直到被唤醒
+     * 被中断时取消等待并抛出中断异常（如果在此之前已经被唤醒，则将唤醒传递给下一个等待者，避免唤醒丢失）
+     * */
+    private void awaitNotified(Waiter waiter, ConcurrentLinkedQueue<Waiter> waiters) throws InterruptedException {
+        while (waiter.state != Waiter.NOTIFIED) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                cancelWait(waiter, waiters);
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * 不再等待（节点留在等待队列中，唤醒时会被跳过）
+     * 如果已经被唤醒，则将唤醒传递给下一个等待者
+     * */
+    private void cancelWait(Waiter waiter, ConcurrentLinkedQueue<Waiter> waiters) {
+        if (!Waiter.STATE_UPDATER.compareAndSet(waiter, Waiter.WAITING, Waiter.CANCELLED)) {
+            signal(waiters);
+        }
+    }
+
+    /**
+     * 唤醒一个仍在等待的线程（跳过已取消的节点）
+     * */
+    private static void signal(ConcurrentLinkedQueue<Waiter> waiters) {
+        Waiter waiter;
+        while ((waiter = waiters.poll()) != null) {
+            if (Waiter.STATE_UPDATER.compareAndSet(waiter, Waiter.WAITING, Waiter.NOTIFIED)) {
+                LockSupport.unpark(waiter.thread);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return takeIndex.get() >= putIndex.get();
+    }
+
+    public int size() {
+        long size = putIndex.get() - takeIndex.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    /**
+     * 等待节点
+     * */
+    private static final class Waiter {
+
+        static final int WAITING = 0;
+        static final int NOTIFIED = 1;
+        static final int CANCELLED = 2;
+
+        static final AtomicIntegerFieldUpdater<Waiter> STATE_UPDATER =
+                AtomicIntegerFieldUpdater.newUpdater(Waiter.class, "state");
+
+        final Thread thread;
+
+        volatile int state = WAITING;
+
+        Waiter(Thread thread) {
+            this.thread = thread;
+        }
+    }
+}
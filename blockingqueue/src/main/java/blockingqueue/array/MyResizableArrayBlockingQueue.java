@@ -0,0 +1,357 @@
+package blockingqueue.array;
+
+import blockingqueue.MyBlockingQueue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 数组作为底层结构的阻塞队列 可动态调整容量的版本（基于v5版本的双锁算法）
+ * 1. 队列的容量上限capacity可以在运行时通过setCapacity修改
+ * 2. 底层数组随着队列中元素个数的多少扩容、缩容，空闲时只占用很小的数组
+ *
+ * 扩容、缩容的实现方式：
+ * 底层数组被组织为一个由Segment组成的单向链表，生产者只往writeSegment中写入，消费者只从readSegment中读取
+ * 需要扩容（当前数组已满）或缩容（队列被消费空后的第一次写入，或当前数组完整使用了一轮但占用率很低）时，
+ * 生产者新建一个大小合适的Segment挂在当前Segment之后，后续的元素都写入新Segment
+ * 消费者将老的Segment中剩余的元素消费完之后，自然的切换到新的Segment上，老的Segment随之被GC回收
+ * 因此扩容、缩容时不需要拷贝任何已有元素，也不需要同时持有putLock和takeLock，不会产生停顿
+ * 峰值过后长期空闲、没有后续写入的队列，可以通过trimToSize主动释放大数组
+ */
+public class MyResizableArrayBlockingQueue<E> implements MyBlockingQueue<E> {
+
+    /**
+     * 队列默认的容量大小
+     * */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 底层数组的初始长度（不会超过队列的容量上限）
+     * */
+    private static final int INIT_SEGMENT_LENGTH = 16;
+
+    /**
+     * 缩容时底层数组的最小长度
+     * */
+    private static final int MIN_SEGMENT_LENGTH = 4;
+
+    /**
+     * 一段底层数组
+     * 每个Segment内部都是一个环形数组，putCount/takeCount是单调递增的逻辑下标，对数组长度取模后得到真实下标
+     * */
+    private static class Segment {
+        final Object[] elements;
+
+        /**
+         * 写入当前Segment的元素总数（只有生产者会修改）
+         * */
+        volatile long putCount;
+
+        /**
+         * 从当前Segment中读出的元素总数（只有消费者会修改）
+         * */
+        volatile long takeCount;
+
+        /**
+         * 生产者切换到的下一个Segment
+         * 只有在putCount不再变化之后才会被设置，因此消费者看到next不为null时，putCount就是最终值
+         * */
+        volatile Segment next;
+
+        Segment(int length) {
+            this.elements = new Object[length];
+        }
+    }
+
+    /**
+     * 队列的容量上限
+     * */
+    private volatile int capacity;
+
+    /**
+     * 生产者当前写入的Segment（只在持有putLock时访问）
+     * */
+    private Segment writeSegment;
+
+    /**
+     * 消费者当前读取的Segment（只在持有takeLock时访问）
+     * */
+    private Segment readSegment;
+
+    /**
+     * 队列中元素个数
+     * */
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final ReentrantLock putLock;
+
+    private final Condition notEmpty;
+
+    private final ReentrantLock takeLock;
+
+    private final Condition notFull;
+
+    //=================================================构造方法======================================================
+    /**
+     * 默认构造方法
+     * */
+    public MyResizableArrayBlockingQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity 队列初始的容量上限
+     * */
+    public MyResizableArrayBlockingQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+
+        this.capacity = capacity;
+
+        // 初始时读写同一个Segment
+        this.writeSegment = this.readSegment = new Segment(Math.min(capacity, INIT_SEGMENT_LENGTH));
+
+        this.takeLock = new ReentrantLock();
+        this.notEmpty = this.takeLock.newCondition();
+
+        this.putLock = new ReentrantLock();
+        this.notFull = this.putLock.newCondition();
+    }
+
+    /**
+     * 入队（需要持有putLock）
+     * @param currentCount 入队前队列中元素的个数
+     * */
+    private void enqueue(E e, int currentCount){
+        Segment segment = this.writeSegment;
+        int length = segment.elements.length;
+        long putCount = segment.putCount;
+
+        if (putCount - segment.takeCount >= length) {
+            // 当前Segment已经写满，切换到一个更大的Segment上（消费者读取的takeCount可能是旧值，最坏情况下只是提前扩容）
+            segment = switchSegment(segment, Math.max(MIN_SEGMENT_LENGTH, Math.min(length << 1, this.capacity)));
+        } else if (length > MIN_SEGMENT_LENGTH && currentCount <= (length >>> 2) && (currentCount == 0 || putCount >= length)) {
+            // 队列已经被消费空（例如峰值过后空闲了一段时间），或者当前Segment已经完整的使用过一轮但占用率不到1/4，
+            // 直接切换到与当前元素个数相匹配的Segment上，而不是每轮只减半
+            // 队列非空时要求至少使用过一轮，避免刚扩容完就立即缩容
+            segment = switchSegment(segment, Math.max(MIN_SEGMENT_LENGTH, Integer.highestOneBit(currentCount) << 1));
+        } else if (length > Math.max(MIN_SEGMENT_LENGTH, this.capacity) && currentCount < this.capacity) {
+            // 容量上限被调小了，切换到不超过新容量上限的Segment上
+            segment = switchSegment(segment, Math.max(MIN_SEGMENT_LENGTH, this.capacity));
+        }
+
+        putCount = segment.putCount;
+        // 存放新插入的元素
+        segment.elements[(int) (putCount % segment.elements.length)] = e;
+        // 写入下标后移一位
+        segment.putCount = putCount + 1;
+    }
+
+    /**
+     * 生产者切换到新的Segment（需要持有putLock）
+     * */
+    private Segment switchSegment(Segment oldSegment, int newLength){
+        Segment newSegment = new Segment(newLength);
+        // 先设置next，再令生产者切换过去；老Segment的putCount从此不再变化
+        oldSegment.next = newSegment;
+        this.writeSegment = newSegment;
+        return newSegment;
+    }
+
+    /**
+     * 出队（需要持有takeLock，且队列中至少存在一个元素）
+     * */
+    private E dequeue(){
+        Segment segment = this.readSegment;
+        // 当前Segment中的元素已经读完，说明生产者已经切换到了后面的Segment上，消费者也跟着切换过去
+        while (segment.takeCount == segment.putCount) {
+            segment = segment.next;
+        }
+        this.readSegment = segment;
+
+        long takeCount = segment.takeCount;
+        int index = (int) (takeCount % segment.elements.length);
+        // 暂存需要被删除的数据
+        E dataNeedRemove = (E) segment.elements[index];
+        // 将当前头部元素引用释放
+        segment.elements[index] = null;
+        // 读取下标后移一位
+        segment.takeCount = takeCount + 1;
+
+        return dataNeedRemove;
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        int currentCount;
+        // 先尝试获得互斥锁，以进入临界区
+        putLock.lockInterruptibly();
+        try {
+            // 容量上限可能被调小，因此使用>=判断
+            while (count.get() >= capacity) {
+                notFull.await();
+            }
+            // 走到这里，说明当前队列不满，可以执行入队操作
+            enqueue(e, count.get());
+
+            currentCount = count.getAndIncrement();
+
+            // 如果在插入后队列仍然没满，则唤醒其他等待插入的线程
+            if (currentCount + 1 < capacity) {
+                notFull.signal();
+            }
+        } finally {
+            // 入队完毕，释放锁
+            putLock.unlock();
+        }
+
+        // 如果插入之前队列为空，才唤醒等待弹出元素的线程
+        // 为了防止死锁，不能在释放putLock之前获取takeLock
+        if (currentCount == 0) {
+            signalNotEmpty();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E headElement;
+        int currentCount;
+
+        // 先尝试获得互斥锁，以进入临界区
+        takeLock.lockInterruptibly();
+        try {
+            // 因为被生产者唤醒后可能会被其它的消费者消费而使得队列再次为空，需要循环的判断
+            while(this.count.get() == 0){
+                notEmpty.await();
+            }
+
+            headElement = dequeue();
+
+            currentCount = this.count.getAndDecrement();
+
+            // 如果队列在弹出一个元素后仍然非空，则唤醒其他等待队列非空的线程
+            if (currentCount - 1 > 0) {
+                notEmpty.signal();
+            }
+        } finally {
+            // 出队完毕，释放锁
+            takeLock.unlock();
+        }
+
+        // 只有在弹出之前队列已满的情况下才唤醒等待插入元素的线程
+        // 为了防止死锁，不能在释放takeLock之前获取putLock
+        if (currentCount >= capacity) {
+            signalNotFull();
+        }
+
+        return headElement;
+    }
+
+    /**
+     * 运行时修改队列的容量上限
+     * 1. 调大容量上限时，唤醒所有等待队列未满的生产者
+     * 2. 调小容量上限时，已经在队列中的元素不受影响，生产者在元素个数降到新的容量上限以下之前会被阻塞
+     * 底层数组不会在这里立即调整，而是由后续的入队操作按需切换
+     * */
+    public void setCapacity(int newCapacity) {
+        if (newCapacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+
+        putLock.lock();
+        try {
+            int oldCapacity = this.capacity;
+            this.capacity = newCapacity;
+
+            if (newCapacity > oldCapacity) {
+                // 容量变大后，可能有多个生产者可以继续插入
+                notFull.signalAll();
+            }
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    /**
+     * 队列为空时，将底层数组切换为最小长度的数组，释放峰值时扩容出的大数组（不依赖后续的入队操作）
+     * 需要同时持有putLock和takeLock，令读写两端都切换到新的数组上；队列非空时不做任何调整
+     * @return 是否进行了切换
+     * */
+    public boolean trimToSize() {
+        // 加锁顺序与其它方法不冲突：其它方法都不会在持有takeLock时获取putLock
+        putLock.lock();
+        try {
+            takeLock.lock();
+            try {
+                if (this.count.get() != 0 || this.writeSegment.elements.length <= MIN_SEGMENT_LENGTH) {
+                    return false;
+                }
+                // 队列为空，老的Segment中没有需要消费的元素，读写两端可以直接切换到新的Segment上
+                this.writeSegment = this.readSegment = new Segment(MIN_SEGMENT_LENGTH);
+                return true;
+            } finally {
+                takeLock.unlock();
+            }
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * 生产者当前写入的底层数组长度
+     * */
+    public int getArrayLength() {
+        putLock.lock();
+        try {
+            return this.writeSegment.elements.length;
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    /**
+     * 唤醒等待队列非空条件的线程
+     */
+    private void signalNotEmpty() {
+        // 为了唤醒等待队列非空条件的线程，需要先获取对应的takeLock
+        takeLock.lock();
+        try {
+            // 唤醒一个等待非空条件的线程
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    /**
+     * 唤醒等待队列未满条件的线程
+     */
+    private void signalNotFull() {
+        // 为了唤醒等待队列未满条件的线程，需要先获取对应的putLock
+        putLock.lock();
+        try {
+            // 唤醒一个等待队列未满条件的线程
+            notFull.signal();
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.count.get() == 0;
+    }
+
+    public int size() {
+        return this.count.get();
+    }
+}
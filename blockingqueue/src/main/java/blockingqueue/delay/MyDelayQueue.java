@@ -0,0 +1,222 @@
+package blockingqueue.delay;
+
+import aqs.v4.Condition;
+import aqs.v4.MyReentrantLockV4;
+import blockingqueue.MyBlockingQueue;
+
+import java.util.Arrays;
+import java.util.concurrent.Delayed;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 延迟阻塞队列（内部使用自己实现的MyReentrantLockV4）
+ * 1. 无界队列，put不会阻塞
+ * 2. 底层是按照getDelay排序的二叉堆，take时只有队头元素到期（getDelay <= 0）才能出队，否则阻塞等待
+ * 3. 使用leader-follower模式等待队头元素：同一时刻只有一个leader线程带超时时间的等待队头元素到期，
+ *    其它的follower线程无限期的await，直到leader取走队头元素后将其中一个唤醒成为新的leader，
+ *    避免大量消费者线程在同一时间点被超时唤醒后又竞争失败重新阻塞
+ */
+public class MyDelayQueue<E extends Delayed> implements MyBlockingQueue<E> {
+
+    /**
+     * 队列默认的初始容量大小
+     * */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 承载二叉堆的底层数组
+     * */
+    private Object[] queue;
+
+    /**
+     * 队列中元素个数
+     * */
+    private int size;
+
+    private final MyReentrantLockV4 lock;
+
+    /**
+     * 当一个队列头部的元素可以出队，或者需要有新的leader线程时，通知等待在available上的消费者线程
+     * */
+    private final Condition available;
+
+    /**
+     * 当前带超时时间等待队头元素到期的线程
+     * */
+    private Thread leader;
+
+    //=================================================构造方法======================================================
+    public MyDelayQueue() {
+        this.queue = new Object[DEFAULT_CAPACITY];
+        this.lock = new MyReentrantLockV4();
+        this.available = this.lock.newCondition();
+    }
+
+    @Override
+    public void put(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+
+        lock.lock();
+        try {
+            int i = size;
+            if (i >= queue.length) {
+                // 容量不足，扩容
+                queue = Arrays.copyOf(queue, i + (i >> 1));
+            }
+            size = i + 1;
+            // 加入队尾进行一次上滤，恢复堆序性
+            siftUp(i, e);
+
+            // 插入堆后，发现自己是队列头（最早到期的元素）
+            if (queue[0] == e) {
+                // 之前的leader等待的是老的队头元素，已经不准确了，leader设置为空
+                leader = null;
+                // 唤醒一个消费者线程，令其成为新的leader
+                available.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            for (;;) {
+                E first = (E) queue[0];
+                if (first == null) {
+                    // 队列为空，await等待（可响应中断）
+                    available.await();
+                    continue;
+                }
+
+                long delay = first.getDelay(NANOSECONDS);
+                if (delay <= 0) {
+                    // 队头元素已经到期，直接出队
+                    return finishPoll(first);
+                }
+                // await期间不持有队头元素的引用
+                first = null;
+
+                if (leader != null) {
+                    // 已经有leader在等待队头元素了，当前线程作为follower无限期等待
+                    available.await();
+                } else {
+                    // 当前线程成为leader，带超时时间的等待队头元素到期
+                    Thread thisThread = Thread.currentThread();
+                    leader = thisThread;
+                    try {
+                        available.awaitNanos(delay);
+                    } finally {
+                        if (leader == thisThread) {
+                            leader = null;
+                        }
+                    }
+                }
+            }
+        } finally {
+            if (leader == null && queue[0] != null) {
+                // 当前线程已经不再是leader，且队列中还有元素，唤醒一个follower令其成为新的leader
+                available.signal();
+            }
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 出队（非阻塞）
+     * @return 已到期的队头元素，队列为空或者队头元素未到期时返回null
+     * */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        lock.lock();
+        try {
+            E first = (E) queue[0];
+            if (first == null || first.getDelay(NANOSECONDS) > 0) {
+                return null;
+            } else {
+                return finishPoll(first);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 队头元素出队，将队尾元素放到队头进行一次下滤，恢复堆序性
+     * */
+    @SuppressWarnings("unchecked")
+    private E finishPoll(E first) {
+        int s = --size;
+        E x = (E) queue[s];
+        queue[s] = null;
+        if (s != 0) {
+            siftDown(0, x);
+        }
+        return first;
+    }
+
+    /**
+     * 上滤
+     * */
+    private void siftUp(int k, E key) {
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            Object e = queue[parent];
+            if (key.compareTo((Delayed) e) >= 0) {
+                break;
+            }
+            queue[k] = e;
+            k = parent;
+        }
+        queue[k] = key;
+    }
+
+    /**
+     * 下滤
+     * */
+    private void siftDown(int k, E key) {
+        int half = size >>> 1;
+        while (k < half) {
+            int child = (k << 1) + 1;
+            Object c = queue[child];
+            int right = child + 1;
+            if (right < size && ((Delayed) c).compareTo((Delayed) queue[right]) > 0) {
+                c = queue[child = right];
+            }
+            if (key.compareTo((Delayed) c) <= 0) {
+                break;
+            }
+            queue[k] = c;
+            k = child;
+        }
+        queue[k] = key;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return size == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
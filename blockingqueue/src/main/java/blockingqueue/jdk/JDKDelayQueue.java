@@ -0,0 +1,42 @@
+package blockingqueue.jdk;
+
+import blockingqueue.MyBlockingQueue;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ */
+public class JDKDelayQueue<E extends Delayed> implements MyBlockingQueue<E> {
+
+    private final BlockingQueue<E> jdkBlockingQueue;
+
+    public JDKDelayQueue() {
+        jdkBlockingQueue = new DelayQueue<>();
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        jdkBlockingQueue.put(e);
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        return jdkBlockingQueue.take();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return jdkBlockingQueue.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "JDKDelayQueue{" +
+                "jdkBlockingQueue=" + jdkBlockingQueue +
+                '}';
+    }
+}
@@ -0,0 +1,44 @@
+package blockingqueue.jdk;
+
+import blockingqueue.MyBlockingQueue;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ */
+public class JDKSynchronousQueue<E> implements MyBlockingQueue<E> {
+
+    private final BlockingQueue<E> jdkBlockingQueue;
+
+    /**
+     * @param fair 是否为公平模式（公平模式下等待的线程按照先进先出的顺序配对）
+     */
+    public JDKSynchronousQueue(boolean fair) {
+        jdkBlockingQueue = new SynchronousQueue<>(fair);
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        jdkBlockingQueue.put(e);
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        return jdkBlockingQueue.take();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return jdkBlockingQueue.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "JDKSynchronousQueue{" +
+                "jdkBlockingQueue=" + jdkBlockingQueue +
+                '}';
+    }
+}
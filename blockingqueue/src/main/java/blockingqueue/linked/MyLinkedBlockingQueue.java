@@ -0,0 +1,251 @@
+package blockingqueue.linked;
+
+import aqs.v4.Condition;
+import aqs.v4.MyReentrantLockV4;
+import blockingqueue.MyBlockingQueue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 链表作为底层结构的阻塞队列（双锁版本，内部使用自己实现的MyReentrantLockV4）
+ * 1. 与MyArrayBlockingQueueV5一样使用putLock、takeLock两把锁，生产者和消费者之间不互相争抢锁
+ * 2. 不预先分配底层数组，适用于突发流量、大部分时间为空的场景
+ * 3. 可选的节点回收（recycleCapacity > 0时开启），出队后的节点会被缓存下来，供后续入队时复用，避免每个元素都new一个节点
+ */
+public class MyLinkedBlockingQueue<E> implements MyBlockingQueue<E> {
+
+    /**
+     * 链表节点
+     * */
+    static class Node<E> {
+        E item;
+
+        Node<E> next;
+
+        Node(E item) {
+            this.item = item;
+        }
+    }
+
+    /**
+     * 队列的容量上限
+     * */
+    private final int capacity;
+
+    /**
+     * 队列中元素个数
+     * */
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * 头节点（dummy节点，head.item永远为null）
+     * 只在持有takeLock时访问
+     * */
+    private Node<E> head;
+
+    /**
+     * 尾节点（last.next永远为null）
+     * 只在持有putLock时访问
+     * */
+    private Node<E> last;
+
+    /**
+     * 节点回收器，为null代表不开启节点回收
+     * */
+    private final NodeRecycler<E> nodeRecycler;
+
+    private final MyReentrantLockV4 putLock;
+
+    private final Condition notFull;
+
+    private final MyReentrantLockV4 takeLock;
+
+    private final Condition notEmpty;
+
+    //=================================================构造方法======================================================
+    /**
+     * 默认构造方法（无界，不开启节点回收）
+     * */
+    public MyLinkedBlockingQueue() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * 指定容量的构造方法（不开启节点回收）
+     * */
+    public MyLinkedBlockingQueue(int capacity) {
+        this(capacity, 0);
+    }
+
+    /**
+     * @param capacity 队列容量上限
+     * @param recycleCapacity 最多缓存的空闲节点数量，为0时不开启节点回收
+     * */
+    public MyLinkedBlockingQueue(int capacity, int recycleCapacity) {
+        if (capacity <= 0 || recycleCapacity < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        this.capacity = capacity;
+        this.nodeRecycler = recycleCapacity > 0 ? new NodeRecycler<>(recycleCapacity) : null;
+
+        // 初始化时头尾节点都指向同一个dummy节点
+        this.last = this.head = new Node<>(null);
+
+        this.takeLock = new MyReentrantLockV4();
+        this.notEmpty = this.takeLock.newCondition();
+
+        this.putLock = new MyReentrantLockV4();
+        this.notFull = this.putLock.newCondition();
+    }
+
+    /**
+     * 入队（需要持有putLock）
+     * */
+    private void enqueue(E e){
+        Node<E> newNode = null;
+        if(this.nodeRecycler != null){
+            // 优先复用被回收的节点
+            newNode = this.nodeRecycler.poll();
+        }
+
+        if(newNode == null){
+            newNode = new Node<>(e);
+        }else{
+            newNode.item = e;
+        }
+
+        // 将新节点挂到队尾
+        this.last.next = newNode;
+        this.last = newNode;
+    }
+
+    /**
+     * 出队（需要持有takeLock）
+     * */
+    private E dequeue(){
+        // 老的head节点是dummy节点，其next才是真正的队头元素
+        Node<E> oldHead = this.head;
+        Node<E> first = oldHead.next;
+
+        // first节点成为新的dummy节点
+        this.head = first;
+        E dataNeedRemove = first.item;
+        first.item = null;
+
+        // 老的head节点此时已经不会再被生产者访问了（count > 0时生产者持有的last必然在其之后）
+        oldHead.next = null;
+        if(this.nodeRecycler != null){
+            // 回收失败（回收器已满）时直接丢弃，交给GC处理
+            this.nodeRecycler.offer(oldHead);
+        }
+
+        return dataNeedRemove;
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+
+        int currentCount;
+        // 先尝试获得互斥锁，以进入临界区
+        putLock.lockInterruptibly();
+        try {
+            // 因为被消费者唤醒后可能会被其它的生产者再度填满队列，需要循环的判断
+            while (count.get() == capacity) {
+                notFull.await();
+            }
+            // 走到这里，说明当前队列不满，可以执行入队操作
+            enqueue(e);
+
+            currentCount = count.getAndIncrement();
+
+            // 如果在插入后队列仍然没满，则唤醒其他等待插入的线程
+            if (currentCount + 1 < capacity) {
+                notFull.signal();
+            }
+        } finally {
+            // 入队完毕，释放锁
+            putLock.unlock();
+        }
+
+        // 如果插入之前队列为空，才唤醒等待弹出元素的线程
+        // 为了防止死锁，不能在释放putLock之前获取takeLock
+        if (currentCount == 0) {
+            signalNotEmpty();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E headElement;
+        int currentCount;
+
+        // 先尝试获得互斥锁，以进入临界区
+        takeLock.lockInterruptibly();
+        try {
+            // 因为被生产者唤醒后可能会被其它的消费者消费而使得队列再次为空，需要循环的判断
+            while (count.get() == 0) {
+                notEmpty.await();
+            }
+
+            headElement = dequeue();
+
+            currentCount = count.getAndDecrement();
+
+            // 如果队列在弹出一个元素后仍然非空，则唤醒其他等待队列非空的线程
+            if (currentCount - 1 > 0) {
+                notEmpty.signal();
+            }
+        } finally {
+            // 出队完毕，释放锁
+            takeLock.unlock();
+        }
+
+        // 只有在弹出之前队列已满的情况下才唤醒等待插入元素的线程
+        // 为了防止死锁，不能在释放takeLock之前获取putLock
+        if (currentCount == capacity) {
+            signalNotFull();
+        }
+
+        return headElement;
+    }
+
+    /**
+     * 唤醒等待队列非空条件的线程
+     */
+    private void signalNotEmpty() {
+        takeLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    /**
+     * 唤醒等待队列未满条件的线程
+     */
+    private void signalNotFull() {
+        putLock.lock();
+        try {
+            notFull.signal();
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count.get() == 0;
+    }
+
+    public int size() {
+        return count.get();
+    }
+}
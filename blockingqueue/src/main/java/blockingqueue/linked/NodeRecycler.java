@@ -0,0 +1,78 @@
+package blockingqueue.linked;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * MyLinkedBlockingQueue的空闲节点回收器
+ * 1. 回收(offer)只在持有takeLock时发生，复用(poll)只在持有putLock时发生，因此是一个单生产者单消费者的有界环形队列
+ * 2. 单生产者单消费者的场景下只需要用两个单调递增的下标就能保证线程安全，不需要cas，也不存在ABA问题
+ */
+class NodeRecycler<E> {
+
+    /**
+     * 缓存空闲节点的环形数组（长度为2的幂次，方便通过位运算取模）
+     * */
+    private final MyLinkedBlockingQueue.Node<E>[] nodes;
+
+    private final int mask;
+
+    /**
+     * 下一个回收节点存放的逻辑下标（只有消费者一方会修改）
+     * */
+    private final AtomicLong offerIndex = new AtomicLong();
+
+    /**
+     * 下一个被复用节点的逻辑下标（只有生产者一方会修改）
+     * */
+    private final AtomicLong pollIndex = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    NodeRecycler(int recycleCapacity) {
+        int realCapacity = 1;
+        while (realCapacity < recycleCapacity) {
+            realCapacity <<= 1;
+        }
+
+        this.nodes = new MyLinkedBlockingQueue.Node[realCapacity];
+        this.mask = realCapacity - 1;
+    }
+
+    /**
+     * 回收一个空闲节点（调用方需要持有takeLock，且已经清空了节点的item和next）
+     * @return true回收成功；false回收器已满，节点交给GC处理
+     * */
+    boolean offer(MyLinkedBlockingQueue.Node<E> node) {
+        long currentOfferIndex = offerIndex.get();
+        if (currentOfferIndex - pollIndex.get() == nodes.length) {
+            // 回收器已满
+            return false;
+        }
+
+        nodes[(int) (currentOfferIndex & mask)] = node;
+        // lazySet保证上面对数组槽位（以及节点本身被清空）的写入对poll方可见
+        offerIndex.lazySet(currentOfferIndex + 1);
+        return true;
+    }
+
+    /**
+     * 获取一个可以复用的空闲节点（调用方需要持有putLock）
+     * @return 空闲节点，回收器为空时返回null
+     * */
+    MyLinkedBlockingQueue.Node<E> poll() {
+        long currentPollIndex = pollIndex.get();
+        if (currentPollIndex == offerIndex.get()) {
+            // 回收器为空
+            return null;
+        }
+
+        int slot = (int) (currentPollIndex & mask);
+        MyLinkedBlockingQueue.Node<E> node = nodes[slot];
+        nodes[slot] = null;
+        // 槽位读取完毕后才推进下标，避免offer方覆盖掉还未读取的节点
+        pollIndex.lazySet(currentPollIndex + 1);
+        return node;
+    }
+}
@@ -0,0 +1,494 @@
+package blockingqueue.mapped;
+
+import blockingqueue.MyBlockingQueue;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 基于内存映射文件的持久化阻塞队列（阻塞语义与MyArrayBlockingQueueV5一致，同样使用putLock、takeLock两把锁）
+ * 1. 元素为byte[]，存放在堆外的内存映射文件中，不占用堆内存；进程崩溃后重新打开同一目录，队列中未被消费的元素依然存在
+ * 2. 数据存放在segmentCount个大小为segmentSize的段文件中，段文件首尾相连组成一个环形缓冲区，被消费后的空间会被循环复用
+ * 3. 读、写游标都是单调递增的逻辑位置，对（segmentSize * segmentCount）取模后得到所在的段和段内偏移，游标持久化在单独的头文件中
+ * 4. 单条记录的格式为 [int length][byte[] data]，记录不会跨段存放；段尾剩余空间放不下一条记录时写入一个WRAP标记（或剩余不足4字节时直接跳过），从下一个段的开头继续写
+ *
+ * 持久化的保证：
+ * 1. FlushMode.NONE：只写入操作系统的page cache，进程崩溃不丢数据，机器掉电可能丢失最近的数据
+ * 2. FlushMode.SYNC_BATCH：每写入flushBatchSize条记录，将数据段和头文件强制刷盘（fsync）一次
+ *    头文件中的写游标只在数据段刷盘之后才更新（操作系统回写脏页的顺序是不确定的，提前更新的写游标可能先于数据落盘）
+ * 恢复时从读游标开始校验每条记录的长度，遇到不合法的记录时将写游标截断到该位置
+ * 读游标不会被主动刷盘，掉电后最近消费的记录可能会被重复消费（至少一次语义）
+ */
+public class MyMappedBlockingQueue implements MyBlockingQueue<byte[]>, Closeable {
+
+    /**
+     * 刷盘模式
+     * */
+    public enum FlushMode {
+        /**
+         * 不主动刷盘
+         * */
+        NONE,
+        /**
+         * 每写入一批记录后刷盘
+         * */
+        SYNC_BATCH
+    }
+
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final int DEFAULT_SEGMENT_COUNT = 4;
+
+    private static final int HEADER_MAGIC = 0x4D514255;
+
+    private static final int HEADER_SIZE = 32;
+
+    private static final int HEADER_MAGIC_OFFSET = 0;
+    private static final int HEADER_SEGMENT_SIZE_OFFSET = 4;
+    private static final int HEADER_SEGMENT_COUNT_OFFSET = 8;
+    private static final int HEADER_WRITE_POSITION_OFFSET = 16;
+    private static final int HEADER_READ_POSITION_OFFSET = 24;
+
+    /**
+     * 记录长度占用的字节数
+     * */
+    private static final int RECORD_HEADER_SIZE = 4;
+
+    /**
+     * 段尾的WRAP标记，代表当前段后续没有记录了
+     * */
+    private static final int WRAP_MARK = -1;
+
+    private final int segmentSize;
+
+    private final int segmentCount;
+
+    /**
+     * 环形缓冲区的总字节数
+     * */
+    private final long totalSize;
+
+    private final FlushMode flushMode;
+
+    private final int flushBatchSize;
+
+    private final FileChannel[] segmentChannels;
+
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * 生产者使用的段视图（只在持有putLock时访问，与消费者的视图共享内容但拥有独立的position）
+     * */
+    private final ByteBuffer[] writeViews;
+
+    /**
+     * 消费者使用的段视图（只在持有takeLock时访问）
+     * */
+    private final ByteBuffer[] readViews;
+
+    /**
+     * 自上次刷盘以来被写入过的段
+     * */
+    private final boolean[] dirtySegments;
+
+    private final FileChannel headerChannel;
+
+    private final MappedByteBuffer header;
+
+    /**
+     * 写游标（只有生产者会修改）
+     * */
+    private volatile long writePosition;
+
+    /**
+     * 读游标（只有消费者会修改），生产者通过它判断剩余空间
+     * */
+    private volatile long readPosition;
+
+    /**
+     * 自上次刷盘以来写入的记录数（只在持有putLock时访问）
+     * */
+    private int unflushedCount;
+
+    /**
+     * 队列中记录的个数
+     * */
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final ReentrantLock putLock;
+
+    private final Condition notEmpty;
+
+    private final ReentrantLock takeLock;
+
+    private final Condition notFull;
+
+    //=================================================构造方法======================================================
+    /**
+     * 使用默认的段大小、段个数，不主动刷盘
+     * */
+    public MyMappedBlockingQueue(File directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_SEGMENT_COUNT, FlushMode.NONE, 1);
+    }
+
+    /**
+     * @param directory 存放段文件和头文件的目录，目录中已有数据时会恢复之前的队列
+     * @param segmentSize 单个段文件的字节数，同时也限制了单条记录的最大长度（segmentSize - 4）
+     * @param segmentCount 段文件的个数（至少为2）
+     * @param flushMode 刷盘模式
+     * @param flushBatchSize SYNC_BATCH模式下，每写入多少条记录刷盘一次
+     * */
+    public MyMappedBlockingQueue(File directory, int segmentSize, int segmentCount,
+                                 FlushMode flushMode, int flushBatchSize) throws IOException {
+        if (segmentSize <= RECORD_HEADER_SIZE || segmentCount < 2 || flushBatchSize <= 0 || flushMode == null) {
+            throw new IllegalArgumentException();
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("can not create directory " + directory);
+        }
+
+        this.segmentSize = segmentSize;
+        this.segmentCount = segmentCount;
+        this.totalSize = (long) segmentSize * segmentCount;
+        this.flushMode = flushMode;
+        this.flushBatchSize = flushBatchSize;
+
+        // 映射头文件，已有数据时校验段的配置并恢复读写游标
+        File headerFile = new File(directory, "queue.header");
+        boolean recover = headerFile.exists();
+        this.headerChannel = new RandomAccessFile(headerFile, "rw").getChannel();
+        this.header = this.headerChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        if (recover && this.header.getInt(HEADER_MAGIC_OFFSET) == HEADER_MAGIC) {
+            if (this.header.getInt(HEADER_SEGMENT_SIZE_OFFSET) != segmentSize
+                    || this.header.getInt(HEADER_SEGMENT_COUNT_OFFSET) != segmentCount) {
+                this.headerChannel.close();
+                throw new IllegalStateException("segment config mismatch with existing queue in " + directory);
+            }
+            this.writePosition = this.header.getLong(HEADER_WRITE_POSITION_OFFSET);
+            this.readPosition = this.header.getLong(HEADER_READ_POSITION_OFFSET);
+        } else {
+            this.header.putInt(HEADER_SEGMENT_SIZE_OFFSET, segmentSize);
+            this.header.putInt(HEADER_SEGMENT_COUNT_OFFSET, segmentCount);
+            this.header.putLong(HEADER_WRITE_POSITION_OFFSET, 0);
+            this.header.putLong(HEADER_READ_POSITION_OFFSET, 0);
+            this.header.putInt(HEADER_MAGIC_OFFSET, HEADER_MAGIC);
+            this.header.force();
+        }
+
+        // 映射所有的段文件
+        this.segmentChannels = new FileChannel[segmentCount];
+        this.segments = new MappedByteBuffer[segmentCount];
+        this.writeViews = new ByteBuffer[segmentCount];
+        this.readViews = new ByteBuffer[segmentCount];
+        this.dirtySegments = new boolean[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            File segmentFile = new File(directory, String.format("segment-%04d.dat", i));
+            this.segmentChannels[i] = new RandomAccessFile(segmentFile, "rw").getChannel();
+            this.segments[i] = this.segmentChannels[i].map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            this.writeViews[i] = this.segments[i].duplicate();
+            this.readViews[i] = this.segments[i].duplicate();
+        }
+
+        // 从读游标扫描到写游标，恢复队列中的记录个数
+        this.count.set(countRecords());
+
+        this.takeLock = new ReentrantLock();
+        this.notEmpty = this.takeLock.newCondition();
+
+        this.putLock = new ReentrantLock();
+        this.notFull = this.putLock.newCondition();
+    }
+
+    /**
+     * 逻辑位置对应的段下标
+     * */
+    private int segmentIndex(long position) {
+        return (int) ((position / segmentSize) % segmentCount);
+    }
+
+    /**
+     * 逻辑位置对应的段内偏移
+     * */
+    private int segmentOffset(long position) {
+        return (int) (position % segmentSize);
+    }
+
+    /**
+     * 从position开始跳过段尾的WRAP标记，返回下一条记录实际的起始位置
+     * */
+    private long skipWrap(ByteBuffer[] views, long position) {
+        int remaining = segmentSize - segmentOffset(position);
+        if (remaining < RECORD_HEADER_SIZE
+                || views[segmentIndex(position)].getInt(segmentOffset(position)) == WRAP_MARK) {
+            return position + remaining;
+        }
+        return position;
+    }
+
+    /**
+     * 从读游标扫描到写游标，统计记录的个数
+     * 记录的长度为负数、超出所在段的剩余空间或者超出写游标时（写游标已落盘而记录没有落盘、或者是上一圈的旧数据），
+     * 将写游标截断到该记录的位置，之后的数据全部丢弃
+     * */
+    private int countRecords() {
+        if (this.readPosition > this.writePosition) {
+            // SYNC_BATCH模式下落盘的写游标可能落后于读游标（消费了还没有刷盘的记录），两者之间的记录都已经被消费过
+            truncateWritePosition(this.readPosition);
+            return 0;
+        }
+
+        int recordNum = 0;
+        long position = this.readPosition;
+        while (position < this.writePosition) {
+            position = skipWrap(this.readViews, position);
+            if (position >= this.writePosition) {
+                break;
+            }
+            int length = this.readViews[segmentIndex(position)].getInt(segmentOffset(position));
+            int remaining = segmentSize - segmentOffset(position);
+            if (length < 0 || length > remaining - RECORD_HEADER_SIZE
+                    || position + RECORD_HEADER_SIZE + length > this.writePosition) {
+                truncateWritePosition(position);
+                break;
+            }
+            position += RECORD_HEADER_SIZE + length;
+            recordNum++;
+        }
+        return recordNum;
+    }
+
+    private void truncateWritePosition(long position) {
+        this.writePosition = position;
+        this.header.putLong(HEADER_WRITE_POSITION_OFFSET, position);
+        this.header.force();
+    }
+
+    /**
+     * 写入一条记录需要占用的空间（包括为了不跨段而浪费掉的段尾空间）
+     * */
+    private long requiredSpace(int length) {
+        int remaining = segmentSize - segmentOffset(this.writePosition);
+        int recordSize = RECORD_HEADER_SIZE + length;
+        return remaining < recordSize ? remaining + recordSize : recordSize;
+    }
+
+    /**
+     * 入队（需要持有putLock，且剩余空间足够）
+     * */
+    private void enqueue(ByteBuffer data) {
+        long position = this.writePosition;
+        int length = data.remaining();
+
+        int remaining = segmentSize - segmentOffset(position);
+        if (remaining < RECORD_HEADER_SIZE + length) {
+            // 当前段放不下，写入WRAP标记后从下一个段的开头开始写
+            if (remaining >= RECORD_HEADER_SIZE) {
+                this.writeViews[segmentIndex(position)].putInt(segmentOffset(position), WRAP_MARK);
+                this.dirtySegments[segmentIndex(position)] = true;
+            }
+            position += remaining;
+        }
+
+        int index = segmentIndex(position);
+        ByteBuffer view = this.writeViews[index];
+        int offset = segmentOffset(position);
+        view.putInt(offset, length);
+        view.position(offset + RECORD_HEADER_SIZE);
+        view.put(data);
+        this.dirtySegments[index] = true;
+
+        // 记录写完之后才推进写游标
+        this.writePosition = position + RECORD_HEADER_SIZE + length;
+
+        if (this.flushMode == FlushMode.SYNC_BATCH) {
+            // 头文件中的写游标在数据段刷盘之后才更新
+            if (++this.unflushedCount >= this.flushBatchSize) {
+                flushUnderPutLock();
+            }
+        } else {
+            this.header.putLong(HEADER_WRITE_POSITION_OFFSET, this.writePosition);
+        }
+    }
+
+    /**
+     * 出队（需要持有takeLock，且队列中至少有一条记录）
+     * */
+    private byte[] dequeue() {
+        long position = skipWrap(this.readViews, this.readPosition);
+
+        ByteBuffer view = this.readViews[segmentIndex(position)];
+        int offset = segmentOffset(position);
+        int length = view.getInt(offset);
+        byte[] data = new byte[length];
+        view.position(offset + RECORD_HEADER_SIZE);
+        view.get(data);
+
+        // 记录读完之后才推进读游标，之后这段空间才可能被生产者覆盖
+        this.readPosition = position + RECORD_HEADER_SIZE + length;
+        this.header.putLong(HEADER_READ_POSITION_OFFSET, this.readPosition);
+
+        return data;
+    }
+
+    @Override
+    public void put(byte[] e) throws InterruptedException {
+        put(ByteBuffer.wrap(e));
+    }
+
+    /**
+     * 插入data中剩余的字节作为一条记录，剩余空间不足时阻塞
+     * */
+    public void put(ByteBuffer data) throws InterruptedException {
+        int length = data.remaining();
+        if (length > segmentSize - RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("record too large: " + length);
+        }
+
+        int currentCount;
+        putLock.lockInterruptibly();
+        try {
+            // 剩余空间不足以放下当前记录时阻塞（take时唤醒所有等待的生产者，各自判断空间是否足够）
+            while (this.writePosition + requiredSpace(length) - this.readPosition > this.totalSize) {
+                notFull.await();
+            }
+            enqueue(data);
+
+            currentCount = count.getAndIncrement();
+
+            // 记录的长度各不相同，只要还有剩余空间就唤醒其他等待插入的线程，由其自己判断空间是否足够
+            if (this.writePosition - this.readPosition < this.totalSize) {
+                notFull.signal();
+            }
+        } finally {
+            putLock.unlock();
+        }
+
+        // 如果插入之前队列为空，才唤醒等待弹出元素的线程
+        // 为了防止死锁，不能在释放putLock之前获取takeLock
+        if (currentCount == 0) {
+            signalNotEmpty();
+        }
+    }
+
+    @Override
+    public byte[] take() throws InterruptedException {
+        byte[] headElement;
+        int currentCount;
+        long usedBeforeTake;
+
+        takeLock.lockInterruptibly();
+        try {
+            while (count.get() == 0) {
+                notEmpty.await();
+            }
+
+            usedBeforeTake = this.writePosition - this.readPosition;
+            headElement = dequeue();
+
+            currentCount = count.getAndDecrement();
+
+            if (currentCount - 1 > 0) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+
+        // 一条记录最多占用2 * segmentSize的空间（包括浪费的段尾），只有出队前的剩余空间小于这个值时才可能有生产者在等待
+        if (this.totalSize - usedBeforeTake < 2L * this.segmentSize) {
+            signalNotFull();
+        }
+
+        return headElement;
+    }
+
+    /**
+     * 将自上次刷盘以来写入过的段以及头文件强制刷盘
+     * */
+    public void flush() {
+        putLock.lock();
+        try {
+            flushUnderPutLock();
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    private void flushUnderPutLock() {
+        for (int i = 0; i < this.segmentCount; i++) {
+            if (this.dirtySegments[i]) {
+                this.segments[i].force();
+                this.dirtySegments[i] = false;
+            }
+        }
+        // 数据段落盘之后才更新头文件中的写游标，保证落盘的写游标不会超前于落盘的数据
+        this.header.putLong(HEADER_WRITE_POSITION_OFFSET, this.writePosition);
+        this.header.force();
+        this.unflushedCount = 0;
+    }
+
+    /**
+     * 唤醒等待队列非空条件的线程
+     */
+    private void signalNotEmpty() {
+        takeLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    /**
+     * 唤醒所有等待队列未满条件的线程
+     * 记录的长度各不相同，只唤醒一个线程时，被唤醒的线程如果依然放不下会重新等待，而其它记录较小、已经可以放下的线程却一直得不到唤醒
+     */
+    private void signalNotFull() {
+        putLock.lock();
+        try {
+            notFull.signalAll();
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.count.get() == 0;
+    }
+
+    public int size() {
+        return this.count.get();
+    }
+
+    /**
+     * 刷盘并关闭文件（映射的内存在MappedByteBuffer被GC时释放）
+     * 关闭后不能再继续使用当前队列对象
+     * */
+    @Override
+    public void close() throws IOException {
+        putLock.lock();
+        takeLock.lock();
+        try {
+            flushUnderPutLock();
+            for (FileChannel segmentChannel : this.segmentChannels) {
+                segmentChannel.close();
+            }
+            this.headerChannel.close();
+        } finally {
+            takeLock.unlock();
+            putLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package blockingqueue.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 阻塞队列的运行指标
+ * 1. 所有计数器都基于LongAdder（内部按线程分散到多个cell中累加），高并发下更新计数器本身不会成为新的竞争点
+ * 2. 计数器只增不减，入队/出队速率由调用方间隔一段时间获取两次快照后相减得到（Snapshot.enqueueRate/dequeueRate）
+ * 3. 生产者阻塞时间较长说明消费速度跟不上（队列经常是满的）；消费者阻塞时间较长说明生产速度跟不上（队列经常是空的）
+ */
+public class QueueMetrics {
+
+    /**
+     * 队列当前元素个数的获取方式
+     * */
+    private final IntSupplier sizeSupplier;
+
+    private final LongAdder enqueueCount = new LongAdder();
+
+    private final LongAdder dequeueCount = new LongAdder();
+
+    /**
+     * 生产者因为队列已满而阻塞（notFull.await）的次数与总耗时
+     * */
+    private final LongAdder putBlockedCount = new LongAdder();
+
+    private final LongAdder putBlockedNanos = new LongAdder();
+
+    /**
+     * 消费者因为队列为空而阻塞（notEmpty.await）的次数与总耗时
+     * */
+    private final LongAdder takeBlockedCount = new LongAdder();
+
+    private final LongAdder takeBlockedNanos = new LongAdder();
+
+    /**
+     * 生产者/消费者尝试获取锁失败（锁已被其它线程持有）的次数
+     * */
+    private final LongAdder putLockContendedCount = new LongAdder();
+
+    private final LongAdder takeLockContendedCount = new LongAdder();
+
+    public QueueMetrics(IntSupplier sizeSupplier) {
+        this.sizeSupplier = sizeSupplier;
+    }
+
+    public void recordEnqueue() {
+        enqueueCount.increment();
+    }
+
+    public void recordDequeue() {
+        dequeueCount.increment();
+    }
+
+    public void recordPutBlocked(long blockedNanos) {
+        putBlockedCount.increment();
+        putBlockedNanos.add(blockedNanos);
+    }
+
+    public void recordTakeBlocked(long blockedNanos) {
+        takeBlockedCount.increment();
+        takeBlockedNanos.add(blockedNanos);
+    }
+
+    public void recordPutLockContended() {
+        putLockContendedCount.increment();
+    }
+
+    public void recordTakeLockContended() {
+        takeLockContendedCount.increment();
+    }
+
+    /**
+     * 获取当前各项指标的快照
+     * （各个计数器是分别读取的，并发更新时快照中的各项指标之间不保证严格一致）
+     * */
+    public Snapshot snapshot() {
+        return new Snapshot(
+                System.nanoTime(),
+                sizeSupplier.getAsInt(),
+                enqueueCount.sum(),
+                dequeueCount.sum(),
+                putBlockedCount.sum(),
+                putBlockedNanos.sum(),
+                takeBlockedCount.sum(),
+                takeBlockedNanos.sum(),
+                putLockContendedCount.sum(),
+                takeLockContendedCount.sum());
+    }
+
+    /**
+     * 清空所有计数器
+     * */
+    public void reset() {
+        enqueueCount.reset();
+        dequeueCount.reset();
+        putBlockedCount.reset();
+        putBlockedNanos.reset();
+        takeBlockedCount.reset();
+        takeBlockedNanos.reset();
+        putLockContendedCount.reset();
+        takeLockContendedCount.reset();
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /**
+     * 某一时刻的指标快照
+     * */
+    public static class Snapshot {
+
+        private final long timestampNanos;
+        private final int size;
+        private final long enqueueCount;
+        private final long dequeueCount;
+        private final long putBlockedCount;
+        private final long putBlockedNanos;
+        private final long takeBlockedCount;
+        private final long takeBlockedNanos;
+        private final long putLockContendedCount;
+        private final long takeLockContendedCount;
+
+        private Snapshot(long timestampNanos, int size, long enqueueCount, long dequeueCount,
+                         long putBlockedCount, long putBlockedNanos, long takeBlockedCount, long takeBlockedNanos,
+                         long putLockContendedCount, long takeLockContendedCount) {
+            this.timestampNanos = timestampNanos;
+            this.size = size;
+            this.enqueueCount = enqueueCount;
+            this.dequeueCount = dequeueCount;
+            this.putBlockedCount = putBlockedCount;
+            this.putBlockedNanos = putBlockedNanos;
+            this.takeBlockedCount = takeBlockedCount;
+            this.takeBlockedNanos = takeBlockedNanos;
+            this.putLockContendedCount = putLockContendedCount;
+            this.takeLockContendedCount = takeLockContendedCount;
+        }
+
+        /**
+         * 从previous快照到当前快照之间，每秒的入队个数
+         * */
+        public double enqueueRate(Snapshot previous) {
+            return perSecond(enqueueCount - previous.enqueueCount, previous);
+        }
+
+        /**
+         * 从previous快照到当前快照之间，每秒的出队个数
+         * */
+        public double dequeueRate(Snapshot previous) {
+            return perSecond(dequeueCount - previous.dequeueCount, previous);
+        }
+
+        private double perSecond(long delta, Snapshot previous) {
+            long intervalNanos = timestampNanos - previous.timestampNanos;
+            if (intervalNanos <= 0) {
+                return 0;
+            }
+            return delta * 1_000_000_000.0 / intervalNanos;
+        }
+
+        public long getTimestampNanos() {
+            return timestampNanos;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getEnqueueCount() {
+            return enqueueCount;
+        }
+
+        public long getDequeueCount() {
+            return dequeueCount;
+        }
+
+        public long getPutBlockedCount() {
+            return putBlockedCount;
+        }
+
+        public long getPutBlockedNanos() {
+            return putBlockedNanos;
+        }
+
+        public long getTakeBlockedCount() {
+            return takeBlockedCount;
+        }
+
+        public long getTakeBlockedNanos() {
+            return takeBlockedNanos;
+        }
+
+        public long getPutLockContendedCount() {
+            return putLockContendedCount;
+        }
+
+        public long getTakeLockContendedCount() {
+            return takeLockContendedCount;
+        }
+
+        @Override
+        public String toString() {
+            return "size=" + size
+                    + " enqueueCount=" + enqueueCount
+                    + " dequeueCount=" + dequeueCount
+                    + " putBlockedCount=" + putBlockedCount
+                    + " putBlockedTime=" + putBlockedNanos / 1_000_000 + "ms"
+                    + " takeBlockedCount=" + takeBlockedCount
+                    + " takeBlockedTime=" + takeBlockedNanos / 1_000_000 + "ms"
+                    + " putLockContendedCount=" + putLockContendedCount
+                    + " takeLockContendedCount=" + takeLockContendedCount;
+        }
+    }
+}
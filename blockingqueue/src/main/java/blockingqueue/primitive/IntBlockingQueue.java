@@ -0,0 +1,228 @@
+package blockingqueue.primitive;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 元素类型为int的阻塞队列（MyArrayBlockingQueueV5的原始类型版本）
+ * 底层使用int[]存放元素，put/take直接读写int，入队出队不会产生Integer装箱拆箱的对象分配
+ */
+public class IntBlockingQueue {
+
+    /**
+     * 队列默认的容量大小
+     * */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 承载队列元素的底层数组
+     * */
+    private final int[] elements;
+
+    /**
+     * 当前头部元素的下标
+     * */
+    private int head;
+
+    /**
+     * 下一个元素插入时的下标
+     * */
+    private int tail;
+
+    /**
+     * 队列中元素个数
+     * */
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final ReentrantLock putLock;
+
+    private final Condition notEmpty;
+
+    private final ReentrantLock takeLock;
+
+    private final Condition notFull;
+
+    //=================================================构造方法======================================================
+    /**
+     * 默认构造方法
+     * */
+    public IntBlockingQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntBlockingQueue(int initCapacity) {
+        if (initCapacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+
+        this.elements = new int[initCapacity];
+
+        this.takeLock = new ReentrantLock();
+        this.notEmpty = this.takeLock.newCondition();
+
+        this.putLock = new ReentrantLock();
+        this.notFull = this.putLock.newCondition();
+    }
+
+    /**
+     * 下标取模（逻辑下标最多只会超出数组长度一圈）
+     * */
+    private int getMod(int logicIndex){
+        int innerArrayLength = this.elements.length;
+        return logicIndex >= innerArrayLength ? logicIndex - innerArrayLength : logicIndex;
+    }
+
+    /**
+     * 插入元素e，队列已满时阻塞
+     * */
+    public void put(int e) throws InterruptedException {
+        int currentCount;
+        putLock.lockInterruptibly();
+        try {
+            while (count.get() == elements.length) {
+                notFull.await();
+            }
+            // 入队
+            this.elements[this.tail] = e;
+            this.tail = getMod(this.tail + 1);
+
+            currentCount = count.getAndIncrement();
+
+            // 如果在插入后队列仍然没满，则唤醒其他等待插入的线程
+            if (currentCount + 1 < elements.length) {
+                notFull.signal();
+            }
+        } finally {
+            putLock.unlock();
+        }
+
+        // 如果插入之前队列为空，才唤醒等待弹出元素的线程
+        if (currentCount == 0) {
+            signalNotEmpty();
+        }
+    }
+
+    /**
+     * 头部元素出队，队列为空时阻塞
+     * */
+    public int take() throws InterruptedException {
+        int headElement;
+        int currentCount;
+
+        takeLock.lockInterruptibly();
+        try {
+            while (count.get() == 0) {
+                notEmpty.await();
+            }
+            // 出队（原始类型不需要释放引用）
+            headElement = this.elements[this.head];
+            this.head = getMod(this.head + 1);
+
+            currentCount = count.getAndDecrement();
+
+            // 如果队列在弹出一个元素后仍然非空，则唤醒其他等待队列非空的线程
+            if (currentCount - 1 > 0) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+
+        // 只有在弹出之前队列已满的情况下才唤醒等待插入元素的线程
+        if (currentCount == elements.length) {
+            signalNotFull();
+        }
+
+        return headElement;
+    }
+
+    /**
+     * 批量出队（非阻塞）
+     * 在一次持有takeLock的过程中，将队列中最多buffer.length个元素按顺序拷贝到buffer中
+     * @return 实际出队的元素个数，队列为空时返回0
+     * */
+    public int drainTo(int[] buffer) {
+        return drainTo(buffer, buffer.length);
+    }
+
+    /**
+     * 批量出队（非阻塞）
+     * @return 实际出队的元素个数，队列为空时返回0
+     * */
+    public int drainTo(int[] buffer, int maxElements) {
+        if (maxElements > buffer.length) {
+            throw new IllegalArgumentException();
+        }
+        if (maxElements <= 0) {
+            return 0;
+        }
+
+        int drainNum;
+        int currentCount;
+
+        takeLock.lock();
+        try {
+            drainNum = Math.min(maxElements, count.get());
+            if (drainNum == 0) {
+                return 0;
+            }
+
+            // 环形数组中需要拷贝的部分最多分为两段：head到数组末尾、数组开头到tail
+            int firstPartNum = Math.min(drainNum, elements.length - this.head);
+            System.arraycopy(this.elements, this.head, buffer, 0, firstPartNum);
+            System.arraycopy(this.elements, 0, buffer, firstPartNum, drainNum - firstPartNum);
+            this.head = getMod(this.head + drainNum);
+
+            currentCount = count.getAndAdd(-drainNum);
+
+            if (currentCount - drainNum > 0) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+
+        // 批量出队之前队列已满，唤醒一个等待插入的线程（被唤醒的生产者会继续唤醒其它生产者）
+        if (currentCount == elements.length) {
+            signalNotFull();
+        }
+
+        return drainNum;
+    }
+
+    /**
+     * 唤醒等待队列非空条件的线程
+     */
+    private void signalNotEmpty() {
+        takeLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    /**
+     * 唤醒等待队列未满条件的线程
+     */
+    private void signalNotFull() {
+        putLock.lock();
+        try {
+            notFull.signal();
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return this.count.get() == 0;
+    }
+
+    public int size() {
+        return this.count.get();
+    }
+}
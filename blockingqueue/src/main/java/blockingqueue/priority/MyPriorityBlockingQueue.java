@@ -0,0 +1,278 @@
+package blockingqueue.priority;
+
+import aqs.v4.Condition;
+import aqs.v4.MyReentrantLockV4;
+import blockingqueue.MyBlockingQueue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 有界的优先级阻塞队列（内部使用自己实现的MyReentrantLockV4）
+ * 1. 出队顺序不再是先进先出，而是每次弹出优先级最高（最小）的元素
+ * 2. 底层是一个d叉堆，直接存放在数组中，通过下标计算父子节点的位置（父节点下标 = (i - 1) / d，第一个子节点下标 = i * d + 1）
+ *    d大于2时树的高度更低，入队时上浮的比较次数更少，且一个节点的所有子节点在数组中是连续的，对缓存更友好
+ * 3. 提供takeUpTo批量出队，在一次持有锁的过程中取出优先级最高的若干个元素
+ *
+ * 由于堆的调整需要同时修改头部和尾部，无法像MyArrayBlockingQueueV5那样拆分成两把锁，因此和v4版本一样只使用一把锁
+ */
+public class MyPriorityBlockingQueue<E> implements MyBlockingQueue<E> {
+
+    /**
+     * 队列默认的容量大小
+     * */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 默认的堆的叉数
+     * */
+    private static final int DEFAULT_ARITY = 4;
+
+    /**
+     * 承载堆的底层数组
+     * */
+    private final Object[] heap;
+
+    /**
+     * 堆的叉数
+     * */
+    private final int arity;
+
+    /**
+     * 元素比较器，为null时使用元素自身的自然顺序
+     * */
+    private final Comparator<? super E> comparator;
+
+    /**
+     * 队列中元素个数
+     * */
+    private int count;
+
+    private final MyReentrantLockV4 reentrantLock;
+
+    private final Condition notEmpty;
+
+    private final Condition notFull;
+
+    //=================================================构造方法======================================================
+    /**
+     * 默认构造方法
+     * */
+    public MyPriorityBlockingQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MyPriorityBlockingQueue(int capacity) {
+        this(capacity, DEFAULT_ARITY, null);
+    }
+
+    public MyPriorityBlockingQueue(int capacity, Comparator<? super E> comparator) {
+        this(capacity, DEFAULT_ARITY, comparator);
+    }
+
+    /**
+     * @param capacity 队列容量
+     * @param arity 堆的叉数（至少为2）
+     * @param comparator 元素比较器，为null时元素需要实现Comparable接口
+     * */
+    public MyPriorityBlockingQueue(int capacity, int arity, Comparator<? super E> comparator) {
+        if (capacity <= 0 || arity < 2) {
+            throw new IllegalArgumentException();
+        }
+
+        this.heap = new Object[capacity];
+        this.arity = arity;
+        this.comparator = comparator;
+
+        this.reentrantLock = new MyReentrantLockV4();
+        this.notEmpty = this.reentrantLock.newCondition();
+        this.notFull = this.reentrantLock.newCondition();
+    }
+
+    /**
+     * 比较两个元素的优先级
+     * */
+    @SuppressWarnings("unchecked")
+    private int compare(Object a, Object b) {
+        if (comparator != null) {
+            return comparator.compare((E) a, (E) b);
+        } else {
+            return ((Comparable<? super E>) a).compareTo((E) b);
+        }
+    }
+
+    /**
+     * 入队：放入堆的末尾，然后上浮
+     * */
+    private void enqueue(E e) {
+        int index = this.count;
+        // 沿着父节点向上查找插入位置，比新元素优先级低的父节点逐个下移
+        while (index > 0) {
+            int parentIndex = (index - 1) / arity;
+            Object parent = this.heap[parentIndex];
+            if (compare(e, parent) >= 0) {
+                break;
+            }
+            this.heap[index] = parent;
+            index = parentIndex;
+        }
+        this.heap[index] = e;
+
+        this.count++;
+    }
+
+    /**
+     * 出队：取出堆顶元素，将末尾元素放到堆顶后下沉
+     * */
+    @SuppressWarnings("unchecked")
+    private E dequeue() {
+        Object[] heap = this.heap;
+        E dataNeedRemove = (E) heap[0];
+
+        int lastIndex = --this.count;
+        Object lastElement = heap[lastIndex];
+        // 将末尾元素引用释放
+        heap[lastIndex] = null;
+
+        if (lastIndex > 0) {
+            int index = 0;
+            while (true) {
+                int firstChildIndex = index * arity + 1;
+                if (firstChildIndex >= lastIndex) {
+                    // 没有子节点了
+                    break;
+                }
+
+                // 在连续存放的子节点中找到优先级最高的一个
+                int endChildIndex = Math.min(firstChildIndex + arity, lastIndex);
+                int minChildIndex = firstChildIndex;
+                for (int i = firstChildIndex + 1; i < endChildIndex; i++) {
+                    if (compare(heap[i], heap[minChildIndex]) < 0) {
+                        minChildIndex = i;
+                    }
+                }
+
+                if (compare(lastElement, heap[minChildIndex]) <= 0) {
+                    break;
+                }
+                // 优先级最高的子节点上移
+                heap[index] = heap[minChildIndex];
+                index = minChildIndex;
+            }
+            heap[index] = lastElement;
+        }
+
+        return dataNeedRemove;
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+
+        // 先尝试获得互斥锁，以进入临界区
+        reentrantLock.lockInterruptibly();
+        try {
+            // 因为被消费者唤醒后可能会被其它的生产者再度填满队列，需要循环的判断
+            while (this.count == heap.length) {
+                notFull.await();
+            }
+            enqueue(e);
+
+            // 唤醒可能等待在notEmpty中的一个消费者线程
+            notEmpty.signal();
+        } finally {
+            // 入队完毕，释放锁
+            reentrantLock.unlock();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        // 先尝试获得互斥锁，以进入临界区
+        reentrantLock.lockInterruptibly();
+        try {
+            // 因为被生产者唤醒后可能会被其它的消费者消费而使得队列再次为空，需要循环的判断
+            while (this.count == 0) {
+                notEmpty.await();
+            }
+
+            E headElement = dequeue();
+
+            // 唤醒可能等待在notFull中的一个生产者线程
+            notFull.signal();
+
+            return headElement;
+        } finally {
+            // 出队完毕，释放锁
+            reentrantLock.unlock();
+        }
+    }
+
+    /**
+     * 批量出队
+     * 队列为空时阻塞，直到至少有一个元素；之后在一次持有锁的过程中按优先级从高到低取出最多maxElements个元素
+     * @return 按优先级从高到低排列的元素
+     * */
+    public List<E> takeUpTo(int maxElements) throws InterruptedException {
+        List<E> result = new ArrayList<>(Math.min(maxElements, heap.length));
+        takeUpTo(maxElements, result);
+        return result;
+    }
+
+    /**
+     * 批量出队，取出的元素按优先级从高到低加入collection中（便于调用方复用集合对象）
+     * @return 实际取出的元素个数
+     * */
+    public int takeUpTo(int maxElements, Collection<? super E> collection) throws InterruptedException {
+        if (maxElements <= 0) {
+            throw new IllegalArgumentException();
+        }
+
+        reentrantLock.lockInterruptibly();
+        try {
+            while (this.count == 0) {
+                notEmpty.await();
+            }
+
+            int takeNum = Math.min(maxElements, this.count);
+            for (int i = 0; i < takeNum; i++) {
+                collection.add(dequeue());
+            }
+
+            // 腾出了多少个位置，就最多唤醒多少个等待插入的生产者线程
+            for (int i = 0; i < takeNum; i++) {
+                notFull.signal();
+            }
+
+            return takeNum;
+        } finally {
+            reentrantLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        reentrantLock.lock();
+        try {
+            return this.count == 0;
+        } finally {
+            reentrantLock.unlock();
+        }
+    }
+
+    public int size() {
+        reentrantLock.lock();
+        try {
+            return this.count;
+        } finally {
+            reentrantLock.unlock();
+        }
+    }
+}
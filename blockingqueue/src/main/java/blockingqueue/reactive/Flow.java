@@ -0,0 +1,55 @@
+package blockingqueue.reactive;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 响应式流（reactive-streams）的几个核心接口，与jdk9中java.util.concurrent.Flow下的接口一一对应
+ * （当前工程基于jdk8编译，无法直接使用jdk9的Flow）
+ */
+public final class Flow {
+
+    private Flow() {
+    }
+
+    /**
+     * 元素的发布者
+     * */
+    public interface Publisher<T> {
+
+        /**
+         * 订阅，发布者会先调用subscriber.onSubscribe，之后按照订阅者请求的个数推送元素
+         * */
+        void subscribe(Subscriber<? super T> subscriber);
+    }
+
+    /**
+     * 元素的订阅者（同一个订阅者上的回调方法不会被并发的调用）
+     * */
+    public interface Subscriber<T> {
+
+        void onSubscribe(Subscription subscription);
+
+        void onNext(T item);
+
+        void onError(Throwable throwable);
+
+        void onComplete();
+    }
+
+    /**
+     * 订阅关系，订阅者通过它向发布者请求元素或者取消订阅
+     * */
+    public interface Subscription {
+
+        /**
+         * 再请求n个元素（n必须为正数，累计请求的个数超过Long.MAX_VALUE时视为无限）
+         * */
+        void request(long n);
+
+        /**
+         * 取消订阅，之后不会再收到新的元素（已经在推送中的元素可能还会收到）
+         * */
+        void cancel();
+    }
+}
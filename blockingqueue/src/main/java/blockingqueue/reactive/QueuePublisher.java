@@ -0,0 +1,298 @@
+package blockingqueue.reactive;
+
+import blockingqueue.MyBlockingQueue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 将任意的MyBlockingQueue桥接为响应式的发布者
+ * 1. 订阅者通过request(n)声明自己还能处理多少个元素，发布者只会推送不超过请求个数的元素
+ * 2. 元素的推送（drain）在指定的executor中批量进行：同一时刻只有一个drain任务在执行，
+ *    没有请求或队列为空时drain任务直接结束，不会为每个订阅者阻塞一个线程
+ * 3. 订阅者处理不过来时（不再request），元素会堆积在队列中，队列满了之后生产者的put会阻塞，从而将背压传递给生产者
+ * 4. 每个元素只会推送给一个订阅者（多个订阅者之间是竞争消费的关系，而不是广播）
+ * 5. 发布者必须是队列唯一的消费者，drain时依赖"队列非空则take不会阻塞"
+ */
+public class QueuePublisher<E> implements Flow.Publisher<E> {
+
+    /**
+     * 单次drain任务中最多推送的元素个数，超过后重新提交任务，避免长期占用executor中的线程
+     * */
+    private static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    private final MyBlockingQueue<E> queue;
+
+    private final Executor executor;
+
+    private final int maxBatchSize;
+
+    /**
+     * 当前的所有订阅
+     * */
+    private final List<QueueSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * 需要drain的次数（不为0时代表已经有drain任务在执行或等待执行，不需要再提交新的任务）
+     * */
+    private final AtomicInteger drainWip = new AtomicInteger();
+
+    /**
+     * 是否已经关闭（关闭后队列中剩余的元素推送完毕时，通知订阅者onComplete）
+     * */
+    private volatile boolean closed;
+
+    private final Runnable drainTask = this::drainLoop;
+
+    public QueuePublisher(MyBlockingQueue<E> queue, Executor executor) {
+        this(queue, executor, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public QueuePublisher(MyBlockingQueue<E> queue, Executor executor, int maxBatchSize) {
+        if (queue == null || executor == null) {
+            throw new NullPointerException();
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException();
+        }
+
+        this.queue = queue;
+        this.executor = executor;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super E> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException();
+        }
+
+        QueueSubscription subscription = new QueueSubscription(subscriber);
+        // onSubscribe返回之后才加入订阅列表，drain任务不会在onSubscribe执行期间并发地回调onNext
+        subscriber.onSubscribe(subscription);
+        if (subscription.cancelled) {
+            return;
+        }
+        subscriptions.add(subscription);
+        if (subscription.cancelled) {
+            // onSubscribe返回后被其它线程取消，cancel中的remove可能发生在add之前
+            subscriptions.remove(subscription);
+            return;
+        }
+        // onSubscribe中发起的request、已经关闭的发布者，都需要由drain统一处理
+        scheduleDrain();
+    }
+
+    /**
+     * 生产者发布元素，队列已满时阻塞（背压）
+     * */
+    public void put(E e) throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("publisher closed");
+        }
+        queue.put(e);
+        scheduleDrain();
+    }
+
+    /**
+     * 通知发布者队列中有新的元素（生产者没有通过put而是直接写入队列时，需要调用该方法触发推送）
+     * */
+    public void signal() {
+        scheduleDrain();
+    }
+
+    /**
+     * 关闭发布者，不再接受新的元素，队列中剩余的元素推送完毕后通知所有订阅者onComplete
+     * （需要在所有生产者都结束put之后调用）
+     * */
+    public void close() {
+        closed = true;
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (drainWip.getAndIncrement() == 0) {
+            try {
+                executor.execute(drainTask);
+            } catch (RejectedExecutionException e) {
+                // 任务没有被执行，重置drainWip，否则之后的scheduleDrain都不会再提交任务
+                drainWip.set(0);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 按照各个订阅者的请求个数，将队列中的元素推送给订阅者
+     * */
+    private void drainLoop() {
+        try {
+            doDrainLoop();
+        } catch (Throwable e) {
+            // 异常退出时重置drainWip，令之后的scheduleDrain可以重新提交drain任务
+            drainWip.set(0);
+            throw e;
+        }
+    }
+
+    private void doDrainLoop() {
+        int missed = drainWip.get();
+        int emittedInTask = 0;
+        for (;;) {
+            boolean emitted;
+            do {
+                emitted = false;
+                for (QueueSubscription subscription : subscriptions) {
+                    if (emittedInTask >= maxBatchSize) {
+                        // 本次任务已经推送了足够多的元素，重新提交任务让出线程（drainWip不为0，期间不会有其它drain任务）
+                        // 提交被拒绝时由drainLoop重置drainWip
+                        executor.execute(drainTask);
+                        return;
+                    }
+                    // 每个订阅者轮流推送一批，避免某个请求量很大的订阅者独占所有元素
+                    int emittedNum = subscription.emit(maxBatchSize - emittedInTask);
+                    emittedInTask += emittedNum;
+                    emitted |= emittedNum > 0;
+                }
+            } while (emitted);
+
+            if (closed && queue.isEmpty()) {
+                for (QueueSubscription subscription : subscriptions) {
+                    subscription.complete();
+                }
+            }
+
+            // 期间有新的drain请求时（新元素、新的request），需要再检查一轮
+            missed = drainWip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private final class QueueSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super E> subscriber;
+
+        /**
+         * 尚未满足的请求个数
+         * */
+        private final AtomicLong demand = new AtomicLong();
+
+        private volatile boolean cancelled;
+
+        /**
+         * 待通知的错误（不为null时停止推送元素，由drain任务通知onError）
+         * */
+        private volatile Throwable pendingError;
+
+        QueueSubscription(Flow.Subscriber<? super E> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (cancelled) {
+                return;
+            }
+            if (n <= 0) {
+                // 调用方线程中可能有drain任务正在执行当前订阅者的onNext，不能直接回调onError
+                // 记录错误后交给drain任务统一通知，保证同一个订阅者的回调串行执行
+                pendingError = new IllegalArgumentException("request must be positive: " + n);
+                scheduleDrain();
+                return;
+            }
+
+            long current;
+            long next;
+            do {
+                current = demand.get();
+                // 溢出时视为无限的请求
+                next = current + n < 0 ? Long.MAX_VALUE : current + n;
+            } while (!demand.compareAndSet(current, next));
+
+            scheduleDrain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        /**
+         * 推送元素（只会在drain任务中被调用，因此同一个订阅者的回调不会被并发执行）
+         * @return 推送的元素个数
+         * */
+        int emit(int limit) {
+            long requested = demand.get();
+            int emittedNum = 0;
+            while (!cancelled && pendingError == null && emittedNum < requested && emittedNum < limit && !queue.isEmpty()) {
+                E e;
+                try {
+                    // 发布者是唯一的消费者，队列非空时take不会阻塞
+                    e = queue.take();
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+
+                emittedNum++;
+                try {
+                    subscriber.onNext(e);
+                } catch (Throwable throwable) {
+                    cancel();
+                    signalError(throwable);
+                    break;
+                }
+            }
+
+            if (emittedNum > 0 && requested != Long.MAX_VALUE) {
+                demand.addAndGet(-emittedNum);
+            }
+            error();
+            return emittedNum;
+        }
+
+        /**
+         * 存在待通知的错误时通知订阅者onError（只会在drain任务中被调用）
+         * */
+        void error() {
+            Throwable throwable = pendingError;
+            if (throwable != null && !cancelled) {
+                cancel();
+                signalError(throwable);
+            }
+        }
+
+        /**
+         * 订阅者的onError、onComplete不应该抛出异常，抛出时直接忽略（订阅已经取消），避免drain任务异常退出
+         * */
+        private void signalError(Throwable throwable) {
+            try {
+                subscriber.onError(throwable);
+            } catch (Throwable ignore) {
+                // 订阅者违反了规范，忽略
+            }
+        }
+
+        void complete() {
+            error();
+            if (!cancelled) {
+                cancel();
+                try {
+                    subscriber.onComplete();
+                } catch (Throwable ignore) {
+                    // 订阅者违反了规范，忽略
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package blockingqueue.ring;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 槽位中预先分配好可变事件对象的环形阻塞队列（参考Disruptor的设计），稳定运行时不产生任何垃圾对象
+ * 1. 生产者：claim申请一个槽位（返回序号），通过get(序号)拿到槽位中的事件对象原地修改，修改完毕后publish
+ * 2. 消费者：read获取下一个已发布的槽位（返回序号），通过get(序号)原地读取事件对象，处理完毕后release归还槽位
+ * 3. 事件对象在槽位之间循环复用，消费者release之后不能再持有事件对象的引用
+ * 4. 等待方式与v5版本一致：claim时环形队列已满则在putLock的notFull上等待，read时没有已发布的槽位则在takeLock的notEmpty上等待
+ *    publish、release时只有存在等待的线程，并且发布/归还的恰好是等待者所需要的那个槽位时，才会去获取对方的锁执行signal
+ *    （类似v5版本只在队列由空变为非空、由满变为未满时才signal，避免对方线程还未被调度时每次publish、release都去加锁signal）
+ *
+ * 每个槽位的状态通过序号表示（与MyParkingArrayBlockingQueue一致）：
+ * 序号 == 2 * seq：槽位空闲，可以被序号为seq的生产者申请；序号 == 2 * seq + 1：序号为seq的事件已发布，可以被读取
+ */
+public class MyEventRingBuffer<E> {
+
+    /**
+     * 预先分配的事件对象
+     * */
+    private final Object[] events;
+
+    /**
+     * 每个槽位的状态序号
+     * */
+    private final AtomicLongArray slotSequences;
+
+    private final int capacity;
+
+    /**
+     * 容量为2的幂次时，通过位运算代替取模计算槽位下标
+     * */
+    private final int indexMask;
+
+    /**
+     * 下一个被申请的序号（只在持有putLock时修改，release时会不加锁的读取）
+     * */
+    private volatile long claimSequence;
+
+    /**
+     * 下一个被读取的序号（只在持有takeLock时修改，publish时会不加锁的读取）
+     * */
+    private volatile long readSequence;
+
+    private final ReentrantLock putLock = new ReentrantLock();
+
+    private final Condition notFull = putLock.newCondition();
+
+    private final ReentrantLock takeLock = new ReentrantLock();
+
+    private final Condition notEmpty = takeLock.newCondition();
+
+    /**
+     * 在notFull、notEmpty上等待（或即将等待）的线程数
+     * 只在持有对应的锁时修改，但会在不持有锁时读取，因此需要volatile修饰
+     * */
+    private volatile int notFullWaiterCount;
+
+    private volatile int notEmptyWaiterCount;
+
+    /**
+     * @param capacity 槽位个数（建议为2的幂次）
+     * @param eventFactory 事件对象的创建方法，构造时为每个槽位预先创建一个事件对象
+     * */
+    public MyEventRingBuffer(int capacity, Supplier<E> eventFactory) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        if (eventFactory == null) {
+            throw new NullPointerException();
+        }
+
+        this.capacity = capacity;
+        this.indexMask = Integer.bitCount(capacity) == 1 ? capacity - 1 : -1;
+        this.events = new Object[capacity];
+        this.slotSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.events[i] = eventFactory.get();
+            this.slotSequences.set(i, 2L * i);
+        }
+    }
+
+    private int slotIndex(long sequence) {
+        if (indexMask >= 0) {
+            return (int) sequence & indexMask;
+        }
+        return (int) (sequence % capacity);
+    }
+
+    /**
+     * 序号为sequence的槽位是否可以被生产者申请
+     * */
+    private boolean isFree(long sequence) {
+        return slotSequences.get(slotIndex(sequence)) == 2 * sequence;
+    }
+
+    /**
+     * 序号为sequence的事件是否已经发布
+     * */
+    private boolean isPublished(long sequence) {
+        return slotSequences.get(slotIndex(sequence)) == 2 * sequence + 1;
+    }
+
+    /**
+     * 获取序号对应槽位中的事件对象
+     * */
+    public E get(long sequence) {
+        return (E) events[slotIndex(sequence)];
+    }
+
+    //=================================================生产者======================================================
+
+    /**
+     * 申请一个槽位，环形队列已满（下一个槽位还没有被消费者release）时阻塞
+     * @return 申请到的序号
+     * */
+    public long claim() throws InterruptedException {
+        long sequence;
+        putLock.lockInterruptibly();
+        try {
+            // 被唤醒时对应的槽位不一定已经被归还（release的可能是其它槽位），并且await期间claimSequence可能已经被其它生产者推进，
+            // 因此每次都需要重新读取claimSequence并循环的判断
+            while (!isFree(sequence = claimSequence)) {
+                // 先登记为等待者再重新检查一次，与release"先修改槽位序号再检查等待者个数"配合，保证不会丢失唤醒
+                notFullWaiterCount++;
+                try {
+                    if (!isFree(sequence)) {
+                        notFull.await();
+                    }
+                } finally {
+                    notFullWaiterCount--;
+                }
+            }
+            claimSequence = sequence + 1;
+
+            // 下一个槽位也已经空闲，唤醒其它等待申请的生产者
+            if (notFullWaiterCount > 0 && isFree(sequence + 1)) {
+                notFull.signal();
+            }
+        } finally {
+            putLock.unlock();
+        }
+        return sequence;
+    }
+
+    /**
+     * 发布已经填充完毕的事件，之后消费者才能读取
+     * */
+    public void publish(long sequence) {
+        slotSequences.set(slotIndex(sequence), 2 * sequence + 1);
+
+        // 等待的消费者等待的一定是readSequence对应的事件，发布的是其它序号时不需要唤醒
+        // （消费者先推进readSequence再登记为等待者，因此这里读到的readSequence不会比等待者所等待的序号更旧）
+        if (notEmptyWaiterCount > 0 && sequence == readSequence) {
+            takeLock.lock();
+            try {
+                notEmpty.signal();
+            } finally {
+                takeLock.unlock();
+            }
+        }
+    }
+
+    //=================================================消费者======================================================
+
+    /**
+     * 获取下一个可以读取的事件序号，下一个事件尚未发布时阻塞
+     * */
+    public long read() throws InterruptedException {
+        long sequence;
+        takeLock.lockInterruptibly();
+        try {
+            // 被唤醒时对应的事件不一定已经发布（发布的可能是后面的序号），并且await期间readSequence可能已经被其它消费者推进，
+            // 因此每次都需要重新读取readSequence并循环的判断
+            while (!isPublished(sequence = readSequence)) {
+                notEmptyWaiterCount++;
+                try {
+                    if (!isPublished(sequence)) {
+                        notEmpty.await();
+                    }
+                } finally {
+                    notEmptyWaiterCount--;
+                }
+            }
+            readSequence = sequence + 1;
+
+            // 下一个事件也已经发布，唤醒其它等待读取的消费者
+            if (notEmptyWaiterCount > 0 && isPublished(sequence + 1)) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        return sequence;
+    }
+
+    /**
+     * 归还读取完毕的槽位，之后生产者可以再次申请
+     * */
+    public void release(long sequence) {
+        slotSequences.set(slotIndex(sequence), 2 * (sequence + capacity));
+
+        // 等待的生产者等待的一定是claimSequence对应的槽位，归还的是其它槽位时不需要唤醒
+        if (notFullWaiterCount > 0 && sequence + capacity == claimSequence) {
+            putLock.lock();
+            try {
+                notFull.signal();
+            } finally {
+                putLock.unlock();
+            }
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
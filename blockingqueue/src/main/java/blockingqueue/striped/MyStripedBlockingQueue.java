@@ -0,0 +1,270 @@
+package blockingqueue.striped;
+
+import blockingqueue.MyBlockingQueue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 分道（striped）的阻塞队列，用于大量生产者、消费者同时访问的场景
+ * 1. 内部由N个与v5版本结构相同的子队列（lane）组成，每个lane有自己的putLock、takeLock，不同lane之间互不竞争
+ * 2. 生产者按照当前线程的hash固定选择一个lane入队，因此同一个生产者的元素总是在同一个lane中，保证了单个生产者维度的先进先出
+ *    （不保证全局的先进先出，并且某个lane满了之后，对应的生产者即使其它lane有空位也会阻塞）
+ * 3. 消费者优先从自己hash对应的lane中出队，为空时依次从其它的lane中窃取（work-stealing）
+ * 4. 所有lane都为空时，消费者在一个全局的notEmpty条件上等待；
+ *    生产者只有在存在等待的消费者时才需要获取全局锁唤醒它们，队列繁忙时全局锁基本不会被访问
+ */
+public class MyStripedBlockingQueue<E> implements MyBlockingQueue<E> {
+
+    /**
+     * 默认的lane个数（不小于cpu核数的2的幂次）
+     * */
+    private static final int DEFAULT_LANE_COUNT = tableSizeFor(Runtime.getRuntime().availableProcessors());
+
+    /**
+     * 所有的lane（个数为2的幂次，以便通过位运算取模）
+     * */
+    private final Lane<E>[] lanes;
+
+    private final int laneMask;
+
+    /**
+     * 所有lane都为空时，消费者等待所使用的全局锁和条件变量
+     * */
+    private final ReentrantLock emptyLock = new ReentrantLock();
+
+    private final Condition notEmpty = emptyLock.newCondition();
+
+    /**
+     * 正在（或即将）等待notEmpty的消费者个数
+     * */
+    private final AtomicInteger waitingConsumerCount = new AtomicInteger();
+
+    //=================================================构造方法======================================================
+
+    public MyStripedBlockingQueue(int capacity) {
+        this(capacity, DEFAULT_LANE_COUNT);
+    }
+
+    /**
+     * @param capacity 队列的总容量（平分给各个lane，每个lane的容量向上取整，因此实际的总容量可能略大于capacity）
+     * @param laneCount lane的个数（会被向上调整为2的幂次）
+     * */
+    public MyStripedBlockingQueue(int capacity, int laneCount) {
+        if (capacity <= 0 || laneCount <= 0) {
+            throw new IllegalArgumentException();
+        }
+
+        int actualLaneCount = tableSizeFor(laneCount);
+        int laneCapacity = (capacity + actualLaneCount - 1) / actualLaneCount;
+
+        this.lanes = new Lane[actualLaneCount];
+        for (int i = 0; i < actualLaneCount; i++) {
+            this.lanes[i] = new Lane<>(laneCapacity);
+        }
+        this.laneMask = actualLaneCount - 1;
+    }
+
+    /**
+     * 不小于n的最小的2的幂次
+     * */
+    private static int tableSizeFor(int n) {
+        int highestOneBit = Integer.highestOneBit(n);
+        return highestOneBit == n ? n : highestOneBit << 1;
+    }
+
+    /**
+     * 当前线程对应的lane下标（同一个线程总是得到同一个下标）
+     * */
+    private int currentLaneIndex() {
+        long threadId = Thread.currentThread().getId();
+        // 乘以黄金分割数后取高位，令连续的线程id也能均匀的分散开
+        return (int) ((threadId * 0x9E3779B97F4A7C15L) >>> 32) & laneMask;
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+
+        lanes[currentLaneIndex()].put(e);
+
+        // 入队（lane中count的自增）发生在读取waitingConsumerCount之前，
+        // 而消费者是先自增waitingConsumerCount再检查各个lane，因此两者至少有一方能看到对方，不会丢失唤醒
+        if (waitingConsumerCount.get() > 0) {
+            signalNotEmpty();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        int homeLaneIndex = currentLaneIndex();
+
+        // 快速路径：不获取全局锁，直接尝试从各个lane中出队
+        E headElement = pollAnyLane(homeLaneIndex);
+        if (headElement != null) {
+            return headElement;
+        }
+
+        emptyLock.lockInterruptibly();
+        try {
+            waitingConsumerCount.incrementAndGet();
+            try {
+                // 被唤醒后元素可能已经被其它消费者窃取，需要循环的判断
+                while ((headElement = pollAnyLane(homeLaneIndex)) == null) {
+                    notEmpty.await();
+                }
+            } finally {
+                waitingConsumerCount.decrementAndGet();
+            }
+        } finally {
+            emptyLock.unlock();
+        }
+
+        return headElement;
+    }
+
+    /**
+     * 先从当前线程对应的lane中出队，为空时依次尝试其它的lane
+     * @return 所有lane都为空时返回null
+     * */
+    private E pollAnyLane(int homeLaneIndex) {
+        for (int i = 0; i <= laneMask; i++) {
+            E headElement = lanes[(homeLaneIndex + i) & laneMask].poll();
+            if (headElement != null) {
+                return headElement;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 唤醒一个等待队列非空的消费者
+     */
+    private void signalNotEmpty() {
+        emptyLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            emptyLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Lane<E> lane : lanes) {
+            if (lane.count.get() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Lane<E> lane : lanes) {
+            size += lane.count.get();
+        }
+        return size;
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * 子队列，结构与v5版本一致（putLock、takeLock两把锁）
+     * 区别在于出队是非阻塞的poll，消费者的等待由外层统一处理
+     * */
+    private static final class Lane<E> {
+
+        private final Object[] elements;
+
+        private int head;
+
+        private int tail;
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        private final ReentrantLock putLock = new ReentrantLock();
+
+        private final Condition notFull = putLock.newCondition();
+
+        private final ReentrantLock takeLock = new ReentrantLock();
+
+        Lane(int capacity) {
+            this.elements = new Object[capacity];
+        }
+
+        /**
+         * 下标取模
+         * */
+        private int getMod(int logicIndex) {
+            return logicIndex >= elements.length ? logicIndex - elements.length : logicIndex;
+        }
+
+        void put(E e) throws InterruptedException {
+            putLock.lockInterruptibly();
+            try {
+                // 因为被消费者唤醒后可能会被其它的生产者再度填满，需要循环的判断
+                while (count.get() == elements.length) {
+                    notFull.await();
+                }
+                elements[tail] = e;
+                tail = getMod(tail + 1);
+
+                int currentCount = count.getAndIncrement();
+                // 如果在插入后仍然没满，则唤醒其他等待插入的线程
+                if (currentCount + 1 < elements.length) {
+                    notFull.signal();
+                }
+            } finally {
+                putLock.unlock();
+            }
+        }
+
+        /**
+         * 非阻塞的出队
+         * @return 为空时返回null
+         * */
+        E poll() {
+            // 先不加锁的判断一次，窃取时可以快速跳过空的lane
+            if (count.get() == 0) {
+                return null;
+            }
+
+            E headElement;
+            int currentCount;
+            takeLock.lock();
+            try {
+                if (count.get() == 0) {
+                    return null;
+                }
+                headElement = (E) elements[head];
+                elements[head] = null;
+                head = getMod(head + 1);
+
+                currentCount = count.getAndDecrement();
+            } finally {
+                takeLock.unlock();
+            }
+
+            // 只有在出队之前已满的情况下才唤醒等待插入元素的线程
+            // 为了防止死锁，不能在释放takeLock之前获取putLock
+            if (currentCount == elements.length) {
+                putLock.lock();
+                try {
+                    notFull.signal();
+                } finally {
+                    putLock.unlock();
+                }
+            }
+            return headElement;
+        }
+    }
+}
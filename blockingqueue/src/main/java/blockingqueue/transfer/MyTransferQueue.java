@@ -0,0 +1,397 @@
+package blockingqueue.transfer;
+
+import blockingqueue.MyBlockingQueue;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 直接交接（无缓冲）的阻塞队列，效果类似jdk的SynchronousQueue（公平模式）
+ * 1. 内部是一个"双重队列"（dual queue）：队列中排队的要么全是等待交出元素的生产者节点（数据节点），要么全是等待获取元素的消费者节点（请求节点）
+ * 2. 新来的线程如果与队头节点的类型相反，则直接与队头节点配对完成交接；否则将自己作为新节点加入队尾并等待被配对
+ * 3. 队列本身不保存任何元素：生产者transfer/put会一直等到某个消费者拿走元素为止，offer/tryTransfer只有在已经有消费者等待时才能成功
+ * 4. 等待被配对时先自旋一小段时间再park，交接频繁时可以避免park/unpark带来的上下文切换开销
+ * 5. 实现了jdk的BlockingQueue接口，可以直接作为线程池（例如MyThreadPoolExecutorV2）的工作队列，
+ *    此时任务只会交给空闲的工作线程，没有空闲线程时由线程池创建新的工作线程（或触发拒绝策略）
+ */
+public class MyTransferQueue<E> extends AbstractQueue<E> implements BlockingQueue<E>, MyBlockingQueue<E> {
+
+    /**
+     * 不限时等待时，park之前自旋的次数（单核cpu上自旋没有意义）
+     * */
+    private static final int MAX_UNTIMED_SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 512 : 0;
+
+    /**
+     * 限时等待时，park之前自旋的次数（限时等待每次自旋都需要获取当前时间，因此次数少一些）
+     * */
+    private static final int MAX_TIMED_SPINS = MAX_UNTIMED_SPINS / 16;
+
+    /**
+     * 剩余的等待时间小于该值时，直接自旋而不是parkNanos（过短的parkNanos并不精确）
+     * */
+    private static final long SPIN_FOR_TIMEOUT_THRESHOLD = 1000L;
+
+    /**
+     * 等待配对的节点
+     * */
+    private static final class Node {
+        /**
+         * true：生产者的数据节点；false：消费者的请求节点
+         * */
+        final boolean isData;
+
+        /**
+         * 数据节点：生产者交出的元素
+         * 请求节点：配对成功后，由生产者填入的元素
+         * （在matched被设置为true之前写入，因此等待线程看到matched为true后一定能读到正确的item）
+         * */
+        Object item;
+
+        /**
+         * 等待配对的线程
+         * */
+        final Thread waiter;
+
+        /**
+         * 队列中的下一个节点（只在持有lock时访问）
+         * */
+        Node next;
+
+        /**
+         * 是否已经配对成功
+         * */
+        volatile boolean matched;
+
+        Node(boolean isData, Object item, Thread waiter) {
+            this.isData = isData;
+            this.item = item;
+            this.waiter = waiter;
+        }
+    }
+
+    /**
+     * 保护等待队列的互斥锁（只在入队、配对、取消时短暂持有，等待配对时不持有）
+     * */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 等待队列的头尾节点
+     * */
+    private Node head;
+
+    private Node tail;
+
+    /**
+     * 交接的核心逻辑
+     * @param e 生产者交出的元素；为null时代表消费者获取元素
+     * @param timed 是否限时等待
+     * @param nanos 限时等待时的最长等待时间，为0时代表不等待
+     * @return 交接成功时，生产者返回e，消费者返回获得的元素；超时返回null
+     * @throws InterruptedException 等待被配对时被中断
+     * */
+    private Object xfer(Object e, boolean timed, long nanos) throws InterruptedException {
+        boolean isData = e != null;
+        Node node;
+        boolean isFirst;
+
+        lock.lock();
+        try {
+            Node first = head;
+            if (first != null && first.isData != isData) {
+                // 队头节点与当前线程类型相反，直接配对，将队头节点出队
+                head = first.next;
+                if (head == null) {
+                    tail = null;
+                }
+                first.next = null;
+
+                Object result;
+                if (isData) {
+                    // 将元素交给等待的消费者
+                    first.item = e;
+                    result = e;
+                } else {
+                    // 拿走等待的生产者交出的元素
+                    result = first.item;
+                    first.item = null;
+                }
+                first.matched = true;
+                LockSupport.unpark(first.waiter);
+                return result;
+            }
+
+            if (timed && nanos <= 0) {
+                // 没有可以配对的线程，且不允许等待
+                return null;
+            }
+
+            // 没有可以配对的线程，加入队尾等待被配对
+            node = new Node(isData, e, Thread.currentThread());
+            isFirst = tail == null;
+            if (isFirst) {
+                head = tail = node;
+            } else {
+                tail.next = node;
+                tail = node;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // 只有排在队头的节点才会最先被配对，其它节点自旋大概率是白白浪费cpu，直接park
+        return awaitMatch(node, e, isFirst, timed, nanos);
+    }
+
+    /**
+     * 等待节点被配对（先自旋，再park）
+     * */
+    private Object awaitMatch(Node node, Object e, boolean shouldSpin, boolean timed, long nanos) throws InterruptedException {
+        long deadline = timed ? System.nanoTime() + nanos : 0L;
+        int spins = !shouldSpin ? 0 : (timed ? MAX_TIMED_SPINS : MAX_UNTIMED_SPINS);
+        boolean interrupted = false;
+
+        for (;;) {
+            if (node.matched) {
+                return matchedResult(node, e);
+            }
+            if (Thread.interrupted()) {
+                interrupted = true;
+                break;
+            }
+            if (timed) {
+                nanos = deadline - System.nanoTime();
+                if (nanos <= 0) {
+                    break;
+                }
+            }
+
+            if (spins > 0) {
+                spins--;
+            } else if (!timed) {
+                LockSupport.park(this);
+            } else if (nanos > SPIN_FOR_TIMEOUT_THRESHOLD) {
+                LockSupport.parkNanos(this, nanos);
+            }
+        }
+
+        // 超时或被中断，尝试将节点从等待队列中移除（取消）
+        lock.lock();
+        try {
+            if (!node.matched) {
+                unlink(node);
+                if (interrupted) {
+                    throw new InterruptedException();
+                }
+                return null;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // 取消之前已经被其它线程配对，则以交接成功为准，保留中断标识由调用方自行处理
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return matchedResult(node, e);
+    }
+
+    private Object matchedResult(Node node, Object e) {
+        if (node.isData) {
+            return e;
+        }
+
+        Object item = node.item;
+        node.item = null;
+        return item;
+    }
+
+    /**
+     * 将已取消的节点从等待队列中移除（需要持有lock）
+     * */
+    private void unlink(Node node) {
+        Node prev = null;
+        for (Node current = head; current != null; prev = current, current = current.next) {
+            if (current == node) {
+                if (prev == null) {
+                    head = current.next;
+                } else {
+                    prev.next = current.next;
+                }
+                if (tail == current) {
+                    tail = prev;
+                }
+                current.next = null;
+                return;
+            }
+        }
+    }
+
+    //=================================================交接相关的api======================================================
+
+    /**
+     * 将元素交给消费者，如果当前没有消费者在等待，则一直阻塞直到某个消费者拿走该元素
+     * */
+    public void transfer(E e) throws InterruptedException {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        xfer(e, false, 0);
+    }
+
+    /**
+     * 如果当前已经有消费者在等待，则将元素交给它；否则立即返回false
+     * */
+    public boolean tryTransfer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        try {
+            return xfer(e, true, 0) != null;
+        } catch (InterruptedException ignore) {
+            // 不等待时不会抛出中断异常
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 将元素交给消费者，最多等待timeout时间
+     * @return true交接成功；false超时
+     * */
+    public boolean tryTransfer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        return xfer(e, true, unit.toNanos(timeout)) != null;
+    }
+
+    /**
+     * 是否有消费者正在等待获取元素
+     * */
+    public boolean hasWaitingConsumer() {
+        return getWaitingConsumerCount() > 0;
+    }
+
+    /**
+     * 正在等待获取元素的消费者个数
+     * */
+    public int getWaitingConsumerCount() {
+        lock.lock();
+        try {
+            Node first = head;
+            if (first == null || first.isData) {
+                return 0;
+            }
+            int waitingCount = 0;
+            for (Node current = first; current != null; current = current.next) {
+                waitingCount++;
+            }
+            return waitingCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //=================================================BlockingQueue======================================================
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        transfer(e);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        return tryTransfer(e);
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        return tryTransfer(e, timeout, unit);
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        return (E) xfer(null, false, 0);
+    }
+
+    @Override
+    public E poll() {
+        try {
+            return (E) xfer(null, true, 0);
+        } catch (InterruptedException ignore) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return (E) xfer(null, true, unit.toNanos(timeout));
+    }
+
+    /**
+     * 队列本身不保存元素，总是返回null
+     * */
+    @Override
+    public E peek() {
+        return null;
+    }
+
+    /**
+     * 队列本身不保存元素，总是为空
+     * */
+    @Override
+    public boolean isEmpty() {
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return 0;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return 0;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return Collections.emptyIterator();
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 拿走当前正在等待的生产者交出的元素
+     * */
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == null) {
+            throw new NullPointerException();
+        }
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+
+        int drainNum = 0;
+        E e;
+        while (drainNum < maxElements && (e = poll()) != null) {
+            c.add(e);
+            drainNum++;
+        }
+        return drainNum;
+    }
+}
@@ -0,0 +1,63 @@
+package blockingqueue.wait;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 基于条件变量阻塞的等待策略（与MyArrayBlockingQueueV3~V5中的await一致）
+ * 通过waiterCount记录阻塞中的线程数，没有线程阻塞时signalAllWhenBlocking不需要加锁，避免每次入队/出队都去竞争锁
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition conditionChanged = lock.newCondition();
+
+    /**
+     * 当前正在阻塞等待（或准备阻塞等待）的线程数
+     * */
+    private final AtomicInteger waiterCount = new AtomicInteger();
+
+    @Override
+    public void waitFor(BooleanSupplier condition) throws InterruptedException {
+        if (condition.getAsBoolean()) {
+            return;
+        }
+
+        // 先登记自己，再检查条件：
+        // 唤醒方先修改条件再检查waiterCount，两边都是volatile读写，因此要么等待方能看到条件已满足，要么唤醒方能看到等待者
+        waiterCount.incrementAndGet();
+        try {
+            lock.lockInterruptibly();
+            try {
+                while (!condition.getAsBoolean()) {
+                    conditionChanged.await();
+                }
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            waiterCount.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        if (waiterCount.get() == 0) {
+            // 没有阻塞中的线程，无需唤醒
+            return;
+        }
+
+        lock.lock();
+        try {
+            conditionChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package blockingqueue.wait;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 无限自旋的等待策略
+ * 唤醒延迟最低，但等待期间会一直占用cpu，只适合线程数不超过cpu核心数的场景
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+
+    @Override
+    public void waitFor(BooleanSupplier condition) throws InterruptedException {
+        while (!condition.getAsBoolean()) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        // 自旋的线程会自己发现条件的变化，无需唤醒
+    }
+}
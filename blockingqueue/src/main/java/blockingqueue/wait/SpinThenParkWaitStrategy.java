@@ -0,0 +1,59 @@
+package blockingqueue.wait;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 混合等待策略：先自旋，再yield，最后退化为条件变量阻塞
+ * 条件很快就能满足时避免了阻塞/唤醒的上下文切换开销，长时间等待时又不会一直占用cpu
+ */
+public class SpinThenParkWaitStrategy implements WaitStrategy {
+
+    private static final int DEFAULT_SPIN_TRIES = 100;
+
+    private static final int DEFAULT_YIELD_TRIES = 10;
+
+    private final int spinTries;
+
+    private final int yieldTries;
+
+    private final BlockingWaitStrategy blockingWaitStrategy = new BlockingWaitStrategy();
+
+    public SpinThenParkWaitStrategy() {
+        this(DEFAULT_SPIN_TRIES, DEFAULT_YIELD_TRIES);
+    }
+
+    public SpinThenParkWaitStrategy(int spinTries, int yieldTries) {
+        this.spinTries = spinTries;
+        this.yieldTries = yieldTries;
+    }
+
+    @Override
+    public void waitFor(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < spinTries; i++) {
+            if (condition.getAsBoolean()) {
+                return;
+            }
+        }
+
+        for (int i = 0; i < yieldTries; i++) {
+            if (condition.getAsBoolean()) {
+                return;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            Thread.yield();
+        }
+
+        // 自旋、yield之后条件依然不满足，阻塞等待
+        blockingWaitStrategy.waitFor(condition);
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        blockingWaitStrategy.signalAllWhenBlocking();
+    }
+}
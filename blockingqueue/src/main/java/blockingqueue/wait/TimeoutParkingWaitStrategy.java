@@ -0,0 +1,44 @@
+package blockingqueue.wait;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 定时park的等待策略（MyArrayBlockingQueueV2中Thread.sleep轮询的通用版本）
+ * 每次检查条件失败后park固定的时间，醒来后重新检查；不需要被其它线程唤醒，因此唤醒方没有任何开销
+ */
+public class TimeoutParkingWaitStrategy implements WaitStrategy {
+
+    private static final long DEFAULT_PARK_NANOS = 50_000L;
+
+    private final long parkNanos;
+
+    public TimeoutParkingWaitStrategy() {
+        this(DEFAULT_PARK_NANOS);
+    }
+
+    public TimeoutParkingWaitStrategy(long parkNanos) {
+        if (parkNanos <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.parkNanos = parkNanos;
+    }
+
+    @Override
+    public void waitFor(BooleanSupplier condition) throws InterruptedException {
+        while (!condition.getAsBoolean()) {
+            LockSupport.parkNanos(this, parkNanos);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        // 定时醒来的线程会自己发现条件的变化，无需唤醒
+    }
+}
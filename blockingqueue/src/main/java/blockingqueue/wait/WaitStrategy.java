@@ -0,0 +1,30 @@
+package blockingqueue.wait;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 阻塞队列中线程等待条件满足（队列非空/队列未满）的策略
+ * 不同的策略在cpu占用与唤醒延迟之间做不同的取舍：
+ * 1. BlockingWaitStrategy：条件变量阻塞，不占用cpu，唤醒延迟最高
+ * 2. BusySpinWaitStrategy：无限自旋，唤醒延迟最低，但会一直占用一个cpu核心
+ * 3. YieldingWaitStrategy：自旋一定次数后Thread.yield让出cpu
+ * 4. SpinThenParkWaitStrategy：自旋一定次数后退化为条件变量阻塞
+ * 5. TimeoutParkingWaitStrategy：每次park固定的时间后重新检查条件，不需要被唤醒
+ *
+ * 调用方在等待之前、之后都需要自己重新判断条件，waitFor返回只代表条件"可能"满足了
+ */
+public interface WaitStrategy {
+
+    /**
+     * 等待，直到condition满足（或者被中断）
+     * */
+    void waitFor(BooleanSupplier condition) throws InterruptedException;
+
+    /**
+     * 条件发生变化后调用，唤醒阻塞在当前策略上的线程（对于不会阻塞的策略是空操作）
+     * */
+    void signalAllWhenBlocking();
+}
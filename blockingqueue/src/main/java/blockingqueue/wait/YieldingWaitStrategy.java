@@ -0,0 +1,45 @@
+package blockingqueue.wait;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 先自旋一定次数，之后每次检查条件失败都调用Thread.yield让出cpu的等待策略
+ */
+public class YieldingWaitStrategy implements WaitStrategy {
+
+    private static final int DEFAULT_SPIN_TRIES = 100;
+
+    private final int spinTries;
+
+    public YieldingWaitStrategy() {
+        this(DEFAULT_SPIN_TRIES);
+    }
+
+    public YieldingWaitStrategy(int spinTries) {
+        this.spinTries = spinTries;
+    }
+
+    @Override
+    public void waitFor(BooleanSupplier condition) throws InterruptedException {
+        int counter = spinTries;
+        while (!condition.getAsBoolean()) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+
+            if (counter > 0) {
+                counter--;
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        // 让出cpu的线程会自己发现条件的变化，无需唤醒
+    }
+}
@@ -0,0 +1,64 @@
+package blockingqueue.jmh;
+
+import blockingqueue.MyBlockingQueue;
+import blockingqueue.array.MyArrayBlockingQueueV2;
+import blockingqueue.array.MyArrayBlockingQueueV3;
+import blockingqueue.array.MyArrayBlockingQueueV4;
+import blockingqueue.array.MyArrayBlockingQueueV5;
+import blockingqueue.array.MyArrayBlockingQueueV6;
+import blockingqueue.array.MyArrayBlockingQueueWithMyAQS;
+import blockingqueue.array.MyInstrumentedArrayBlockingQueue;
+import blockingqueue.array.MyParkingArrayBlockingQueue;
+import blockingqueue.array.MyResizableArrayBlockingQueue;
+import blockingqueue.jdk.JDKArrayBlockingQueue;
+import blockingqueue.jdk.JDKLinkedBlockingQueue;
+import blockingqueue.linked.MyLinkedBlockingQueue;
+import blockingqueue.priority.MyPriorityBlockingQueue;
+import blockingqueue.striped.MyStripedBlockingQueue;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 根据jmh的@Param参数创建对应的阻塞队列
+ * MyArrayBlockingQueueV1不是线程安全的，MyDelayQueue、MyMappedBlockingQueue对元素类型有额外要求，因此不在此列
+ */
+public class BlockingQueueFactory {
+
+    public static <E> MyBlockingQueue<E> create(String queueType, int capacity) {
+        switch (queueType) {
+            case "V2":
+                return new MyArrayBlockingQueueV2<>(capacity);
+            case "V3":
+                return new MyArrayBlockingQueueV3<>(capacity);
+            case "V4":
+                return new MyArrayBlockingQueueV4<>(capacity);
+            case "V5":
+                return new MyArrayBlockingQueueV5<>(capacity);
+            case "V6":
+                return new MyArrayBlockingQueueV6<>(capacity);
+            case "WithMyAQS":
+                return new MyArrayBlockingQueueWithMyAQS<>(capacity);
+            case "Instrumented":
+                return new MyInstrumentedArrayBlockingQueue<>(capacity);
+            case "Parking":
+                return new MyParkingArrayBlockingQueue<>(capacity);
+            case "Resizable":
+                return new MyResizableArrayBlockingQueue<>(capacity);
+            case "Linked":
+                return new MyLinkedBlockingQueue<>(capacity);
+            case "LinkedRecycle":
+                return new MyLinkedBlockingQueue<>(capacity, capacity);
+            case "Striped":
+                return new MyStripedBlockingQueue<>(capacity);
+            case "Priority":
+                return new MyPriorityBlockingQueue<>(capacity);
+            case "JDKArray":
+                return new JDKArrayBlockingQueue<>(capacity);
+            case "JDKLinked":
+                return new JDKLinkedBlockingQueue<>(capacity);
+            default:
+                throw new IllegalArgumentException("unknown queueType: " + queueType);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package blockingqueue.jmh;
+
+import blockingqueue.MyBlockingQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Control;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 阻塞队列交接延迟基准测试（p50/p99/p999）
+ * ping线程将消息放入pingQueue后等待pongQueue中的回复，pong线程从pingQueue取出消息后放入pongQueue
+ * jmh的SampleTime模式统计ping方法的耗时分布，即一次往返（两次交接）的延迟，单次交接延迟约为其一半
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockingQueueLatencyBenchmark {
+
+    @State(Scope.Group)
+    public static class PingPongState {
+
+        @Param({"V2", "V3", "V4", "V5", "V6", "WithMyAQS", "Instrumented", "Parking", "Resizable", "Linked", "LinkedRecycle", "Striped", "Priority", "JDKArray", "JDKLinked"})
+        public String queueType;
+
+        @Param({"5", "1024"})
+        public int capacity;
+
+        @Param({"16", "1024"})
+        public int payloadSize;
+
+        MyBlockingQueue<Payload> pingQueue;
+
+        MyBlockingQueue<Payload> pongQueue;
+
+        Payload payload;
+
+        final InterruptReleaser releaser = new InterruptReleaser();
+
+        @Setup(Level.Trial)
+        public void setup() {
+            pingQueue = BlockingQueueFactory.create(queueType, capacity);
+            pongQueue = BlockingQueueFactory.create(queueType, capacity);
+            payload = new Payload(payloadSize);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class WorkerState {
+
+        @Setup(Level.Iteration)
+        public void setup(PingPongState pingPongState) {
+            pingPongState.releaser.register();
+        }
+    }
+
+    @Benchmark
+    @Group("pingPong")
+    @GroupThreads(1)
+    public int ping(PingPongState state, WorkerState workerState, Control control) {
+        if (state.releaser.isReleased()) {
+            return 0;
+        }
+
+        int result;
+        try {
+            state.pingQueue.put(state.payload);
+            result = state.pongQueue.take().consume();
+        } catch (InterruptedException e) {
+            return 0;
+        }
+
+        if (control.stopMeasurement) {
+            state.releaser.release();
+        }
+        return result;
+    }
+
+    @Benchmark
+    @Group("pingPong")
+    @GroupThreads(1)
+    public void pong(PingPongState state, WorkerState workerState, Control control) {
+        if (state.releaser.isReleased()) {
+            return;
+        }
+
+        try {
+            state.pongQueue.put(state.pingQueue.take());
+        } catch (InterruptedException e) {
+            return;
+        }
+
+        if (control.stopMeasurement) {
+            state.releaser.release();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package blockingqueue.jmh;
+
+import blockingqueue.MyBlockingQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Control;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 阻塞队列吞吐量基准测试（ops/s）
+ * 通过不同的@Group区分生产者:消费者的线程数比例，通过@Param区分队列类型、队列容量、消息大小
+ * 每组中生产者的put和消费者的take分别统计，两者之和即为该组的总吞吐量
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BlockingQueueThroughputBenchmark {
+
+    @State(Scope.Group)
+    public static class QueueState {
+
+        @Param({"V2", "V3", "V4", "V5", "V6", "WithMyAQS", "Instrumented", "Parking", "Resizable", "Linked", "LinkedRecycle", "Striped", "Priority", "JDKArray", "JDKLinked"})
+        public String queueType;
+
+        @Param({"5", "1024"})
+        public int capacity;
+
+        @Param({"16", "1024"})
+        public int payloadSize;
+
+        MyBlockingQueue<Payload> queue;
+
+        final InterruptReleaser releaser = new InterruptReleaser();
+
+        @Setup(Level.Trial)
+        public void setup() {
+            queue = BlockingQueueFactory.create(queueType, capacity);
+        }
+    }
+
+    /**
+     * 每个生产者循环使用的消息数量（各个消息的优先级不同，避免优先级队列中所有元素都相等）
+     * */
+    private static final int PAYLOAD_POOL_SIZE = 64;
+
+    /**
+     * 生产者、消费者线程都需要在每次迭代前登记到releaser中，消费者不使用payload
+     * */
+    @State(Scope.Thread)
+    public static class WorkerState {
+
+        Payload[] payloads;
+
+        int payloadIndex;
+
+        @Setup(Level.Iteration)
+        public void setup(QueueState queueState) {
+            if (payloads == null) {
+                payloads = new Payload[PAYLOAD_POOL_SIZE];
+                for (int i = 0; i < PAYLOAD_POOL_SIZE; i++) {
+                    payloads[i] = new Payload(queueState.payloadSize);
+                }
+            }
+            queueState.releaser.register();
+        }
+
+        Payload nextPayload() {
+            Payload payload = payloads[payloadIndex];
+            payloadIndex = (payloadIndex + 1) & (PAYLOAD_POOL_SIZE - 1);
+            return payload;
+        }
+    }
+
+    //=================================================1:1======================================================
+    @Benchmark
+    @Group("p1c1")
+    @GroupThreads(1)
+    public void p1c1Put(QueueState queueState, WorkerState workerState, Control control) {
+        put(queueState, workerState, control);
+    }
+
+    @Benchmark
+    @Group("p1c1")
+    @GroupThreads(1)
+    public int p1c1Take(QueueState queueState, WorkerState workerState, Control control) {
+        return take(queueState, control);
+    }
+
+    //=================================================1:4======================================================
+    @Benchmark
+    @Group("p1c4")
+    @GroupThreads(1)
+    public void p1c4Put(QueueState queueState, WorkerState workerState, Control control) {
+        put(queueState, workerState, control);
+    }
+
+    @Benchmark
+    @Group("p1c4")
+    @GroupThreads(4)
+    public int p1c4Take(QueueState queueState, WorkerState workerState, Control control) {
+        return take(queueState, control);
+    }
+
+    //=================================================4:1======================================================
+    @Benchmark
+    @Group("p4c1")
+    @GroupThreads(4)
+    public void p4c1Put(QueueState queueState, WorkerState workerState, Control control) {
+        put(queueState, workerState, control);
+    }
+
+    @Benchmark
+    @Group("p4c1")
+    @GroupThreads(1)
+    public int p4c1Take(QueueState queueState, WorkerState workerState, Control control) {
+        return take(queueState, control);
+    }
+
+    //=================================================4:4======================================================
+    @Benchmark
+    @Group("p4c4")
+    @GroupThreads(4)
+    public void p4c4Put(QueueState queueState, WorkerState workerState, Control control) {
+        put(queueState, workerState, control);
+    }
+
+    @Benchmark
+    @Group("p4c4")
+    @GroupThreads(4)
+    public int p4c4Take(QueueState queueState, WorkerState workerState, Control control) {
+        return take(queueState, control);
+    }
+
+    private static void put(QueueState queueState, WorkerState workerState, Control control) {
+        if (queueState.releaser.isReleased()) {
+            return;
+        }
+
+        try {
+            queueState.queue.put(workerState.nextPayload());
+        } catch (InterruptedException e) {
+            // 测量已经结束，被其它线程中断后退出
+            return;
+        }
+
+        if (control.stopMeasurement) {
+            queueState.releaser.release();
+        }
+    }
+
+    private static int take(QueueState queueState, Control control) {
+        if (queueState.releaser.isReleased()) {
+            return 0;
+        }
+
+        int result;
+        try {
+            result = queueState.queue.take().consume();
+        } catch (InterruptedException e) {
+            // 测量已经结束，被其它线程中断后退出
+            return 0;
+        }
+
+        if (control.stopMeasurement) {
+            queueState.releaser.release();
+        }
+        return result;
+    }
+}
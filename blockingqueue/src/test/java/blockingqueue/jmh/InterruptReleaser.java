@@ -0,0 +1,51 @@
+package blockingqueue.jmh;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 释放jmh迭代结束时被阻塞在put/take中的线程
+ * 一次迭代结束时，先退出的一方（例如所有消费者）不会再调用take，另一方（生产者）就会永远阻塞在put中，导致jmh无法结束迭代
+ * 因此第一个发现测量结束（Control.stopMeasurement）的线程，会中断同组的其它线程，被阻塞的线程抛出InterruptedException后退出
+ * 注意：jmh在测量结束后，会令先结束的线程继续调用基准测试方法直到所有线程都结束（warmdown），
+ * 因此基准测试方法在调用put/take之前需要先判断isReleased，已释放时直接返回，避免再次阻塞
+ */
+public class InterruptReleaser {
+
+    private final Set<Thread> workers = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean released;
+
+    /**
+     * 每次迭代开始前调用，登记当前线程并清除上一次迭代遗留的中断标识
+     * */
+    public void register() {
+        Thread.interrupted();
+        released = false;
+        workers.add(Thread.currentThread());
+    }
+
+    public boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * 测量结束后调用，中断同组的其它线程（只执行一次）
+     * */
+    public void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+
+        Thread current = Thread.currentThread();
+        for (Thread worker : workers) {
+            if (worker != current) {
+                worker.interrupt();
+            }
+        }
+    }
+}
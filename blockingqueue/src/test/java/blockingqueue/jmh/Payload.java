@@ -0,0 +1,38 @@
+package blockingqueue.jmh;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 基准测试中在队列里传递的消息
+ * 实现Comparable是为了能够放入优先级队列中，按照构造时随机生成的优先级排序
+ * 优先级在构造后不可变：同一个消息对象可能被多次放入队列，修改已入堆元素的优先级会破坏堆的有序性
+ */
+public class Payload implements Comparable<Payload> {
+
+    private final byte[] data;
+
+    /**
+     * 优先级（构造时随机生成），令优先级队列的siftUp/siftDown和真实场景一样需要移动元素
+     * */
+    private final long priority;
+
+    public Payload(int payloadSize) {
+        this.data = new byte[payloadSize];
+        this.priority = ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * 消费者读取消息内容（读取首尾字节，模拟对消息的访问）
+     * */
+    public int consume() {
+        return data.length == 0 ? 0 : data[0] + data[data.length - 1];
+    }
+
+    @Override
+    public int compareTo(Payload other) {
+        return Long.compare(this.priority, other.priority);
+    }
+}
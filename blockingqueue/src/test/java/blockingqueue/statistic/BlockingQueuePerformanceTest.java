@@ -1,81 +1,43 @@
 package blockingqueue.statistic;
 
-import blockingqueue.MyBlockingQueue;
-import blockingqueue.array.MyArrayBlockingQueueWithMyAQS;
-import blockingqueue.util.BlockingQueueTestUtil;
+import blockingqueue.jmh.BlockingQueueLatencyBenchmark;
+import blockingqueue.jmh.BlockingQueueThroughputBenchmark;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
 
 /**
  * @author xiongyx
  * @date 2021/3/25
+ *
+ * 阻塞队列性能测试（基于jmh）
+ * 1. BlockingQueueThroughputBenchmark：不同生产者:消费者比例、队列容量、消息大小下的吞吐量（ops/s）
+ * 2. BlockingQueueLatencyBenchmark：交接延迟的p50/p99/p999
+ * 同时开启GC profiler，统计每次操作的对象分配量（gc.alloc.rate.norm）
+ *
+ * 命令行参数与jmh一致，会覆盖下面的默认配置，例如只测试v5版本与jdk的队列：
+ * -p queueType=V5,JDKArray,JDKLinked -p capacity=5
  */
 public class BlockingQueuePerformanceTest {
 
-    /**
-     * 队列容量
-     * */
-    private static final int QUEUE_CAPACITY = 5;
-
-    /**
-     * 并发线程数（消费者 + 生产者 = 2 * WORKER_NUM）
-     * */
-    private static final int WORKER_NUM = 100;
-
-    /**
-     * 单次测试中每个线程访问队列的次数
-     * */
-    private static final int PER_WORKER_PROCESS_NUM = 1000;
-
-    /**
-     * 重复执行的次数
-     * */
-    private static final int REPEAT_TIME = 20;
-
-
-    public static void main(String[] args) throws InterruptedException {
-//        {
-//            MyBlockingQueue<Integer> myArrayBlockingQueueV2 = new MyArrayBlockingQueueV2<>(QUEUE_CAPACITY);
-//            long avgCostTimeV2 = BlockingQueueTestUtil.statisticBlockingQueueRuntime(myArrayBlockingQueueV2, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
-//            System.out.println(costTimeLog(MyArrayBlockingQueueV2.class, avgCostTimeV2));
-//        }
-
-//        {
-//            MyBlockingQueue<Integer> myArrayBlockingQueueV3 = new MyArrayBlockingQueueV3<>(QUEUE_CAPACITY);
-//            long avgCostTimeV3 = BlockingQueueTestUtil.statisticBlockingQueueRuntime(myArrayBlockingQueueV3, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
-//            System.out.println(costTimeLog(MyArrayBlockingQueueV3.class, avgCostTimeV3));
-//        }
-//
-//        {
-//            MyBlockingQueue<Integer> myArrayBlockingQueueV4 = new MyArrayBlockingQueueV4<>(QUEUE_CAPACITY);
-//            long avgCostTimeV4 = BlockingQueueTestUtil.statisticBlockingQueueRuntime(myArrayBlockingQueueV4, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
-//            System.out.println(costTimeLog(MyArrayBlockingQueueV4.class, avgCostTimeV4));
-//        }
-//
-//        {
-//            MyBlockingQueue<Integer> myArrayBlockingQueueV5 = new MyArrayBlockingQueueV5<>(QUEUE_CAPACITY);
-//            long avgCostTimeV5 = BlockingQueueTestUtil.statisticBlockingQueueRuntime(myArrayBlockingQueueV5, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
-//            System.out.println(costTimeLog(MyArrayBlockingQueueV5.class, avgCostTimeV5));
-//        }
-//
-//        {
-//            MyBlockingQueue<Integer> jdkArrayBlockingQueue = new JDKArrayBlockingQueue<>(QUEUE_CAPACITY);
-//            long avgCostTimeJDK = BlockingQueueTestUtil.statisticBlockingQueueRuntime(jdkArrayBlockingQueue, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
-//            System.out.println(costTimeLog(JDKArrayBlockingQueue.class, avgCostTimeJDK));
-//        }
-//
-//        {
-//            MyBlockingQueue<Integer> jdkLinkedBlockingQueue = new JDKLinkedBlockingQueue<>(QUEUE_CAPACITY);
-//            long avgCostTimeJDK = BlockingQueueTestUtil.statisticBlockingQueueRuntime(jdkLinkedBlockingQueue, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
-//            System.out.println(costTimeLog(JDKLinkedBlockingQueue.class, avgCostTimeJDK));
-//        }
-
-        {
-            MyBlockingQueue<Integer> myArrayBlockingQueueWithMyAQS = new MyArrayBlockingQueueWithMyAQS<>(QUEUE_CAPACITY);
-            long avgCostTimeMyAQS = BlockingQueueTestUtil.statisticBlockingQueueRuntime(myArrayBlockingQueueWithMyAQS, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
-            System.out.println(costTimeLog(MyArrayBlockingQueueWithMyAQS.class, avgCostTimeMyAQS));
-        }
-    }
-
-    private static String costTimeLog(Class blockQueueCLass,long costTime){
-        return blockQueueCLass.getSimpleName() + " avgCostTime=" + costTime + "ms";
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(BlockingQueueThroughputBenchmark.class.getName())
+                .include(BlockingQueueLatencyBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(options).run();
     }
 }
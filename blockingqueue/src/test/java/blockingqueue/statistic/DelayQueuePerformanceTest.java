@@ -0,0 +1,130 @@
+package blockingqueue.statistic;
+
+import blockingqueue.MyBlockingQueue;
+import blockingqueue.delay.MyDelayQueue;
+import blockingqueue.jdk.JDKDelayQueue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 延迟队列在大量消费者线程下与jdk的DelayQueue的性能对比
+ * 统计整体耗时，以及元素从到期到被消费者取出之间的平均延迟
+ */
+public class DelayQueuePerformanceTest {
+
+    /**
+     * 生产者线程数
+     * */
+    private static final int PRODUCER_NUM = 10;
+
+    /**
+     * 消费者线程数
+     * */
+    private static final int CONSUMER_NUM = 200;
+
+    /**
+     * 每个生产者生产的元素个数
+     * */
+    private static final int PER_PRODUCER_NUM = 2000;
+
+    /**
+     * 元素的最大延迟时间（毫秒）
+     * */
+    private static final int MAX_DELAY_MILLIS = 50;
+
+    /**
+     * 重复执行的次数
+     * */
+    private static final int REPEAT_TIME = 10;
+
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(PRODUCER_NUM + CONSUMER_NUM);
+
+        // 预热
+        oneTurnExecute(executorService, new MyDelayQueue<>());
+        oneTurnExecute(executorService, new JDKDelayQueue<>());
+
+        for (int i = 0; i < REPEAT_TIME; i++) {
+            System.out.println("MyDelayQueue " + oneTurnExecute(executorService, new MyDelayQueue<>()));
+            System.out.println("JDKDelayQueue " + oneTurnExecute(executorService, new JDKDelayQueue<>()));
+        }
+
+        executorService.shutdown();
+    }
+
+    private static String oneTurnExecute(ExecutorService executorService, MyBlockingQueue<DelayedElement> blockingQueue) throws InterruptedException {
+        int totalNum = PRODUCER_NUM * PER_PRODUCER_NUM;
+        CountDownLatch countDownLatch = new CountDownLatch(PRODUCER_NUM + CONSUMER_NUM);
+        AtomicLong totalLateNanos = new AtomicLong();
+
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < PRODUCER_NUM; i++) {
+            executorService.execute(() -> {
+                try {
+                    for (int j = 0; j < PER_PRODUCER_NUM; j++) {
+                        long delayNanos = TimeUnit.MILLISECONDS.toNanos(ThreadLocalRandom.current().nextInt(MAX_DELAY_MILLIS));
+                        blockingQueue.put(new DelayedElement(System.nanoTime() + delayNanos));
+                    }
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                countDownLatch.countDown();
+            });
+        }
+
+        for (int i = 0; i < CONSUMER_NUM; i++) {
+            // 最后一个消费者负责消费除不尽的部分
+            int consumeNum = totalNum / CONSUMER_NUM + (i == CONSUMER_NUM - 1 ? totalNum % CONSUMER_NUM : 0);
+            executorService.execute(() -> {
+                try {
+                    long lateNanos = 0;
+                    for (int j = 0; j < consumeNum; j++) {
+                        DelayedElement element = blockingQueue.take();
+                        lateNanos += System.nanoTime() - element.triggerNanos;
+                    }
+                    totalLateNanos.addAndGet(lateNanos);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                countDownLatch.countDown();
+            });
+        }
+
+        countDownLatch.await();
+        long costTime = System.currentTimeMillis() - startTime;
+
+        if (!blockingQueue.isEmpty()) {
+            throw new RuntimeException("delay queue not empty");
+        }
+
+        return "costTime=" + costTime + "ms avgLate=" + (totalLateNanos.get() / totalNum / 1000) + "us";
+    }
+
+    private static class DelayedElement implements Delayed {
+
+        private final long triggerNanos;
+
+        DelayedElement(long triggerNanos) {
+            this.triggerNanos = triggerNanos;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(triggerNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(triggerNanos, ((DelayedElement) other).triggerNanos);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package blockingqueue.statistic;
+
+import blockingqueue.MyBlockingQueue;
+import blockingqueue.array.MyArrayBlockingQueueV5;
+import blockingqueue.ring.MyEventRingBuffer;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 预分配事件对象的环形队列：多生产者多消费者下的正确性校验，
+ * 以及与每次put都新建消息对象的MyArrayBlockingQueueV5之间的吞吐量、对象分配字节数对比
+ */
+public class EventRingBufferPerformanceTest {
+
+    /**
+     * 队列容量
+     * */
+    private static final int QUEUE_CAPACITY = 1024;
+
+    /**
+     * 预热的消息数
+     * */
+    private static final int WARMUP_MESSAGE_NUM = 2_000_000;
+
+    /**
+     * 统计的消息数
+     * */
+    private static final int MESSAGE_NUM = 10_000_000;
+
+    /**
+     * 行情消息（可变对象，在环形队列中被循环复用）
+     * */
+    private static class MarketDataEvent {
+        long instrumentId;
+        long price;
+        long quantity;
+        long timestamp;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        checkConcurrent();
+
+        // 预热，令相关方法完成编译
+        runRingBuffer(WARMUP_MESSAGE_NUM);
+        runV5(WARMUP_MESSAGE_NUM);
+
+        long[] ringResult = runRingBuffer(MESSAGE_NUM);
+        System.out.println("MyEventRingBuffer costTime=" + ringResult[0] + "ms allocatedBytes/op=" + String.format("%.3f", (double) ringResult[1] / MESSAGE_NUM));
+
+        long[] v5Result = runV5(MESSAGE_NUM);
+        System.out.println("MyArrayBlockingQueueV5 costTime=" + v5Result[0] + "ms allocatedBytes/op=" + String.format("%.3f", (double) v5Result[1] / MESSAGE_NUM));
+
+        // 只有线程真正进入等待时，条件变量才会分配等待节点，平均到每条消息上应当远小于1个字节
+        if ((double) ringResult[1] / MESSAGE_NUM >= 1) {
+            throw new RuntimeException("MyEventRingBuffer allocated too much: " + ringResult[1]);
+        }
+    }
+
+    /**
+     * 多个生产者、多个消费者，每条消息恰好被消费一次
+     * */
+    private static void checkConcurrent() throws InterruptedException {
+        int producerNum = 4;
+        int consumerNum = 4;
+        int perProducerNum = 200_000;
+        MyEventRingBuffer<MarketDataEvent> ringBuffer = new MyEventRingBuffer<>(16, MarketDataEvent::new);
+
+        AtomicLong receivedSum = new AtomicLong();
+        CountDownLatch countDownLatch = new CountDownLatch(producerNum + consumerNum);
+        for (int i = 0; i < producerNum; i++) {
+            new Thread(() -> {
+                try {
+                    for (int j = 0; j < perProducerNum; j++) {
+                        long sequence = ringBuffer.claim();
+                        ringBuffer.get(sequence).price = j;
+                        ringBuffer.publish(sequence);
+                    }
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                countDownLatch.countDown();
+            }).start();
+        }
+        for (int i = 0; i < consumerNum; i++) {
+            new Thread(() -> {
+                long sum = 0;
+                try {
+                    for (int j = 0; j < producerNum * perProducerNum / consumerNum; j++) {
+                        long sequence = ringBuffer.read();
+                        sum += ringBuffer.get(sequence).price;
+                        ringBuffer.release(sequence);
+                    }
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                receivedSum.addAndGet(sum);
+                countDownLatch.countDown();
+            }).start();
+        }
+        countDownLatch.await();
+
+        long expectSum = (long) producerNum * perProducerNum * (perProducerNum - 1) / 2;
+        if (receivedSum.get() != expectSum) {
+            throw new RuntimeException("checkConcurrent error: expect=" + expectSum + " actual=" + receivedSum.get());
+        }
+    }
+
+    /**
+     * @return [耗时, 生产者和消费者线程分配的字节数]
+     * */
+    private static long[] runRingBuffer(int messageNum) throws InterruptedException {
+        MyEventRingBuffer<MarketDataEvent> ringBuffer = new MyEventRingBuffer<>(QUEUE_CAPACITY, MarketDataEvent::new);
+        return runProducerConsumer(
+                () -> {
+                    for (int i = 0; i < messageNum; i++) {
+                        long sequence = ringBuffer.claim();
+                        MarketDataEvent event = ringBuffer.get(sequence);
+                        event.instrumentId = i & 1023;
+                        event.price = i;
+                        event.quantity = 100;
+                        event.timestamp = i;
+                        ringBuffer.publish(sequence);
+                    }
+                },
+                () -> {
+                    long sum = 0;
+                    for (int i = 0; i < messageNum; i++) {
+                        long sequence = ringBuffer.read();
+                        sum += ringBuffer.get(sequence).price;
+                        ringBuffer.release(sequence);
+                    }
+                    return sum;
+                },
+                messageNum);
+    }
+
+    private static long[] runV5(int messageNum) throws InterruptedException {
+        MyBlockingQueue<MarketDataEvent> queue = new MyArrayBlockingQueueV5<>(QUEUE_CAPACITY);
+        return runProducerConsumer(
+                () -> {
+                    for (int i = 0; i < messageNum; i++) {
+                        MarketDataEvent event = new MarketDataEvent();
+                        event.instrumentId = i & 1023;
+                        event.price = i;
+                        event.quantity = 100;
+                        event.timestamp = i;
+                        queue.put(event);
+                    }
+                },
+                () -> {
+                    long sum = 0;
+                    for (int i = 0; i < messageNum; i++) {
+                        sum += queue.take().price;
+                    }
+                    return sum;
+                },
+                messageNum);
+    }
+
+    private interface Producer {
+        void produce() throws InterruptedException;
+    }
+
+    private interface Consumer {
+        long consume() throws InterruptedException;
+    }
+
+    private static long[] runProducerConsumer(Producer producer, Consumer consumer, int messageNum) throws InterruptedException {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] allocatedBytes = new long[2];
+        long[] sum = new long[1];
+
+        Thread producerThread = new Thread(() -> {
+            long before = threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            try {
+                producer.produce();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            allocatedBytes[0] = threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+        });
+        Thread consumerThread = new Thread(() -> {
+            long before = threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            try {
+                sum[0] = consumer.consume();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            allocatedBytes[1] = threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+        });
+
+        long startTime = System.currentTimeMillis();
+        producerThread.start();
+        consumerThread.start();
+        producerThread.join();
+        consumerThread.join();
+        long costTime = System.currentTimeMillis() - startTime;
+
+        if (sum[0] != (long) messageNum * (messageNum - 1) / 2) {
+            throw new RuntimeException("runProducerConsumer error: sum=" + sum[0]);
+        }
+        return new long[]{costTime, allocatedBytes[0] + allocatedBytes[1]};
+    }
+}
@@ -0,0 +1,131 @@
+package blockingqueue.statistic;
+
+import blockingqueue.MyBlockingQueue;
+import blockingqueue.array.MyArrayBlockingQueueV5;
+import blockingqueue.array.MyInstrumentedArrayBlockingQueue;
+import blockingqueue.metrics.QueueMetrics;
+import blockingqueue.util.BlockingQueueTestUtil;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 带运行指标统计的阻塞队列与v5版本的性能对比（统计本身的开销），以及慢消费者/慢生产者两种场景下的指标输出
+ */
+public class InstrumentedArrayBlockingQueuePerformanceTest {
+
+    /**
+     * 队列容量
+     * */
+    private static final int QUEUE_CAPACITY = 5;
+
+    /**
+     * 并发线程数（消费者 + 生产者 = 2 * WORKER_NUM）
+     * */
+    private static final int WORKER_NUM = 100;
+
+    /**
+     * 单次测试中每个线程访问队列的次数
+     * */
+    private static final int PER_WORKER_PROCESS_NUM = 1000;
+
+    /**
+     * 重复执行的次数
+     * */
+    private static final int REPEAT_TIME = 20;
+
+    /**
+     * 指标场景中，慢的一方每处理一个元素之前的耗时
+     * */
+    private static final long SLOW_SIDE_NANOS = 50_000L;
+
+    /**
+     * 指标场景中，每个线程处理的元素个数
+     * */
+    private static final int SCENE_PROCESS_NUM = 2000;
+
+    public static void main(String[] args) throws InterruptedException {
+        {
+            MyBlockingQueue<Integer> myArrayBlockingQueueV5 = new MyArrayBlockingQueueV5<>(QUEUE_CAPACITY);
+            long avgCostTime = BlockingQueueTestUtil.statisticBlockingQueueRuntime(myArrayBlockingQueueV5, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
+            System.out.println("MyArrayBlockingQueueV5 avgCostTime=" + avgCostTime + "ms");
+        }
+
+        {
+            MyInstrumentedArrayBlockingQueue<Integer> instrumentedQueue = new MyInstrumentedArrayBlockingQueue<>(QUEUE_CAPACITY);
+            long avgCostTime = BlockingQueueTestUtil.statisticBlockingQueueRuntime(instrumentedQueue, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
+            System.out.println("MyInstrumentedArrayBlockingQueue avgCostTime=" + avgCostTime + "ms");
+
+            // 预热 + REPEAT_TIME次，每次WORKER_NUM * PER_WORKER_PROCESS_NUM个元素
+            long expectCount = (long) (REPEAT_TIME + 1) * WORKER_NUM * PER_WORKER_PROCESS_NUM;
+            QueueMetrics.Snapshot snapshot = instrumentedQueue.getMetrics().snapshot();
+            System.out.println(snapshot);
+            if (snapshot.getEnqueueCount() != expectCount || snapshot.getDequeueCount() != expectCount) {
+                throw new RuntimeException("metrics count error: expect=" + expectCount);
+            }
+        }
+
+        // 消费者慢：队列经常是满的，生产者在notFull上阻塞的时间远大于消费者在notEmpty上阻塞的时间
+        QueueMetrics.Snapshot slowConsumer = runScene("slow consumer", 0, SLOW_SIDE_NANOS);
+        if (slowConsumer.getPutBlockedNanos() <= slowConsumer.getTakeBlockedNanos()) {
+            throw new RuntimeException("slow consumer scene error: " + slowConsumer);
+        }
+
+        // 生产者慢：队列经常是空的，消费者在notEmpty上阻塞的时间远大于生产者在notFull上阻塞的时间
+        QueueMetrics.Snapshot slowProducer = runScene("slow producer", SLOW_SIDE_NANOS, 0);
+        if (slowProducer.getTakeBlockedNanos() <= slowProducer.getPutBlockedNanos()) {
+            throw new RuntimeException("slow producer scene error: " + slowProducer);
+        }
+    }
+
+    private static QueueMetrics.Snapshot runScene(String sceneName, long produceCostNanos, long consumeCostNanos) throws InterruptedException {
+        int workerNum = 4;
+        MyInstrumentedArrayBlockingQueue<Integer> queue = new MyInstrumentedArrayBlockingQueue<>(QUEUE_CAPACITY);
+        ExecutorService executorService = Executors.newFixedThreadPool(workerNum * 2);
+        CountDownLatch countDownLatch = new CountDownLatch(workerNum * 2);
+
+        QueueMetrics.Snapshot start = queue.getMetrics().snapshot();
+        for (int i = 0; i < workerNum; i++) {
+            executorService.execute(() -> {
+                try {
+                    for (int j = 0; j < SCENE_PROCESS_NUM; j++) {
+                        if (produceCostNanos > 0) {
+                            LockSupport.parkNanos(produceCostNanos);
+                        }
+                        queue.put(j);
+                    }
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                countDownLatch.countDown();
+            });
+
+            executorService.execute(() -> {
+                try {
+                    for (int j = 0; j < SCENE_PROCESS_NUM; j++) {
+                        queue.take();
+                        if (consumeCostNanos > 0) {
+                            LockSupport.parkNanos(consumeCostNanos);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                countDownLatch.countDown();
+            });
+        }
+        countDownLatch.await();
+        executorService.shutdown();
+
+        QueueMetrics.Snapshot end = queue.getMetrics().snapshot();
+        System.out.println(sceneName + ": " + end
+                + " enqueueRate=" + (long) end.enqueueRate(start) + "/s"
+                + " dequeueRate=" + (long) end.dequeueRate(start) + "/s");
+        return end;
+    }
+}
@@ -0,0 +1,59 @@
+package blockingqueue.statistic;
+
+import blockingqueue.MyBlockingQueue;
+import blockingqueue.jdk.JDKLinkedBlockingQueue;
+import blockingqueue.linked.MyLinkedBlockingQueue;
+import blockingqueue.util.BlockingQueueTestUtil;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 链表阻塞队列（是否开启节点回收）与jdk的LinkedBlockingQueue的性能对比
+ */
+public class LinkedBlockingQueuePerformanceTest {
+
+    /**
+     * 队列容量
+     * */
+    private static final int QUEUE_CAPACITY = 5;
+
+    /**
+     * 并发线程数（消费者 + 生产者 = 2 * WORKER_NUM）
+     * */
+    private static final int WORKER_NUM = 100;
+
+    /**
+     * 单次测试中每个线程访问队列的次数
+     * */
+    private static final int PER_WORKER_PROCESS_NUM = 1000;
+
+    /**
+     * 重复执行的次数
+     * */
+    private static final int REPEAT_TIME = 20;
+
+    public static void main(String[] args) throws InterruptedException {
+        {
+            MyBlockingQueue<Integer> myLinkedBlockingQueue = new MyLinkedBlockingQueue<>(QUEUE_CAPACITY);
+            long avgCostTime = BlockingQueueTestUtil.statisticBlockingQueueRuntime(myLinkedBlockingQueue, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
+            System.out.println(costTimeLog("MyLinkedBlockingQueue", avgCostTime));
+        }
+
+        {
+            MyBlockingQueue<Integer> myLinkedBlockingQueueRecycle = new MyLinkedBlockingQueue<>(QUEUE_CAPACITY, QUEUE_CAPACITY);
+            long avgCostTime = BlockingQueueTestUtil.statisticBlockingQueueRuntime(myLinkedBlockingQueueRecycle, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
+            System.out.println(costTimeLog("MyLinkedBlockingQueue(recycle)", avgCostTime));
+        }
+
+        {
+            MyBlockingQueue<Integer> jdkLinkedBlockingQueue = new JDKLinkedBlockingQueue<>(QUEUE_CAPACITY);
+            long avgCostTime = BlockingQueueTestUtil.statisticBlockingQueueRuntime(jdkLinkedBlockingQueue, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
+            System.out.println(costTimeLog("JDKLinkedBlockingQueue", avgCostTime));
+        }
+    }
+
+    private static String costTimeLog(String blockQueueName, long costTime){
+        return blockQueueName + " avgCostTime=" + costTime + "ms";
+    }
+}
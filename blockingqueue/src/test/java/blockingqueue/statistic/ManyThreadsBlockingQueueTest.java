@@ -0,0 +1,114 @@
+package blockingqueue.statistic;
+
+import blockingqueue.MyBlockingQueue;
+import blockingqueue.array.MyArrayBlockingQueueV2;
+import blockingqueue.array.MyArrayBlockingQueueV5;
+import blockingqueue.array.MyParkingArrayBlockingQueue;
+import blockingqueue.jdk.JDKArrayBlockingQueue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 上万个生产者、消费者线程同时访问阻塞队列时的性能对比
+ * 分别使用平台线程和虚拟线程执行；虚拟线程需要运行在jdk21及以上的版本中
+ * （工程按jdk8编译，因此通过反射调用Thread.ofVirtual，运行在低版本jdk时只执行平台线程的测试）
+ */
+public class ManyThreadsBlockingQueueTest {
+
+    /**
+     * 队列容量
+     * */
+    private static final int QUEUE_CAPACITY = 1024;
+
+    /**
+     * 生产者、消费者线程数（总线程数 = 2 * WORKER_NUM）
+     * */
+    private static final int WORKER_NUM = 5000;
+
+    /**
+     * 每个线程访问队列的次数
+     * */
+    private static final int PER_WORKER_PROCESS_NUM = 200;
+
+    public static void main(String[] args) throws InterruptedException {
+        ThreadFactory platformThreadFactory = Executors.defaultThreadFactory();
+        ThreadFactory virtualThreadFactory = virtualThreadFactory();
+        if (virtualThreadFactory == null) {
+            System.out.println("virtual thread is not supported by java " + System.getProperty("java.version") + ", only run platform thread");
+        }
+
+        testQueue("MyArrayBlockingQueueV2(synchronized)", () -> new MyArrayBlockingQueueV2<>(QUEUE_CAPACITY), platformThreadFactory, virtualThreadFactory);
+        testQueue("MyArrayBlockingQueueV5", () -> new MyArrayBlockingQueueV5<>(QUEUE_CAPACITY), platformThreadFactory, virtualThreadFactory);
+        testQueue("JDKArrayBlockingQueue", () -> new JDKArrayBlockingQueue<>(QUEUE_CAPACITY), platformThreadFactory, virtualThreadFactory);
+        testQueue("MyParkingArrayBlockingQueue", () -> new MyParkingArrayBlockingQueue<>(QUEUE_CAPACITY), platformThreadFactory, virtualThreadFactory);
+    }
+
+    private static void testQueue(String queueName, Supplier<MyBlockingQueue<Integer>> queueSupplier,
+                                  ThreadFactory platformThreadFactory, ThreadFactory virtualThreadFactory) throws InterruptedException {
+        // 第一次执行时存在一定的初始化开销，不进行统计
+        oneTurnExecute(queueSupplier.get(), platformThreadFactory);
+        long platformCostTime = oneTurnExecute(queueSupplier.get(), platformThreadFactory);
+        String log = queueName + " platformThread costTime=" + platformCostTime + "ms";
+
+        if (virtualThreadFactory != null) {
+            oneTurnExecute(queueSupplier.get(), virtualThreadFactory);
+            long virtualCostTime = oneTurnExecute(queueSupplier.get(), virtualThreadFactory);
+            log += " virtualThread costTime=" + virtualCostTime + "ms";
+        }
+        System.out.println(log);
+    }
+
+    private static long oneTurnExecute(MyBlockingQueue<Integer> blockingQueue, ThreadFactory threadFactory) throws InterruptedException {
+        long startTime = System.currentTimeMillis();
+        CountDownLatch countDownLatch = new CountDownLatch(WORKER_NUM * 2);
+
+        for (int i = 0; i < WORKER_NUM; i++) {
+            threadFactory.newThread(() -> {
+                try {
+                    for (int j = 0; j < PER_WORKER_PROCESS_NUM; j++) {
+                        blockingQueue.put(j);
+                    }
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                countDownLatch.countDown();
+            }).start();
+
+            threadFactory.newThread(() -> {
+                try {
+                    for (int j = 0; j < PER_WORKER_PROCESS_NUM; j++) {
+                        blockingQueue.take();
+                    }
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                countDownLatch.countDown();
+            }).start();
+        }
+        countDownLatch.await();
+
+        if (!blockingQueue.isEmpty()) {
+            throw new RuntimeException("oneTurnExecute error: queue not empty");
+        }
+        return System.currentTimeMillis() - startTime;
+    }
+
+    /**
+     * 通过反射获取虚拟线程的ThreadFactory（Thread.ofVirtual().factory()）
+     * @return 当前jdk不支持虚拟线程时返回null
+     * */
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package blockingqueue.statistic;
+
+import blockingqueue.mapped.MyMappedBlockingQueue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 内存映射持久化阻塞队列的重启恢复校验（包括写游标指向未落盘数据时的截断）、不同大小的记录互相等待空间时的唤醒，
+ * 以及不同记录大小、不同刷盘模式下的吞吐量
+ */
+public class MappedBlockingQueuePerformanceTest {
+
+    private static final int SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    private static final int SEGMENT_COUNT = 4;
+
+    /**
+     * 生产者、消费者线程数
+     * */
+    private static final int WORKER_NUM = 4;
+
+    /**
+     * 单次测试中每个线程读写的记录数
+     * */
+    private static final int PER_WORKER_PROCESS_NUM = 50000;
+
+    /**
+     * SYNC_BATCH模式下每批刷盘的记录数
+     * */
+    private static final int FLUSH_BATCH_SIZE = 1000;
+
+    public static void main(String[] args) throws Exception {
+        checkRecover();
+        checkRecoverCorrupted(-4);
+        checkRecoverCorrupted(-100);
+        checkRecoverCorrupted(Integer.MAX_VALUE);
+        checkRecoverCorrupted(300);
+        checkWakeSmallerRecord();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(WORKER_NUM * 2);
+        for (int recordSize : new int[]{16, 256, 4096}) {
+            for (MyMappedBlockingQueue.FlushMode flushMode : MyMappedBlockingQueue.FlushMode.values()) {
+                File directory = Files.createTempDirectory("mapped-queue").toFile();
+                try (MyMappedBlockingQueue queue = new MyMappedBlockingQueue(directory, SEGMENT_SIZE, SEGMENT_COUNT, flushMode, FLUSH_BATCH_SIZE)) {
+                    // 第一次执行时存在一定的初始化开销，不进行统计
+                    oneTurnExecute(executorService, queue, recordSize);
+                    long costTime = oneTurnExecute(executorService, queue, recordSize);
+
+                    long recordNum = (long) WORKER_NUM * PER_WORKER_PROCESS_NUM;
+                    System.out.println("recordSize=" + recordSize + " flushMode=" + flushMode
+                            + " costTime=" + costTime + "ms"
+                            + " ops/s=" + recordNum * 1000 / Math.max(costTime, 1)
+                            + " MB/s=" + recordNum * recordSize * 1000 / Math.max(costTime, 1) / 1024 / 1024);
+                } finally {
+                    deleteDirectory(directory);
+                }
+            }
+        }
+        executorService.shutdown();
+    }
+
+    /**
+     * 写入若干条记录并消费一部分后关闭队列，重新打开后剩余的记录依然按顺序存在
+     * */
+    private static void checkRecover() throws Exception {
+        File directory = Files.createTempDirectory("mapped-queue").toFile();
+        try {
+            int segmentSize = 1024;
+            try (MyMappedBlockingQueue queue = new MyMappedBlockingQueue(directory, segmentSize, 2, MyMappedBlockingQueue.FlushMode.SYNC_BATCH, 1)) {
+                // 写入、消费多轮，令读写游标多次绕过环形缓冲区的首尾
+                for (int i = 0; i < 100; i++) {
+                    queue.put(record(i));
+                    checkRecord(queue.take(), i);
+                }
+                for (int i = 100; i < 110; i++) {
+                    queue.put(record(i));
+                }
+                checkRecord(queue.take(), 100);
+            }
+
+            try (MyMappedBlockingQueue queue = new MyMappedBlockingQueue(directory, segmentSize, 2, MyMappedBlockingQueue.FlushMode.SYNC_BATCH, 1)) {
+                if (queue.size() != 9) {
+                    throw new RuntimeException("checkRecover error: size=" + queue.size());
+                }
+                for (int i = 101; i < 110; i++) {
+                    checkRecord(queue.take(), i);
+                }
+            }
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    /**
+     * 模拟掉电：头文件中的写游标已经落盘，而其后的记录没有落盘（记录长度处是非法或上一圈残留的值）
+     * 重新打开时需要在该位置截断写游标，之前的记录依然完整，并且可以继续读写
+     * */
+    private static void checkRecoverCorrupted(int garbageLength) throws Exception {
+        File directory = Files.createTempDirectory("mapped-queue").toFile();
+        try {
+            int segmentSize = 1024;
+            long writePosition;
+            try (MyMappedBlockingQueue queue = new MyMappedBlockingQueue(directory, segmentSize, 2, MyMappedBlockingQueue.FlushMode.SYNC_BATCH, 1)) {
+                for (int i = 0; i < 3; i++) {
+                    queue.put(record(i));
+                }
+            }
+
+            // 头文件布局：写游标位于偏移16
+            try (RandomAccessFile header = new RandomAccessFile(new File(directory, "queue.header"), "rw")) {
+                header.seek(16);
+                writePosition = header.readLong();
+                header.seek(16);
+                header.writeLong(writePosition + 200);
+            }
+            try (RandomAccessFile segment = new RandomAccessFile(new File(directory, "segment-0000.dat"), "rw")) {
+                segment.seek(writePosition);
+                segment.writeInt(garbageLength);
+            }
+
+            try (MyMappedBlockingQueue queue = new MyMappedBlockingQueue(directory, segmentSize, 2, MyMappedBlockingQueue.FlushMode.SYNC_BATCH, 1)) {
+                if (queue.size() != 3) {
+                    throw new RuntimeException("checkRecoverCorrupted error: garbageLength=" + garbageLength + " size=" + queue.size());
+                }
+                queue.put(record(3));
+                for (int i = 0; i < 4; i++) {
+                    checkRecord(queue.take(), i);
+                }
+            }
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    /**
+     * 较大的记录先开始等待空间，较小的记录后开始等待；一次take腾出的空间只够放下较小的记录时，较小的记录不能一直阻塞
+     * */
+    private static void checkWakeSmallerRecord() throws Exception {
+        File directory = Files.createTempDirectory("mapped-queue").toFile();
+        try (MyMappedBlockingQueue queue = new MyMappedBlockingQueue(directory, 1024, 2, MyMappedBlockingQueue.FlushMode.NONE, 1)) {
+            // 每条记录占用100字节，每个段放10条（段尾剩余24字节），写满后总共只剩24字节
+            for (int i = 0; i < 20; i++) {
+                queue.put(new byte[96]);
+            }
+
+            Thread largeProducer = new Thread(() -> putQuietly(queue, new byte[500]));
+            largeProducer.start();
+            waitUntilBlocked(largeProducer);
+            Thread smallProducer = new Thread(() -> putQuietly(queue, new byte[30]));
+            smallProducer.start();
+            waitUntilBlocked(smallProducer);
+
+            // 腾出100字节，只够放下较小的记录
+            queue.take();
+            smallProducer.join(1000);
+            if (smallProducer.isAlive()) {
+                throw new RuntimeException("checkWakeSmallerRecord error: small record still blocked");
+            }
+
+            while (largeProducer.isAlive()) {
+                queue.take();
+                largeProducer.join(10);
+            }
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    private static void putQuietly(MyMappedBlockingQueue queue, byte[] data) {
+        try {
+            queue.put(data);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void waitUntilBlocked(Thread thread) throws InterruptedException {
+        while (thread.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * 第i条记录：长度随i变化，内容为i
+     * */
+    private static byte[] record(int i) {
+        byte[] data = new byte[(i * 37) % 200];
+        Arrays.fill(data, (byte) i);
+        return data;
+    }
+
+    private static void checkRecord(byte[] actual, int i) {
+        if (!Arrays.equals(actual, record(i))) {
+            throw new RuntimeException("checkRecover error: record " + i);
+        }
+    }
+
+    private static long oneTurnExecute(ExecutorService executorService, MyMappedBlockingQueue queue, int recordSize) throws InterruptedException {
+        long startTime = System.currentTimeMillis();
+        CountDownLatch countDownLatch = new CountDownLatch(WORKER_NUM * 2);
+
+        for (int i = 0; i < WORKER_NUM; i++) {
+            executorService.execute(() -> {
+                byte[] data = new byte[recordSize];
+                try {
+                    for (int j = 0; j < PER_WORKER_PROCESS_NUM; j++) {
+                        queue.put(data);
+                    }
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                countDownLatch.countDown();
+            });
+
+            executorService.execute(() -> {
+                try {
+                    for (int j = 0; j < PER_WORKER_PROCESS_NUM; j++) {
+                        queue.take();
+                    }
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                countDownLatch.countDown();
+            });
+        }
+        countDownLatch.await();
+
+        return System.currentTimeMillis() - startTime;
+    }
+
+    private static void deleteDirectory(File directory) throws IOException {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Files.delete(file.toPath());
+            }
+        }
+        Files.delete(directory.toPath());
+    }
+}
@@ -0,0 +1,56 @@
+package blockingqueue.statistic;
+
+import blockingqueue.MyBlockingQueue;
+import blockingqueue.array.MyArrayBlockingQueueV5;
+import blockingqueue.array.MyArrayBlockingQueueWithMyAQS;
+import blockingqueue.util.BlockingQueueTestUtil;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 基于自己实现的MyAQS的阻塞队列与基于jdk ReentrantLock的v5版本的性能对比
+ * 两者的算法完全一致，因此耗时的差距就是MyReentrantLockV4与jdk ReentrantLock之间的差距（目标是差距在5%以内）
+ * 多轮交替执行，避免执行的先后顺序（jit编译、gc）影响对比的结果
+ */
+public class MyAQSBlockingQueuePerformanceTest {
+
+    /**
+     * 并发线程数（消费者 + 生产者 = 2 * WORKER_NUM）
+     * */
+    private static final int WORKER_NUM = 100;
+
+    /**
+     * 单次测试中每个线程访问队列的次数
+     * */
+    private static final int PER_WORKER_PROCESS_NUM = 1000;
+
+    /**
+     * 重复执行的次数
+     * */
+    private static final int REPEAT_TIME = 20;
+
+    /**
+     * 交替执行的轮数
+     * */
+    private static final int ROUND_NUM = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int queueCapacity : new int[]{5, 1024}) {
+            long totalCostTimeV5 = 0;
+            long totalCostTimeWithMyAQS = 0;
+            for (int i = 0; i < ROUND_NUM; i++) {
+                MyBlockingQueue<Integer> myArrayBlockingQueueV5 = new MyArrayBlockingQueueV5<>(queueCapacity);
+                totalCostTimeV5 += BlockingQueueTestUtil.statisticBlockingQueueRuntime(myArrayBlockingQueueV5, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
+
+                MyBlockingQueue<Integer> myArrayBlockingQueueWithMyAQS = new MyArrayBlockingQueueWithMyAQS<>(queueCapacity);
+                totalCostTimeWithMyAQS += BlockingQueueTestUtil.statisticBlockingQueueRuntime(myArrayBlockingQueueWithMyAQS, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
+            }
+
+            System.out.println("capacity=" + queueCapacity
+                    + " MyArrayBlockingQueueV5 avgCostTime=" + totalCostTimeV5 / ROUND_NUM + "ms"
+                    + " MyArrayBlockingQueueWithMyAQS avgCostTime=" + totalCostTimeWithMyAQS / ROUND_NUM + "ms"
+                    + " ratio=" + String.format("%.2f", (double) totalCostTimeWithMyAQS / Math.max(totalCostTimeV5, 1)));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package blockingqueue.statistic;
+
+import blockingqueue.MyBlockingQueue;
+import blockingqueue.array.MyArrayBlockingQueueV5;
+import blockingqueue.primitive.IntBlockingQueue;
+import blockingqueue.primitive.LongBlockingQueue;
+import blockingqueue.util.BlockingQueueTestUtil;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 原始类型阻塞队列与MyArrayBlockingQueueV5<Integer>的性能对比，以及入队出队过程中零对象分配的校验
+ */
+public class PrimitiveBlockingQueuePerformanceTest {
+
+    /**
+     * 队列容量
+     * */
+    private static final int QUEUE_CAPACITY = 5;
+
+    /**
+     * 并发线程数（消费者 + 生产者 = 2 * WORKER_NUM）
+     * */
+    private static final int WORKER_NUM = 100;
+
+    /**
+     * 单次测试中每个线程访问队列的次数
+     * */
+    private static final int PER_WORKER_PROCESS_NUM = 1000;
+
+    /**
+     * 重复执行的次数
+     * */
+    private static final int REPEAT_TIME = 20;
+
+    public static void main(String[] args) throws InterruptedException {
+        checkNoAllocation();
+
+        {
+            MyBlockingQueue<Integer> myArrayBlockingQueueV5 = new MyArrayBlockingQueueV5<>(QUEUE_CAPACITY);
+            long avgCostTime = BlockingQueueTestUtil.statisticBlockingQueueRuntime(myArrayBlockingQueueV5, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
+            System.out.println("MyArrayBlockingQueueV5<Integer> avgCostTime=" + avgCostTime + "ms");
+        }
+
+        {
+            ExecutorService executorService = Executors.newFixedThreadPool(WORKER_NUM * 2);
+            IntBlockingQueue intBlockingQueue = new IntBlockingQueue(QUEUE_CAPACITY);
+            // 第一次执行时存在一定的初始化开销，不进行统计
+            oneTurnExecute(executorService, intBlockingQueue);
+            long totalTime = 0;
+            for (int i = 0; i < REPEAT_TIME; i++) {
+                totalTime += oneTurnExecute(executorService, intBlockingQueue);
+            }
+            executorService.shutdown();
+            System.out.println("IntBlockingQueue avgCostTime=" + totalTime / REPEAT_TIME + "ms");
+        }
+    }
+
+    /**
+     * 单线程下反复的put/take/drainTo，校验当前线程的对象分配字节数没有随次数增长
+     * */
+    private static void checkNoAllocation() throws InterruptedException {
+        IntBlockingQueue intBlockingQueue = new IntBlockingQueue(QUEUE_CAPACITY);
+        LongBlockingQueue longBlockingQueue = new LongBlockingQueue(QUEUE_CAPACITY);
+        int[] intBuffer = new int[QUEUE_CAPACITY];
+        long[] longBuffer = new long[QUEUE_CAPACITY];
+
+        // 预热，令相关方法完成编译
+        runPrimitive(intBlockingQueue, longBlockingQueue, intBuffer, longBuffer, 100_000);
+
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        runPrimitive(intBlockingQueue, longBlockingQueue, intBuffer, longBuffer, 1_000_000);
+        long after = threadMXBean.getThreadAllocatedBytes(threadId);
+
+        System.out.println("primitive queue allocatedBytes=" + (after - before));
+        // 允许统计方法自身产生的少量分配
+        if (after - before > 1024) {
+            throw new RuntimeException("checkNoAllocation error: allocatedBytes=" + (after - before));
+        }
+    }
+
+    private static void runPrimitive(IntBlockingQueue intBlockingQueue, LongBlockingQueue longBlockingQueue,
+                                     int[] intBuffer, long[] longBuffer, int loopNum) throws InterruptedException {
+        long sum = 0;
+        for (int i = 0; i < loopNum; i++) {
+            intBlockingQueue.put(i);
+            sum += intBlockingQueue.take();
+
+            longBlockingQueue.put(i);
+            longBlockingQueue.put(i);
+            sum += longBlockingQueue.take();
+            int drainNum = longBlockingQueue.drainTo(longBuffer);
+            for (int j = 0; j < drainNum; j++) {
+                sum -= longBuffer[j];
+            }
+        }
+
+        if (sum != (long) loopNum * (loopNum - 1) / 2) {
+            throw new RuntimeException("runPrimitive error: sum=" + sum);
+        }
+        if (intBlockingQueue.drainTo(intBuffer) != 0 || !longBlockingQueue.isEmpty()) {
+            throw new RuntimeException("runPrimitive error: queue not empty");
+        }
+    }
+
+    private static long oneTurnExecute(ExecutorService executorService, IntBlockingQueue intBlockingQueue) throws InterruptedException {
+        long startTime = System.currentTimeMillis();
+        CountDownLatch countDownLatch = new CountDownLatch(WORKER_NUM * 2);
+
+        for (int i = 0; i < WORKER_NUM; i++) {
+            executorService.execute(() -> {
+                try {
+                    for (int j = 0; j < PER_WORKER_PROCESS_NUM; j++) {
+                        intBlockingQueue.put(j);
+                    }
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                countDownLatch.countDown();
+            });
+
+            executorService.execute(() -> {
+                try {
+                    for (int j = 0; j < PER_WORKER_PROCESS_NUM; j++) {
+                        intBlockingQueue.take();
+                    }
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                countDownLatch.countDown();
+            });
+        }
+        countDownLatch.await();
+
+        return System.currentTimeMillis() - startTime;
+    }
+}
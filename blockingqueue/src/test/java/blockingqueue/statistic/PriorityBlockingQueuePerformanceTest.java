@@ -0,0 +1,81 @@
+package blockingqueue.statistic;
+
+import blockingqueue.MyBlockingQueue;
+import blockingqueue.priority.MyPriorityBlockingQueue;
+import blockingqueue.util.BlockingQueueTestUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 优先级阻塞队列的出队顺序校验，以及不同叉数下的性能对比
+ */
+public class PriorityBlockingQueuePerformanceTest {
+
+    /**
+     * 队列容量
+     * */
+    private static final int QUEUE_CAPACITY = 5;
+
+    /**
+     * 并发线程数（消费者 + 生产者 = 2 * WORKER_NUM）
+     * */
+    private static final int WORKER_NUM = 100;
+
+    /**
+     * 单次测试中每个线程访问队列的次数
+     * */
+    private static final int PER_WORKER_PROCESS_NUM = 1000;
+
+    /**
+     * 重复执行的次数
+     * */
+    private static final int REPEAT_TIME = 20;
+
+    public static void main(String[] args) throws InterruptedException {
+        checkOrder(2);
+        checkOrder(4);
+        checkOrder(8);
+
+        for (int arity : new int[]{2, 4, 8}) {
+            MyBlockingQueue<Integer> myPriorityBlockingQueue = new MyPriorityBlockingQueue<>(QUEUE_CAPACITY, arity, null);
+            long avgCostTime = BlockingQueueTestUtil.statisticBlockingQueueRuntime(myPriorityBlockingQueue, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
+            System.out.println("MyPriorityBlockingQueue(arity=" + arity + ") avgCostTime=" + avgCostTime + "ms");
+        }
+    }
+
+    /**
+     * 随机写入后，take与takeUpTo取出的元素需要整体有序
+     * */
+    private static void checkOrder(int arity) throws InterruptedException {
+        // 容量不是一次take加takeUpTo(7)的整数倍，最后一批不足8个元素
+        int capacity = 1001;
+        MyPriorityBlockingQueue<Integer> queue = new MyPriorityBlockingQueue<>(capacity, arity, null);
+        Random random = new Random(arity);
+        for (int i = 0; i < capacity; i++) {
+            queue.put(random.nextInt(100));
+        }
+
+        List<Integer> result = new ArrayList<>(capacity);
+        while (result.size() < capacity) {
+            result.add(queue.take());
+            // 队列为空时takeUpTo会阻塞，只在还有剩余元素时调用
+            if (!queue.isEmpty()) {
+                queue.takeUpTo(7, result);
+            }
+        }
+
+        if (result.size() != capacity) {
+            throw new RuntimeException("checkOrder error: size=" + result.size());
+        }
+        for (int i = 1; i < result.size(); i++) {
+            if (result.get(i - 1) > result.get(i)) {
+                throw new RuntimeException("checkOrder error: arity=" + arity + " index=" + i);
+            }
+        }
+    }
+}
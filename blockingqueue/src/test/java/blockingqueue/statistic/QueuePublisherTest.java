@@ -0,0 +1,397 @@
+package blockingqueue.statistic;
+
+import blockingqueue.array.MyArrayBlockingQueueV5;
+import blockingqueue.reactive.Flow;
+import blockingqueue.reactive.QueuePublisher;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 阻塞队列发布者的校验：多个订阅者按请求个数消费且每个元素只被消费一次、订阅者不请求时背压传递给生产者、
+ * 非法请求的onError与onNext串行通知、onSubscribe与onNext串行通知、executor拒绝任务或订阅者抛出异常后发布者依然可用，以及吞吐量
+ */
+public class QueuePublisherTest {
+
+    /**
+     * 队列容量
+     * */
+    private static final int QUEUE_CAPACITY = 1024;
+
+    /**
+     * 生产者线程数
+     * */
+    private static final int PRODUCER_NUM = 4;
+
+    /**
+     * 订阅者个数
+     * */
+    private static final int SUBSCRIBER_NUM = 8;
+
+    /**
+     * 每个生产者发布的元素个数
+     * */
+    private static final int PER_PRODUCER_NUM = 500_000;
+
+    /**
+     * 订阅者每批请求的元素个数
+     * */
+    private static final int REQUEST_BATCH = 64;
+
+    public static void main(String[] args) throws InterruptedException {
+        // drain任务使用的线程池，线程数远少于订阅者个数
+        ExecutorService drainExecutor = Executors.newFixedThreadPool(2);
+
+        checkBackpressure(drainExecutor);
+        checkInvalidRequest(drainExecutor);
+        checkSubscribeBeforeNext(drainExecutor);
+        checkRecoverFromFailure(drainExecutor);
+
+        // 第一次执行时存在一定的初始化开销，不进行统计
+        checkDeliverOnce(drainExecutor);
+        long costTime = checkDeliverOnce(drainExecutor);
+        long totalNum = (long) PRODUCER_NUM * PER_PRODUCER_NUM;
+        System.out.println("QueuePublisher costTime=" + costTime + "ms ops/s=" + totalNum * 1000 / Math.max(costTime, 1));
+
+        drainExecutor.shutdown();
+    }
+
+    /**
+     * 多个生产者、多个订阅者，所有元素被恰好消费一次，并且关闭后所有订阅者都收到onComplete
+     * */
+    private static long checkDeliverOnce(ExecutorService drainExecutor) throws InterruptedException {
+        QueuePublisher<Long> publisher = new QueuePublisher<>(new MyArrayBlockingQueueV5<>(QUEUE_CAPACITY), drainExecutor);
+        AtomicLong receivedSum = new AtomicLong();
+        AtomicLong receivedCount = new AtomicLong();
+        CountDownLatch completeLatch = new CountDownLatch(SUBSCRIBER_NUM);
+        for (int i = 0; i < SUBSCRIBER_NUM; i++) {
+            publisher.subscribe(new BatchRequestSubscriber(receivedSum, receivedCount, completeLatch));
+        }
+
+        long startTime = System.currentTimeMillis();
+        CountDownLatch producerLatch = new CountDownLatch(PRODUCER_NUM);
+        for (int i = 0; i < PRODUCER_NUM; i++) {
+            new Thread(() -> {
+                try {
+                    for (long j = 0; j < PER_PRODUCER_NUM; j++) {
+                        publisher.put(j);
+                    }
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                producerLatch.countDown();
+            }).start();
+        }
+        producerLatch.await();
+        publisher.close();
+        if (!completeLatch.await(30, TimeUnit.SECONDS)) {
+            throw new RuntimeException("checkDeliverOnce error: not complete, receivedCount=" + receivedCount.get());
+        }
+        long costTime = System.currentTimeMillis() - startTime;
+
+        long expectSum = (long) PRODUCER_NUM * PER_PRODUCER_NUM * (PER_PRODUCER_NUM - 1) / 2;
+        if (receivedCount.get() != (long) PRODUCER_NUM * PER_PRODUCER_NUM || receivedSum.get() != expectSum) {
+            throw new RuntimeException("checkDeliverOnce error: receivedCount=" + receivedCount.get() + " receivedSum=" + receivedSum.get());
+        }
+        return costTime;
+    }
+
+    /**
+     * 订阅者只请求少量元素时，队列被填满后生产者阻塞；订阅者继续请求后生产者恢复
+     * */
+    private static void checkBackpressure(ExecutorService drainExecutor) throws InterruptedException {
+        int capacity = 8;
+        int firstRequest = 4;
+        QueuePublisher<Integer> publisher = new QueuePublisher<>(new MyArrayBlockingQueueV5<>(capacity), drainExecutor);
+        AtomicLong receivedCount = new AtomicLong();
+        Flow.Subscription[] subscriptionHolder = new Flow.Subscription[1];
+        publisher.subscribe(new Flow.Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscriptionHolder[0] = subscription;
+                subscription.request(firstRequest);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                receivedCount.incrementAndGet();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throwable.printStackTrace();
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        int totalNum = 100;
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < totalNum; i++) {
+                    publisher.put(i);
+                }
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        producer.start();
+
+        // 订阅者只请求了firstRequest个，生产者最多写入firstRequest + capacity个元素后阻塞
+        producer.join(200);
+        if (!producer.isAlive() || receivedCount.get() != firstRequest) {
+            throw new RuntimeException("checkBackpressure error: receivedCount=" + receivedCount.get());
+        }
+
+        subscriptionHolder[0].request(totalNum);
+        producer.join();
+        publisher.close();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (receivedCount.get() != totalNum && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        if (receivedCount.get() != totalNum) {
+            throw new RuntimeException("checkBackpressure error: receivedCount=" + receivedCount.get());
+        }
+        System.out.println("checkBackpressure ok");
+    }
+
+    /**
+     * 队列中已有元素时订阅，并在onSubscribe中request：onNext必须在onSubscribe返回之后才被通知
+     * */
+    private static void checkSubscribeBeforeNext(ExecutorService drainExecutor) throws InterruptedException {
+        QueuePublisher<Integer> publisher = new QueuePublisher<>(new MyArrayBlockingQueueV5<>(QUEUE_CAPACITY), drainExecutor);
+        for (int i = 0; i < 4; i++) {
+            publisher.put(i);
+        }
+
+        AtomicLong inOnSubscribe = new AtomicLong();
+        AtomicLong nextInOnSubscribe = new AtomicLong();
+        CountDownLatch nextLatch = new CountDownLatch(4);
+        publisher.subscribe(new Flow.Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                inOnSubscribe.set(1);
+                subscription.request(Long.MAX_VALUE);
+                try {
+                    // 模拟耗时的初始化，令drain任务有机会在此期间执行
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inOnSubscribe.set(0);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                if (inOnSubscribe.get() != 0) {
+                    nextInOnSubscribe.incrementAndGet();
+                }
+                nextLatch.countDown();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throwable.printStackTrace();
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        if (!nextLatch.await(5, TimeUnit.SECONDS) || nextInOnSubscribe.get() != 0) {
+            throw new RuntimeException("checkSubscribeBeforeNext error: nextInOnSubscribe=" + nextInOnSubscribe.get());
+        }
+        publisher.close();
+        System.out.println("checkSubscribeBeforeNext ok");
+    }
+
+    /**
+     * executor拒绝一次drain任务、订阅者的onNext和onError都抛出异常之后，发布者依然可以继续向其它订阅者推送元素
+     * */
+    private static void checkRecoverFromFailure(ExecutorService drainExecutor) throws InterruptedException {
+        AtomicLong rejectNum = new AtomicLong(1);
+        Executor flakyExecutor = command -> {
+            if (rejectNum.getAndDecrement() > 0) {
+                throw new RejectedExecutionException("reject for test");
+            }
+            drainExecutor.execute(command);
+        };
+        QueuePublisher<Long> publisher = new QueuePublisher<>(new MyArrayBlockingQueueV5<>(QUEUE_CAPACITY), flakyExecutor);
+
+        try {
+            publisher.put(0L);
+            throw new RuntimeException("checkRecoverFromFailure error: not rejected");
+        } catch (RejectedExecutionException expected) {
+            // 第一次提交drain任务被拒绝
+        }
+
+        // 第一个订阅者在onNext和onError中都抛出异常
+        CountDownLatch badLatch = new CountDownLatch(1);
+        publisher.subscribe(new Flow.Subscriber<Long>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Long item) {
+                throw new IllegalStateException("onNext failed for test");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                badLatch.countDown();
+                throw new IllegalStateException("onError failed for test");
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        if (!badLatch.await(5, TimeUnit.SECONDS)) {
+            throw new RuntimeException("checkRecoverFromFailure error: bad subscriber not notified");
+        }
+
+        AtomicLong receivedCount = new AtomicLong();
+        CountDownLatch completeLatch = new CountDownLatch(1);
+        publisher.subscribe(new BatchRequestSubscriber(new AtomicLong(), receivedCount, completeLatch));
+        int totalNum = 100;
+        for (long i = 1; i <= totalNum; i++) {
+            publisher.put(i);
+        }
+        publisher.close();
+        if (!completeLatch.await(5, TimeUnit.SECONDS) || receivedCount.get() != totalNum) {
+            throw new RuntimeException("checkRecoverFromFailure error: receivedCount=" + receivedCount.get());
+        }
+        System.out.println("checkRecoverFromFailure ok");
+    }
+
+    /**
+     * drain任务正在执行onNext时，其它线程发起request(0)：onError必须在onNext返回之后才被通知，并且之后不再有onNext
+     * */
+    private static void checkInvalidRequest(ExecutorService drainExecutor) throws InterruptedException {
+        QueuePublisher<Integer> publisher = new QueuePublisher<>(new MyArrayBlockingQueueV5<>(QUEUE_CAPACITY), drainExecutor);
+        // 正在执行中的回调个数，大于1代表回调被并发执行
+        AtomicLong inCallback = new AtomicLong();
+        AtomicLong concurrentCallback = new AtomicLong();
+        AtomicLong nextAfterError = new AtomicLong();
+        CountDownLatch inNextLatch = new CountDownLatch(1);
+        CountDownLatch errorLatch = new CountDownLatch(1);
+        Flow.Subscription[] subscriptionHolder = new Flow.Subscription[1];
+        publisher.subscribe(new Flow.Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscriptionHolder[0] = subscription;
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                if (inCallback.incrementAndGet() > 1) {
+                    concurrentCallback.incrementAndGet();
+                }
+                if (errorLatch.getCount() == 0) {
+                    nextAfterError.incrementAndGet();
+                }
+                inNextLatch.countDown();
+                try {
+                    // 模拟耗时的处理，令request(0)发生在onNext执行期间
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inCallback.decrementAndGet();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                if (inCallback.incrementAndGet() > 1) {
+                    concurrentCallback.incrementAndGet();
+                }
+                errorLatch.countDown();
+                inCallback.decrementAndGet();
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        for (int i = 0; i < 4; i++) {
+            publisher.put(i);
+        }
+        inNextLatch.await();
+        subscriptionHolder[0].request(0);
+        if (!errorLatch.await(5, TimeUnit.SECONDS)) {
+            throw new RuntimeException("checkInvalidRequest error: onError not delivered");
+        }
+        publisher.close();
+        if (concurrentCallback.get() != 0 || nextAfterError.get() != 0) {
+            throw new RuntimeException("checkInvalidRequest error: concurrentCallback=" + concurrentCallback.get()
+                    + " nextAfterError=" + nextAfterError.get());
+        }
+        System.out.println("checkInvalidRequest ok");
+    }
+
+    /**
+     * 每处理完一批元素后，再请求下一批
+     * */
+    private static class BatchRequestSubscriber implements Flow.Subscriber<Long> {
+
+        private final AtomicLong receivedSum;
+        private final AtomicLong receivedCount;
+        private final CountDownLatch completeLatch;
+
+        private Flow.Subscription subscription;
+        private long sum;
+        private long count;
+        private int remainInBatch;
+
+        BatchRequestSubscriber(AtomicLong receivedSum, AtomicLong receivedCount, CountDownLatch completeLatch) {
+            this.receivedSum = receivedSum;
+            this.receivedCount = receivedCount;
+            this.completeLatch = completeLatch;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            this.remainInBatch = REQUEST_BATCH;
+            subscription.request(REQUEST_BATCH);
+        }
+
+        @Override
+        public void onNext(Long item) {
+            sum += item;
+            count++;
+            if (--remainInBatch == 0) {
+                remainInBatch = REQUEST_BATCH;
+                subscription.request(REQUEST_BATCH);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            throwable.printStackTrace();
+        }
+
+        @Override
+        public void onComplete() {
+            receivedSum.addAndGet(sum);
+            receivedCount.addAndGet(count);
+            completeLatch.countDown();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package blockingqueue.statistic;
+
+import blockingqueue.MyBlockingQueue;
+import blockingqueue.array.MyArrayBlockingQueueV5;
+import blockingqueue.array.MyResizableArrayBlockingQueue;
+import blockingqueue.util.BlockingQueueTestUtil;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 可动态调整容量的阻塞队列与v5版本的性能对比，以及扩容/缩容/修改容量上限/空闲后释放大数组的校验
+ */
+public class ResizableArrayBlockingQueuePerformanceTest {
+
+    /**
+     * 队列容量（按峰值设置的较大容量）
+     * */
+    private static final int QUEUE_CAPACITY = 1024;
+
+    /**
+     * 并发线程数（消费者 + 生产者 = 2 * WORKER_NUM）
+     * */
+    private static final int WORKER_NUM = 100;
+
+    /**
+     * 单次测试中每个线程访问队列的次数
+     * */
+    private static final int PER_WORKER_PROCESS_NUM = 1000;
+
+    /**
+     * 重复执行的次数
+     * */
+    private static final int REPEAT_TIME = 20;
+
+    public static void main(String[] args) throws InterruptedException {
+        checkResize();
+        checkShrinkAfterIdle();
+
+        {
+            MyBlockingQueue<Integer> myArrayBlockingQueueV5 = new MyArrayBlockingQueueV5<>(QUEUE_CAPACITY);
+            long avgCostTime = BlockingQueueTestUtil.statisticBlockingQueueRuntime(myArrayBlockingQueueV5, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
+            System.out.println(costTimeLog(MyArrayBlockingQueueV5.class, avgCostTime));
+        }
+
+        {
+            MyBlockingQueue<Integer> myResizableArrayBlockingQueue = new MyResizableArrayBlockingQueue<>(QUEUE_CAPACITY);
+            long avgCostTime = BlockingQueueTestUtil.statisticBlockingQueueRuntime(myResizableArrayBlockingQueue, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
+            System.out.println(costTimeLog(MyResizableArrayBlockingQueue.class, avgCostTime));
+        }
+    }
+
+    /**
+     * 单线程下校验扩容、缩容、修改容量上限后队列依然保持先进先出
+     * */
+    private static void checkResize() throws InterruptedException {
+        MyResizableArrayBlockingQueue<Integer> queue = new MyResizableArrayBlockingQueue<>(QUEUE_CAPACITY);
+        int next = 0;
+        int expect = 0;
+
+        // 写满到容量上限，底层数组逐步扩容
+        while (queue.size() < QUEUE_CAPACITY) {
+            queue.put(next++);
+        }
+        System.out.println("after fill arrayLength=" + queue.getArrayLength());
+        if (queue.getArrayLength() != QUEUE_CAPACITY) {
+            throw new RuntimeException("checkResize error: arrayLength=" + queue.getArrayLength());
+        }
+
+        // 调小容量上限，消费到新上限以下后继续少量的生产/消费，底层数组逐步缩容
+        queue.setCapacity(8);
+        while (queue.size() > 1) {
+            expect = checkTake(queue, expect);
+        }
+        for (int i = 0; i < QUEUE_CAPACITY; i++) {
+            queue.put(next++);
+            expect = checkTake(queue, expect);
+        }
+        System.out.println("after shrink arrayLength=" + queue.getArrayLength());
+        if (queue.getArrayLength() > 8) {
+            throw new RuntimeException("checkResize error: arrayLength=" + queue.getArrayLength());
+        }
+
+        // 调大容量上限后可以继续写入
+        queue.setCapacity(QUEUE_CAPACITY * 2);
+        while (queue.size() < QUEUE_CAPACITY * 2) {
+            queue.put(next++);
+        }
+        while (!queue.isEmpty()) {
+            expect = checkTake(queue, expect);
+        }
+        if (expect != next) {
+            throw new RuntimeException("checkResize error: expect=" + expect + " next=" + next);
+        }
+    }
+
+    /**
+     * 峰值过后队列被消费空：下一次写入时直接缩容到最小长度；没有后续写入时通过trimToSize释放大数组
+     * */
+    private static void checkShrinkAfterIdle() throws InterruptedException {
+        MyResizableArrayBlockingQueue<Integer> queue = new MyResizableArrayBlockingQueue<>(QUEUE_CAPACITY);
+        int next = 0;
+        int expect = 0;
+        for (int round = 0; round < 2; round++) {
+            while (queue.size() < QUEUE_CAPACITY) {
+                queue.put(next++);
+            }
+            while (!queue.isEmpty()) {
+                expect = checkTake(queue, expect);
+            }
+            if (queue.getArrayLength() != QUEUE_CAPACITY) {
+                throw new RuntimeException("checkShrinkAfterIdle error: arrayLength=" + queue.getArrayLength());
+            }
+
+            if (round == 0) {
+                // 空闲后的第一次写入
+                queue.put(next++);
+                expect = checkTake(queue, expect);
+            } else if (!queue.trimToSize()) {
+                throw new RuntimeException("checkShrinkAfterIdle error: trimToSize failed");
+            }
+            System.out.println("after idle round=" + round + " arrayLength=" + queue.getArrayLength());
+            if (queue.getArrayLength() > 4) {
+                throw new RuntimeException("checkShrinkAfterIdle error: round=" + round + " arrayLength=" + queue.getArrayLength());
+            }
+        }
+
+        // 切换之后依然保持先进先出
+        for (int i = 0; i < 100; i++) {
+            queue.put(next++);
+        }
+        while (!queue.isEmpty()) {
+            expect = checkTake(queue, expect);
+        }
+        if (expect != next) {
+            throw new RuntimeException("checkShrinkAfterIdle error: expect=" + expect + " next=" + next);
+        }
+    }
+
+    private static int checkTake(MyBlockingQueue<Integer> queue, int expect) throws InterruptedException {
+        int actual = queue.take();
+        if (actual != expect) {
+            throw new RuntimeException("checkResize error: expect=" + expect + " actual=" + actual);
+        }
+        return expect + 1;
+    }
+
+    private static String costTimeLog(Class blockQueueCLass, long costTime){
+        return blockQueueCLass.getSimpleName() + " avgCostTime=" + costTime + "ms";
+    }
+}
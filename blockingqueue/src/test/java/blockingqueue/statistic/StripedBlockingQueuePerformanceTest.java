@@ -0,0 +1,95 @@
+package blockingqueue.statistic;
+
+import blockingqueue.MyBlockingQueue;
+import blockingqueue.array.MyArrayBlockingQueueV5;
+import blockingqueue.striped.MyStripedBlockingQueue;
+import blockingqueue.util.BlockingQueueTestUtil;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 分道阻塞队列与v5版本在大量生产者、消费者下的性能对比，以及单个生产者维度先进先出的校验
+ */
+public class StripedBlockingQueuePerformanceTest {
+
+    /**
+     * 并发线程数（消费者 + 生产者 = 2 * WORKER_NUM）
+     * */
+    private static final int WORKER_NUM = 100;
+
+    /**
+     * 单次测试中每个线程访问队列的次数
+     * */
+    private static final int PER_WORKER_PROCESS_NUM = 1000;
+
+    /**
+     * 重复执行的次数
+     * */
+    private static final int REPEAT_TIME = 20;
+
+    public static void main(String[] args) throws InterruptedException {
+        checkPerProducerFifo();
+
+        for (int queueCapacity : new int[]{5, 1024}) {
+            {
+                MyBlockingQueue<Integer> myArrayBlockingQueueV5 = new MyArrayBlockingQueueV5<>(queueCapacity);
+                long avgCostTime = BlockingQueueTestUtil.statisticBlockingQueueRuntime(myArrayBlockingQueueV5, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
+                System.out.println("MyArrayBlockingQueueV5 capacity=" + queueCapacity + " avgCostTime=" + avgCostTime + "ms");
+            }
+
+            // 默认的lane个数与cpu核数相关，额外固定测试一个较大的lane个数
+            for (MyStripedBlockingQueue<Integer> myStripedBlockingQueue : Arrays.asList(
+                    new MyStripedBlockingQueue<Integer>(queueCapacity), new MyStripedBlockingQueue<Integer>(queueCapacity, 8))) {
+                long avgCostTime = BlockingQueueTestUtil.statisticBlockingQueueRuntime(myStripedBlockingQueue, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
+                System.out.println("MyStripedBlockingQueue capacity=" + queueCapacity + " laneCount=" + myStripedBlockingQueue.getLaneCount()
+                        + " avgCostTime=" + avgCostTime + "ms");
+            }
+        }
+    }
+
+    /**
+     * 多个生产者并发写入（高位为生产者编号，低位为序号），单个消费者读出时，每个生产者的序号都是递增的
+     * */
+    private static void checkPerProducerFifo() throws InterruptedException {
+        int producerNum = 16;
+        int perProducerNum = 100_000;
+        MyStripedBlockingQueue<Long> queue = new MyStripedBlockingQueue<>(64, 4);
+
+        CountDownLatch countDownLatch = new CountDownLatch(producerNum);
+        for (int i = 0; i < producerNum; i++) {
+            long producerId = i;
+            new Thread(() -> {
+                try {
+                    for (int j = 0; j < perProducerNum; j++) {
+                        queue.put((producerId << 32) | j);
+                    }
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                countDownLatch.countDown();
+            }).start();
+        }
+
+        long[] lastSequence = new long[producerNum];
+        Arrays.fill(lastSequence, -1);
+        for (long i = 0; i < (long) producerNum * perProducerNum; i++) {
+            long value = queue.take();
+            int producerId = (int) (value >>> 32);
+            long sequence = value & 0xFFFFFFFFL;
+            if (sequence != lastSequence[producerId] + 1) {
+                throw new RuntimeException("checkPerProducerFifo error: producer=" + producerId
+                        + " expect=" + (lastSequence[producerId] + 1) + " actual=" + sequence);
+            }
+            lastSequence[producerId] = sequence;
+        }
+        countDownLatch.await();
+
+        if (!queue.isEmpty()) {
+            throw new RuntimeException("checkPerProducerFifo error: queue not empty");
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package blockingqueue.statistic;
+
+import blockingqueue.MyBlockingQueue;
+import blockingqueue.jdk.JDKSynchronousQueue;
+import blockingqueue.transfer.MyTransferQueue;
+import blockingqueue.util.BlockingQueueTestUtil;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 直接交接队列的语义校验，以及与jdk SynchronousQueue的性能对比
+ */
+public class TransferQueuePerformanceTest {
+
+    /**
+     * 并发线程数（消费者 + 生产者 = 2 * WORKER_NUM）
+     * */
+    private static final int WORKER_NUM = 100;
+
+    /**
+     * 单次测试中每个线程访问队列的次数
+     * */
+    private static final int PER_WORKER_PROCESS_NUM = 1000;
+
+    /**
+     * 重复执行的次数
+     * */
+    private static final int REPEAT_TIME = 20;
+
+    public static void main(String[] args) throws InterruptedException {
+        checkTransfer();
+
+        {
+            MyBlockingQueue<Integer> jdkSynchronousQueue = new JDKSynchronousQueue<>(true);
+            long avgCostTime = BlockingQueueTestUtil.statisticBlockingQueueRuntime(jdkSynchronousQueue, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
+            System.out.println("JDKSynchronousQueue(fair) avgCostTime=" + avgCostTime + "ms");
+        }
+
+        {
+            MyBlockingQueue<Integer> jdkSynchronousQueue = new JDKSynchronousQueue<>(false);
+            long avgCostTime = BlockingQueueTestUtil.statisticBlockingQueueRuntime(jdkSynchronousQueue, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
+            System.out.println("JDKSynchronousQueue(unfair) avgCostTime=" + avgCostTime + "ms");
+        }
+
+        {
+            MyBlockingQueue<Integer> myTransferQueue = new MyTransferQueue<>();
+            long avgCostTime = BlockingQueueTestUtil.statisticBlockingQueueRuntime(myTransferQueue, WORKER_NUM, PER_WORKER_PROCESS_NUM, REPEAT_TIME);
+            System.out.println("MyTransferQueue avgCostTime=" + avgCostTime + "ms");
+        }
+    }
+
+    /**
+     * 校验交接的语义：没有消费者时不缓冲元素，等待的消费者按先进先出的顺序配对
+     * */
+    private static void checkTransfer() throws InterruptedException {
+        MyTransferQueue<Integer> queue = new MyTransferQueue<>();
+
+        // 没有等待的消费者时，非阻塞的交接直接失败，限时的交接超时失败
+        if (queue.offer(1) || queue.tryTransfer(1, 10, TimeUnit.MILLISECONDS) || queue.poll() != null) {
+            throw new RuntimeException("checkTransfer error: transfer without consumer");
+        }
+
+        // 依次启动多个消费者，等它们都进入等待状态后再交接
+        int consumerNum = 3;
+        int[] received = new int[consumerNum];
+        CountDownLatch finished = new CountDownLatch(consumerNum);
+        for (int i = 0; i < consumerNum; i++) {
+            int consumerIndex = i;
+            new Thread(() -> {
+                try {
+                    received[consumerIndex] = queue.take();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                finished.countDown();
+            }).start();
+            while (queue.getWaitingConsumerCount() != i + 1) {
+                Thread.sleep(1);
+            }
+        }
+        for (int i = 0; i < consumerNum; i++) {
+            if (!queue.tryTransfer(i)) {
+                throw new RuntimeException("checkTransfer error: tryTransfer failed with waiting consumer");
+            }
+        }
+        finished.await();
+        for (int i = 0; i < consumerNum; i++) {
+            if (received[i] != i) {
+                throw new RuntimeException("checkTransfer error: consumer " + i + " received " + received[i]);
+            }
+        }
+
+        // 生产者transfer会一直阻塞到消费者拿走元素为止
+        Thread producer = new Thread(() -> {
+            try {
+                queue.transfer(100);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        producer.start();
+        producer.join(50);
+        if (!producer.isAlive()) {
+            throw new RuntimeException("checkTransfer error: transfer returned without consumer");
+        }
+        if (queue.poll(1, TimeUnit.SECONDS) != 100) {
+            throw new RuntimeException("checkTransfer error: poll");
+        }
+        producer.join();
+
+        // 等待中被中断的消费者会被取消，不会再参与配对
+        Thread interruptedConsumer = new Thread(() -> {
+            try {
+                queue.take();
+                throw new RuntimeException("checkTransfer error: interrupted consumer received element");
+            } catch (InterruptedException ignore) {
+                // 预期被中断
+            }
+        });
+        interruptedConsumer.start();
+        while (!queue.hasWaitingConsumer()) {
+            Thread.sleep(1);
+        }
+        interruptedConsumer.interrupt();
+        interruptedConsumer.join();
+        if (queue.hasWaitingConsumer() || queue.offer(1)) {
+            throw new RuntimeException("checkTransfer error: cancelled consumer still waiting");
+        }
+    }
+}
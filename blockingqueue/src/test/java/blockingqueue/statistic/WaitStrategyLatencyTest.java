@@ -0,0 +1,96 @@
+package blockingqueue.statistic;
+
+import blockingqueue.MyBlockingQueue;
+import blockingqueue.array.MyArrayBlockingQueueV6;
+import blockingqueue.wait.BlockingWaitStrategy;
+import blockingqueue.wait.BusySpinWaitStrategy;
+import blockingqueue.wait.SpinThenParkWaitStrategy;
+import blockingqueue.wait.TimeoutParkingWaitStrategy;
+import blockingqueue.wait.WaitStrategy;
+import blockingqueue.wait.YieldingWaitStrategy;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 不同等待策略下v6版本阻塞队列的交接延迟分位数（从生产者put到消费者take返回之间的耗时）
+ * 生产者每次put之间间隔一小段时间，令消费者大部分时间处于等待状态，从而测量的是等待策略的唤醒延迟而不是排队时间
+ */
+public class WaitStrategyLatencyTest {
+
+    /**
+     * 队列容量
+     * */
+    private static final int QUEUE_CAPACITY = 1024;
+
+    /**
+     * 预热的消息数
+     * */
+    private static final int WARMUP_MESSAGE_NUM = 5000;
+
+    /**
+     * 统计的消息数
+     * */
+    private static final int MESSAGE_NUM = 20000;
+
+    /**
+     * 生产者两次put之间的间隔
+     * */
+    private static final long PRODUCE_INTERVAL_NANOS = 10_000L;
+
+    public static void main(String[] args) throws InterruptedException {
+        testLatency("BlockingWaitStrategy", BlockingWaitStrategy::new);
+        testLatency("SpinThenParkWaitStrategy", SpinThenParkWaitStrategy::new);
+        testLatency("TimeoutParkingWaitStrategy", TimeoutParkingWaitStrategy::new);
+        testLatency("YieldingWaitStrategy", YieldingWaitStrategy::new);
+        // 自旋的策略在线程数超过cpu核心数时延迟会急剧恶化
+        testLatency("BusySpinWaitStrategy", BusySpinWaitStrategy::new);
+    }
+
+    private static void testLatency(String name, Supplier<WaitStrategy> waitStrategySupplier) throws InterruptedException {
+        MyBlockingQueue<Long> queue = new MyArrayBlockingQueueV6<>(QUEUE_CAPACITY, waitStrategySupplier.get(), waitStrategySupplier.get());
+
+        int totalNum = WARMUP_MESSAGE_NUM + MESSAGE_NUM;
+        long[] latencies = new long[MESSAGE_NUM];
+
+        Thread consumer = new Thread(() -> {
+            try {
+                for (int i = 0; i < totalNum; i++) {
+                    long produceTime = queue.take();
+                    long latency = System.nanoTime() - produceTime;
+                    if (i >= WARMUP_MESSAGE_NUM) {
+                        latencies[i - WARMUP_MESSAGE_NUM] = latency;
+                    }
+                }
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        consumer.start();
+
+        for (int i = 0; i < totalNum; i++) {
+            queue.put(System.nanoTime());
+            LockSupport.parkNanos(PRODUCE_INTERVAL_NANOS);
+        }
+        consumer.join();
+
+        Arrays.sort(latencies);
+        System.out.println(name
+                + " p50=" + percentile(latencies, 0.5) / 1000 + "us"
+                + " p99=" + percentile(latencies, 0.99) / 1000 + "us"
+                + " p999=" + percentile(latencies, 0.999) / 1000 + "us"
+                + " max=" + latencies[latencies.length - 1] / 1000 + "us");
+    }
+
+    /**
+     * 已排序数组的分位数
+     * */
+    private static long percentile(long[] sortedValues, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedValues.length) - 1;
+        return sortedValues[Math.max(0, Math.min(index, sortedValues.length - 1))];
+    }
+}
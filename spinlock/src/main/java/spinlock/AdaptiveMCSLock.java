@@ -0,0 +1,184 @@
+package spinlock;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 自适应的先自旋后阻塞的MCS锁
+ * 1. 排队方式与MCSLock一致，每个线程只在自己的节点上等待
+ * 2. 等待的线程先自旋一段时间，超过自旋预算仍未获得锁则通过LockSupport.park阻塞，释放锁的前驱节点负责唤醒后继节点
+ * 3. 自旋预算根据锁的平均持有时间动态调整：临界区越短，值得自旋等待的时间越短；临界区很长时自旋被限制在maxSpinNanos以内
+ *    单核机器上自旋没有意义（持有锁的线程此时不可能在运行），直接阻塞
+ */
+public class AdaptiveMCSLock implements SpinLock{
+
+    private static class MCSNode {
+        /**
+         * 当前节点是否还需要等待
+         * */
+        private volatile boolean isLocked;
+
+        /**
+         * 当前节点是否已经（或即将）阻塞，前驱节点释放锁时据此决定是否需要unpark
+         * */
+        private volatile boolean isParked;
+
+        private volatile MCSNode next;
+
+        private final Thread thread = Thread.currentThread();
+    }
+
+    private static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 默认的自旋时间上限（纳秒），与一次park/unpark的开销在同一数量级
+     * */
+    private static final long DEFAULT_MAX_SPIN_NANOS = 50_000L;
+
+    /**
+     * 自旋预算为平均持有时间的倍数（排在前面的节点可能还未释放锁，留出一定余量）
+     * */
+    private static final int SPIN_HOLD_TIME_FACTOR = 2;
+
+    /**
+     * 每自旋多少次检查一次是否超出了自旋预算（避免每次循环都调用System.nanoTime）
+     * */
+    private static final int SPIN_CHECK_INTERVAL = 64;
+
+    private final AtomicReference<MCSNode> tailNode;
+    private final ThreadLocal<MCSNode> curNode;
+
+    /**
+     * 自旋时间上限（纳秒）
+     * */
+    private final long maxSpinNanos;
+
+    /**
+     * 锁平均持有时间（纳秒，指数移动平均）
+     * 只有持有锁的线程在释放锁时才会更新，因此不需要cas
+     * */
+    private volatile long avgHoldNanos;
+
+    /**
+     * 当前持有者获得锁的时间（只被持有锁的线程读写）
+     * */
+    private long lockAcquiredNanos;
+
+    public AdaptiveMCSLock() {
+        this(DEFAULT_MAX_SPIN_NANOS);
+    }
+
+    /**
+     * @param maxSpinNanos 自旋时间上限（纳秒），为0时代表不自旋直接阻塞
+     * */
+    public AdaptiveMCSLock(long maxSpinNanos) {
+        if (maxSpinNanos < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.maxSpinNanos = NCPU > 1 ? maxSpinNanos : 0;
+        this.tailNode = new AtomicReference<>();
+        this.curNode = ThreadLocal.withInitial(MCSNode::new);
+    }
+
+    @Override
+    public void lock() {
+        MCSNode currNode = curNode.get();
+        currNode.isLocked = true;
+        currNode.isParked = false;
+
+        MCSNode preNode = tailNode.getAndSet(currNode);
+        if(preNode != null){
+            preNode.next = currNode;
+
+            if (!spinWait(currNode)) {
+                // 超出自旋预算，阻塞等待
+                // 先标记isParked再重新检查isLocked；前驱节点则是先修改isLocked再检查isParked
+                // 两者都是volatile变量，因此不会出现双方都没看到对方修改而丢失唤醒的情况
+                currNode.isParked = true;
+                while (currNode.isLocked) {
+                    LockSupport.park(this);
+                }
+            }
+        }
+
+        this.lockAcquiredNanos = System.nanoTime();
+    }
+
+    /**
+     * 在自旋预算内等待
+     * @return true 自旋期间获得了锁；false 超出自旋预算
+     * */
+    private boolean spinWait(MCSNode currNode) {
+        long spinNanos = Math.min(maxSpinNanos, avgHoldNanos * SPIN_HOLD_TIME_FACTOR);
+        if (spinNanos <= 0) {
+            return !currNode.isLocked;
+        }
+
+        long deadline = System.nanoTime() + spinNanos;
+        int spins = 0;
+        while (currNode.isLocked) {
+            SpinBackoff.onSpinWait();
+            if (++spins == SPIN_CHECK_INTERVAL) {
+                spins = 0;
+                if (System.nanoTime() - deadline >= 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 只在队列为空时加锁成功（带超时的tryLock使用SpinLock中默认的轮询实现）
+     * */
+    @Override
+    public boolean tryLock() {
+        MCSNode currNode = curNode.get();
+        currNode.isLocked = false;
+        currNode.isParked = false;
+        if (tailNode.compareAndSet(null, currNode)) {
+            this.lockAcquiredNanos = System.nanoTime();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void unlock() {
+        MCSNode currNode = curNode.get();
+
+        // 释放锁之前更新平均持有时间（此时依然持有锁，不存在并发更新）
+        long holdNanos = System.nanoTime() - this.lockAcquiredNanos;
+        long avg = this.avgHoldNanos;
+        this.avgHoldNanos = avg + ((holdNanos - avg) >> 3);
+
+        MCSNode next = currNode.next;
+        if(next == null){
+            if(tailNode.compareAndSet(currNode,null)){
+                return;
+            }
+            // 有新的节点正在入队，等待其设置next引用
+            int step = 0;
+            while ((next = currNode.next) == null) {
+                step = SpinBackoff.DEFAULT.backoff(step);
+            }
+        }
+
+        // 方便GC，同时令当前节点可以被当前线程下一次加锁时复用
+        currNode.next = null;
+        next.isLocked = false;
+        if (next.isParked) {
+            LockSupport.unpark(next.thread);
+        }
+    }
+
+    /**
+     * 当前学习到的锁平均持有时间（纳秒）
+     * */
+    public long getAvgHoldNanos() {
+        return avgHoldNanos;
+    }
+}
@@ -7,6 +7,9 @@ import java.util.concurrent.atomic.AtomicReference;
  * @date 2021/7/22
  *
  * 原始版CLH锁（无显示prev前驱节点引用，无法支持取消加锁等场景）
+ * 除了通过threadLocal查找当前线程节点的lock/unlock，还提供由调用方持有节点的lock(handle)/unlock(handle)，省去threadLocal的查找
+ * 释放锁之后自己的节点还在被后继节点监听，不能立即复用；而前驱节点此时已经没有其它线程引用，因此解锁时回收前驱节点供下次加锁使用
+ * （稳态下加锁解锁没有任何对象分配）
  */
 public class CLHLockV1 implements SpinLock{
     private static class CLHNode {
@@ -17,39 +20,109 @@ public class CLHLockV1 implements SpinLock{
         private volatile boolean isLocked;
     }
 
+    /**
+     * 调用方持有的队列节点句柄（每个线程一个，不能在线程间共享）
+     * */
+    public static final class Handle {
+        /**
+         * 下一次加锁时使用的节点
+         * */
+        private CLHNode node = new CLHNode();
+
+        /**
+         * 本次加锁时的前驱节点，解锁时回收
+         * */
+        private CLHNode preNode;
+    }
+
     private final AtomicReference<CLHNode> tailNode;
-    private final ThreadLocal<CLHNode> curNode;
+    private final ThreadLocal<Handle> curHandle;
+
+    /**
+     * 自旋等待时的退避策略
+     * */
+    private final SpinBackoff backoff;
 
     public CLHLockV1() {
+        this(SpinBackoff.DEFAULT);
+    }
+
+    public CLHLockV1(SpinBackoff backoff) {
+        this.backoff = backoff;
         // 初始化时尾结点指向一个空的CLH节点
         tailNode = new AtomicReference<>(new CLHNode());
         // 设置threadLocal的初始化方法
-        curNode = ThreadLocal.withInitial(CLHNode::new);
+        curHandle = ThreadLocal.withInitial(Handle::new);
     }
 
     @Override
     public void lock() {
-        CLHNode currNode = curNode.get();
+        lock(curHandle.get());
+    }
+
+    public void lock(Handle handle) {
+        CLHNode currNode = handle.node;
         currNode.isLocked = true;
 
         // cas的设置当前节点为tail尾节点，并且获取到设置前的老tail节点
         // 老的tail节点是当前加锁节点的前驱节点（隐式前驱节点），当前节点通过监听其isLocked状态来判断其是否已经解锁
         CLHNode preNode = tailNode.getAndSet(currNode);
+        waitFor(preNode);
+        handle.preNode = preNode;
+
+        // 循环结束，说明其前驱已经释放了锁，当前线程加锁成功
+    }
+
+    private void waitFor(CLHNode preNode) {
+        int step = 0;
         while (preNode.isLocked) {
-            // 无限循环，等待获得锁
+            // 循环退避，等待获得锁
+            step = backoff.backoff(step);
         }
+    }
 
-        // 循环结束，说明其前驱已经释放了锁，当前线程加锁成功
+    /**
+     * CLHLockV1没有前驱节点引用，节点入队后无法撤销，因此只在队尾节点已经释放了锁时才尝试入队
+     * （带超时的tryLock使用SpinLock中默认的轮询实现）
+     * */
+    @Override
+    public boolean tryLock() {
+        return tryLock(curHandle.get());
+    }
+
+    public boolean tryLock(Handle handle) {
+        CLHNode preNode = tailNode.get();
+        if (preNode.isLocked) {
+            return false;
+        }
+
+        CLHNode currNode = handle.node;
+        currNode.isLocked = true;
+        if (tailNode.compareAndSet(preNode, currNode)) {
+            // 节点会被回收复用，读取isLocked与cas之间preNode可能已经被回收并重新入队（ABA）
+            // 此时当前节点已经排在它之后，只能等待其释放（不会丢失锁，只是这种极少数情况下tryLock需要短暂等待）
+            waitFor(preNode);
+            handle.preNode = preNode;
+            return true;
+        }
+
+        // 入队失败，节点没有被其它线程引用，恢复状态以便下次复用
+        currNode.isLocked = false;
+        return false;
     }
 
     @Override
     public void unlock() {
-        CLHNode node = curNode.get();
+        unlock(curHandle.get());
+    }
+
+    public void unlock(Handle handle) {
+        CLHNode node = handle.node;
 
-        // 清除当前threadLocal中的节点，避免再次Lock加锁时获取到之前的节点
-        curNode.remove();
+        // 当前节点还在被后继节点监听，下次加锁改为使用已经没有线程引用的前驱节点
+        handle.node = handle.preNode;
+        handle.preNode = null;
 
-        // 先清除thread节点在释放锁，否则同一线程多次加锁在并发时会有问题
         node.isLocked = false;
     }
 }
@@ -1,99 +1,190 @@
 package spinlock;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @author xiongyx
  * @date 2021/7/29
+ *
+ * 支持超时放弃的CLH锁（显式的prev前驱节点引用）
+ * 节点的prev字段同时表示节点的状态：
+ * 1. null：节点对应的线程正在排队或者持有锁
+ * 2. AVAILABLE：节点对应的线程已经释放了锁，其后继节点获得锁
+ * 3. 其它节点：节点对应的线程已经超时放弃，prev指向它放弃时正在等待的前驱节点，其后继节点转而等待该前驱节点
+ * 释放锁和超时放弃在节点上留下的状态不同，因此后继节点不会把一个放弃的节点误认为锁已经被释放
+ *
+ * 与CLHLockV1一样提供由调用方持有节点的lock(handle)/unlock(handle)，并在加锁成功后回收最终等待的前驱节点
+ * 队尾始终不为空（初始时为一个已释放的节点），每次加锁占用一个节点、回收一个节点，稳态下没有对象分配
+ * 只有超时放弃的节点（之后依然可能被后继节点引用）不能回收，需要为句柄分配新的节点
  */
 public class CLHLockV2 implements SpinLock{
 
     private static class CLHNode {
         private volatile CLHNode prev;
-        private volatile boolean isLocked;
-
-        public CLHNode() {
-        }
+    }
 
-        public CLHNode(CLHNode prev, boolean isLocked) {
-            this.prev = prev;
-            this.isLocked = isLocked;
-        }
+    /**
+     * 调用方持有的队列节点句柄（每个线程一个，不能在线程间共享）
+     * */
+    public static final class Handle {
+        /**
+         * 下一次加锁时使用的节点
+         * */
+        private CLHNode node = new CLHNode();
+
+        /**
+         * 本次加锁最终等待的前驱节点（已释放锁），解锁时回收
+         * */
+        private CLHNode preNode;
     }
 
-    private static final CLHNode DUMMY_NODE = new CLHNode(null,false);
+    /**
+     * 已释放锁的标识
+     * */
+    private static final CLHNode AVAILABLE = new CLHNode();
 
-    private final CLHNode head;
+    /**
+     * 队尾节点，其prev为AVAILABLE时代表锁空闲且没有线程在排队
+     * */
     private final AtomicReference<CLHNode> tail;
-    private final ThreadLocal<CLHNode> curNode;
+    private final ThreadLocal<Handle> curHandle;
+
+    /**
+     * 自旋等待时的退避策略
+     * */
+    private final SpinBackoff backoff;
 
     public CLHLockV2() {
-        head = DUMMY_NODE;
-        tail = new AtomicReference<>(DUMMY_NODE);
-        curNode = ThreadLocal.withInitial(CLHNode::new);
+        this(SpinBackoff.DEFAULT);
+    }
+
+    public CLHLockV2(SpinBackoff backoff) {
+        this.backoff = backoff;
+        CLHNode initNode = new CLHNode();
+        initNode.prev = AVAILABLE;
+        tail = new AtomicReference<>(initNode);
+        curHandle = ThreadLocal.withInitial(Handle::new);
     }
 
     @Override
     public void lock() {
-        CLHNode currentNode = curNode.get();
-        currentNode.isLocked = true;
+        lock(curHandle.get());
+    }
+
+    public void lock(Handle handle) {
+        CLHNode currentNode = handle.node;
+        currentNode.prev = null;
 
         // cas的设置为当前tail为新的tail节点
-        currentNode.prev = tail.getAndSet(currentNode);
+        CLHNode prevNode = tail.getAndSet(currentNode);
+        handle.preNode = waitFor(prevNode);
+    }
 
+    /**
+     * 等待前驱节点释放锁（跳过超时放弃的节点）
+     * @return 最终释放了锁的前驱节点
+     * */
+    private CLHNode waitFor(CLHNode prevNode) {
+        int step = 0;
         while(true){
-            while(currentNode.prev.isLocked){
+            CLHNode prevState = prevNode.prev;
+            if (prevState == AVAILABLE) {
+                // 前驱节点已经释放了锁
+                return prevNode;
             }
-
-            // 内层while循环结束，说明前驱节点已经释放了锁
-            CLHNode prevNode = currentNode.prev;
-            if(prevNode == head){
-                // 如果前驱节点为head（Dummy节点）
-                return;
-            }else{
-                currentNode.prev = prevNode.prev;
+            if (prevState != null) {
+                // 前驱节点已经超时放弃，转而等待它的前驱节点
+                prevNode = prevState;
+                continue;
             }
+            step = backoff.backoff(step);
         }
     }
 
     /**
-     * 加锁（timeout毫秒内未成功加锁，则主动退出加锁）
+     * 只在锁空闲且没有线程在排队时加锁成功
      * */
-    public boolean lock(long timeout) {
-        CLHNode currentNode = curNode.get();
-        currentNode.isLocked = true;
-
-        // cas的设置为当前tail为新的tail节点
-        currentNode.prev = tail.getAndSet(currentNode);
+    @Override
+    public boolean tryLock() {
+        return tryLock(curHandle.get());
+    }
 
-        final long deadline = System.currentTimeMillis() + timeout;
+    public boolean tryLock(Handle handle) {
+        CLHNode tailNode = tail.get();
+        if (tailNode.prev != AVAILABLE) {
+            return false;
+        }
 
-        while(true){
-            while(currentNode.prev.isLocked){
-                timeout = deadline - System.currentTimeMillis();
-                if (timeout <= 0L) {
-                    // 加锁超时，退出加锁
-                    unlock();
-                    // 当前已经超时，加锁失败返回false
-                    return false;
-                }
-            }
+        CLHNode currentNode = handle.node;
+        currentNode.prev = null;
+        // cas失败时当前节点没有被其它线程引用，依然留在句柄中供下次复用
+        if (!tail.compareAndSet(tailNode, currentNode)) {
+            return false;
+        }
+        // 队尾节点已经释放了锁，成功接在其后即获得锁
+        // 节点会被回收复用，读取状态与cas之间tailNode可能已经被回收并重新入队（ABA），此时只能按照排队的方式等待它
+        handle.preNode = waitFor(tailNode);
+        return true;
+    }
 
-            // 内层while循环结束，说明前驱节点已经释放了锁
-            CLHNode prevNode = currentNode.prev;
-            if(prevNode == head){
-                // 如果前驱节点为head（Dummy节点）
+    @Override
+    public boolean tryLock(long timeout, TimeUnit unit) {
+        Handle handle = curHandle.get();
+        CLHNode currentNode = handle.node;
+        currentNode.prev = null;
+
+        CLHNode prevNode = tail.getAndSet(currentNode);
+
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int step = 0;
+        while (true) {
+            CLHNode prevState = prevNode.prev;
+            if (prevState == AVAILABLE) {
+                handle.preNode = prevNode;
                 return true;
-            }else{
-                currentNode.prev = prevNode.prev;
             }
+            if (prevState != null) {
+                prevNode = prevState;
+                continue;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+            step = backoff.backoff(step);
         }
+
+        // 加锁超时，放弃当前节点（不能调用unlock，那会令后继节点误以为获得了锁）
+        // 放弃的节点之后可能依然被后继节点引用，句柄换用新的节点
+        handle.node = new CLHNode();
+        if (!tail.compareAndSet(currentNode, prevNode)) {
+            // 当前节点已经有了后继，令后继节点转而等待当前节点的前驱
+            currentNode.prev = prevNode;
+        }
+        // 当前节点是队尾时，直接将队尾恢复为前驱节点即可
+        return false;
+    }
+
+    /**
+     * 加锁（timeout毫秒内未成功加锁，则主动退出加锁）
+     * */
+    public boolean lock(long timeout) {
+        return tryLock(timeout, TimeUnit.MILLISECONDS);
     }
 
     @Override
     public void unlock() {
-        CLHNode currentNode = curNode.get();
-        curNode.remove();
-        currentNode.isLocked = false;
+        unlock(curHandle.get());
+    }
+
+    public void unlock(Handle handle) {
+        CLHNode currentNode = handle.node;
+
+        // 当前节点之后可能被后继节点监听，下次加锁改为使用已经没有线程引用的前驱节点
+        handle.node = handle.preNode;
+        handle.preNode = null;
+
+        // 通知后继节点获得锁（没有后继时当前节点作为已释放的队尾留在队列中）
+        currentNode.prev = AVAILABLE;
     }
 }
@@ -0,0 +1,85 @@
+package spinlock;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 基于单个计数器的读写自旋锁（读优先）
+ * state为-1时代表写锁被持有，大于等于0时为持有读锁的线程数
+ * 只要还有读者，写者就无法获得锁，读多写少时写者可能饥饿
+ */
+public class CentralizedRWSpinLock implements ReadWriteSpinLock{
+
+    private static final int WRITE_LOCKED = -1;
+
+    private final AtomicInteger state = new AtomicInteger();
+
+    private final SpinBackoff backoff;
+
+    private final SpinLock readLock = new ReadLock();
+
+    private final SpinLock writeLock = new WriteLock();
+
+    public CentralizedRWSpinLock() {
+        this(SpinBackoff.DEFAULT);
+    }
+
+    public CentralizedRWSpinLock(SpinBackoff backoff) {
+        this.backoff = backoff;
+    }
+
+    @Override
+    public SpinLock readLock() {
+        return readLock;
+    }
+
+    @Override
+    public SpinLock writeLock() {
+        return writeLock;
+    }
+
+    private class ReadLock implements SpinLock {
+        @Override
+        public void lock() {
+            int step = 0;
+            while (!tryLock()) {
+                step = backoff.backoff(step);
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            // 写锁未被持有时，读者数量+1
+            int current = state.get();
+            return current != WRITE_LOCKED && state.compareAndSet(current, current + 1);
+        }
+
+        @Override
+        public void unlock() {
+            state.decrementAndGet();
+        }
+    }
+
+    private class WriteLock implements SpinLock {
+        @Override
+        public void lock() {
+            int step = 0;
+            while (!tryLock()) {
+                step = backoff.backoff(step);
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            // 既没有读者也没有写者时才能获得写锁（先读后cas，等待时不写共享的缓存行）
+            return state.get() == 0 && state.compareAndSet(0, WRITE_LOCKED);
+        }
+
+        @Override
+        public void unlock() {
+            state.set(0);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package spinlock;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * cohort锁（NUMA感知的锁）
+ * 1. 线程按照clusterMapper被划分到不同的cluster（例如同一个cpu插槽/NUMA节点上的线程），每个cluster有一把本地的MCSLock
+ * 2. 所有cluster共享一把全局的TicketSpinLock，线程需要先获得本地锁，再获得全局锁
+ * 3. 释放锁时，如果同一个cluster内还有线程在排队，则只释放本地锁，全局锁直接传递给本地的后继（不需要跨cluster交接）
+ *    连续在cluster内传递maxLocalPass次之后强制释放全局锁，避免其它cluster饥饿
+ * 全局锁可能由cluster内的另一个线程释放，因此要求全局锁与持有线程无关，TicketSpinLock满足这一点
+ */
+public class CohortLock implements SpinLock{
+
+    /**
+     * 默认在cluster内部连续传递锁的次数上限
+     * */
+    private static final int DEFAULT_MAX_LOCAL_PASS = 64;
+
+    private static class Cluster {
+        private final MCSLock localLock;
+
+        /**
+         * 当前cluster是否持有全局锁（由本地锁保护）
+         * */
+        private boolean globalLockHeld;
+
+        /**
+         * 在cluster内部连续传递锁的次数（由本地锁保护）
+         * */
+        private int localPassCount;
+
+        private Cluster(SpinBackoff backoff) {
+            this.localLock = new MCSLock(backoff);
+        }
+    }
+
+    private final TicketSpinLock globalLock;
+
+    private final Cluster[] clusters;
+
+    /**
+     * 线程到cluster下标的映射
+     * */
+    private final ToIntFunction<Thread> clusterMapper;
+
+    private final int maxLocalPass;
+
+    /**
+     * 当前持有锁的线程所在的cluster（只被持有锁的线程读写）
+     * */
+    private Cluster ownerCluster;
+
+    /**
+     * 默认按照线程id将线程均匀的划分到clusterNum个cluster中
+     * */
+    public CohortLock(int clusterNum) {
+        this(clusterNum, thread -> (int) (thread.getId() % clusterNum), DEFAULT_MAX_LOCAL_PASS, SpinBackoff.DEFAULT);
+    }
+
+    /**
+     * @param clusterNum cluster的数量
+     * @param clusterMapper 线程到cluster下标（[0, clusterNum)）的映射
+     *                      java中无法直接获取线程当前所在的cpu，通常将各个NUMA节点上绑核的线程池的线程映射到对应的节点
+     * @param maxLocalPass 在cluster内部连续传递锁的次数上限
+     * */
+    public CohortLock(int clusterNum, ToIntFunction<Thread> clusterMapper, int maxLocalPass, SpinBackoff backoff) {
+        if (clusterNum <= 0 || clusterMapper == null || maxLocalPass < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.globalLock = new TicketSpinLock(backoff);
+        this.clusters = new Cluster[clusterNum];
+        for (int i = 0; i < clusterNum; i++) {
+            this.clusters[i] = new Cluster(backoff);
+        }
+        this.clusterMapper = clusterMapper;
+        this.maxLocalPass = maxLocalPass;
+    }
+
+    private Cluster currentCluster() {
+        int index = clusterMapper.applyAsInt(Thread.currentThread());
+        if (index < 0 || index >= clusters.length) {
+            throw new IllegalStateException("clusterMapper return invalid index=" + index);
+        }
+        return clusters[index];
+    }
+
+    @Override
+    public void lock() {
+        Cluster cluster = currentCluster();
+        cluster.localLock.lock();
+        if (!cluster.globalLockHeld) {
+            // 全局锁没有从本地的前驱传递过来，需要自己获取
+            globalLock.lock();
+            cluster.globalLockHeld = true;
+        }
+        this.ownerCluster = cluster;
+    }
+
+    /**
+     * 本地锁与全局锁都不等待（带超时的tryLock使用SpinLock中默认的轮询实现）
+     * */
+    @Override
+    public boolean tryLock() {
+        Cluster cluster = currentCluster();
+        if (!cluster.localLock.tryLock()) {
+            return false;
+        }
+        if (!cluster.globalLockHeld) {
+            if (!globalLock.tryLock()) {
+                // 全局锁获取失败，放弃本地锁（globalLockHeld依然为false，本地的后继会自己去获取全局锁）
+                cluster.localLock.unlock();
+                return false;
+            }
+            cluster.globalLockHeld = true;
+        }
+        this.ownerCluster = cluster;
+        return true;
+    }
+
+    @Override
+    public void unlock() {
+        Cluster cluster = this.ownerCluster;
+        this.ownerCluster = null;
+
+        if (cluster.localPassCount < maxLocalPass && cluster.localLock.hasQueuedSuccessor()) {
+            // cluster内有线程在排队，全局锁保持持有，直接通过本地锁传递给后继
+            cluster.localPassCount++;
+        } else {
+            cluster.localPassCount = 0;
+            cluster.globalLockHeld = false;
+            globalLock.unlock();
+        }
+        cluster.localLock.unlock();
+    }
+}
@@ -0,0 +1,209 @@
+package spinlock;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * flat combining（平铺合并）执行器
+ * 适用于大量线程通过锁对共享状态执行很小的操作（例如SpinLockTestUtil中的count[0]++）的场景：
+ * 1. 每个线程有一个自己的发布槽位，执行操作时先把操作写入自己的槽位
+ * 2. 之后尝试获取合并锁，获取成功的线程成为合并者，扫描所有槽位，依次执行所有已发布的操作并写回结果
+ * 3. 没有获取到合并锁的线程只需要在自己的槽位上等待结果（或等到合并锁空闲时自己成为合并者）
+ * 共享状态一直被合并者所在的核心访问，缓存行不需要在各个核心之间来回传递，锁也只需要在合并者之间交接一次，而不是每个操作交接一次
+ * 4. 合并者每CLEANUP_INTERVAL轮合并清理一次槽位链表，移除超过MAX_IDLE_PASSES轮没有发布过操作的槽位
+ *    （例如已经结束的线程、被线程池替换掉的线程的槽位），槽位的所属线程再次执行操作时重新加入链表
+ */
+public class FlatCombiningExecutor<S> {
+
+    /**
+     * 每隔多少轮合并清理一次槽位链表（2的幂）
+     * */
+    private static final int CLEANUP_INTERVAL = 64;
+
+    /**
+     * 槽位超过多少轮合并没有发布过操作时被移出链表
+     * */
+    private static final int MAX_IDLE_PASSES = 256;
+
+    /**
+     * 线程的发布槽位
+     * */
+    private static final class Slot {
+        /**
+         * 待执行的操作，合并者执行完后置为null（volatile写，令结果对发布者可见）
+         * */
+        private volatile Function<Object, Object> operation;
+
+        private Object result;
+
+        private Throwable error;
+
+        /**
+         * 所有槽位组成的链表（所属线程只在头部插入，合并者持有合并锁时移除）
+         * */
+        private Slot next;
+
+        /**
+         * 是否在链表中，只有所属线程会将其置为true（重新加入链表），只有合并者会将其置为false（移出链表）
+         * */
+        private volatile boolean active;
+
+        /**
+         * 最近一次被执行操作时的合并轮数（只被合并者读写）
+         * */
+        private long lastServedPass;
+    }
+
+    /**
+     * 被保护的共享状态
+     * */
+    private final S state;
+
+    /**
+     * 合并锁
+     * */
+    private final TTASSpinLock combinerLock = new TTASSpinLock(SpinBackoff.BUSY_SPIN);
+
+    /**
+     * 槽位链表的头部
+     * */
+    private final AtomicReference<Slot> slotHead = new AtomicReference<>();
+
+    private final ThreadLocal<Slot> curSlot;
+
+    private final SpinBackoff backoff;
+
+    /**
+     * 合并的轮数（只被合并者读写）
+     * */
+    private long combinePass;
+
+    public FlatCombiningExecutor(S state) {
+        this(state, SpinBackoff.DEFAULT);
+    }
+
+    public FlatCombiningExecutor(S state, SpinBackoff backoff) {
+        this.state = state;
+        this.backoff = backoff;
+        this.curSlot = ThreadLocal.withInitial(Slot::new);
+    }
+
+    /**
+     * 槽位插入链表头部（只被所属线程调用）
+     * */
+    private void enlist(Slot slot) {
+        slot.active = true;
+        Slot head;
+        do {
+            head = slotHead.get();
+            slot.next = head;
+        } while (!slotHead.compareAndSet(head, slot));
+    }
+
+    /**
+     * 对共享状态执行操作（与其它线程的操作互斥）
+     * @param operation 操作，不要求线程安全，但不能阻塞或再次调用当前执行器
+     * @return 操作的返回值
+     * */
+    @SuppressWarnings("unchecked")
+    public <R> R execute(Function<? super S, ? extends R> operation) {
+        Slot slot = curSlot.get();
+        slot.operation = (Function<Object, Object>) operation;
+
+        int step = 0;
+        while (slot.operation != null) {
+            // 先发布操作再检查active；合并者则是先移出链表、置active为false，之后的合并中不会再执行该槽位的操作
+            // 因此等待期间槽位被移出链表时，总能在这里发现并重新加入链表
+            if (!slot.active) {
+                enlist(slot);
+            }
+            if (combinerLock.tryLock()) {
+                try {
+                    combine();
+                } finally {
+                    combinerLock.unlock();
+                }
+                // 合并前槽位恰好被上一个合并者移出链表时，自己的操作可能还没有被执行，需要继续循环
+                continue;
+            }
+            step = backoff.backoff(step);
+        }
+
+        Object result = slot.result;
+        Throwable error = slot.error;
+        slot.result = null;
+        slot.error = null;
+        if (error != null) {
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            }
+            if (error instanceof Error) {
+                throw (Error) error;
+            }
+            throw new RuntimeException(error);
+        }
+        return (R) result;
+    }
+
+    /**
+     * 对共享状态执行操作（没有返回值）
+     * */
+    public void run(Consumer<? super S> operation) {
+        execute(s -> {
+            operation.accept(s);
+            return null;
+        });
+    }
+
+    /**
+     * 合并者扫描所有槽位，执行已发布的操作
+     * */
+    private void combine() {
+        long pass = ++combinePass;
+        boolean cleanup = (pass & (CLEANUP_INTERVAL - 1)) == 0;
+
+        Slot prev = null;
+        Slot slot = slotHead.get();
+        while (slot != null) {
+            // 槽位被移出链表后所属线程可能会重新插入链表并修改next，因此先读取next
+            Slot next = slot.next;
+            Function<Object, Object> operation = slot.operation;
+            if (operation != null) {
+                try {
+                    slot.result = operation.apply(state);
+                } catch (Throwable e) {
+                    slot.error = e;
+                }
+                slot.lastServedPass = pass;
+                // 写回结果之后再清空操作，发布者看到operation为null时必然也能看到结果
+                slot.operation = null;
+                prev = slot;
+            } else if (!(cleanup && pass - slot.lastServedPass > MAX_IDLE_PASSES && unlink(prev, slot, next))) {
+                prev = slot;
+            }
+            slot = next;
+        }
+    }
+
+    /**
+     * 将空闲的槽位移出链表
+     * @return 是否移除成功
+     * */
+    private boolean unlink(Slot prev, Slot slot, Slot next) {
+        if (prev == null) {
+            // 头部节点可能同时有新的槽位在插入，cas失败时留到下一次清理
+            if (!slotHead.compareAndSet(slot, next)) {
+                return false;
+            }
+        } else {
+            prev.next = next;
+        }
+        // 移出链表之后再置active为false，所属线程看到false时槽位必然已经不在链表中，重新插入不会破坏链表
+        slot.active = false;
+        return true;
+    }
+}
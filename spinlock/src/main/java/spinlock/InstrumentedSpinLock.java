@@ -0,0 +1,309 @@
+package spinlock;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 带统计的自旋锁装饰器
+ * 统计加锁次数、发生竞争的加锁次数、退避（自旋）轮数、等待时间以及持有时间的分布
+ * 1. 加锁时先tryLock，成功则为无竞争的加锁；失败则为发生竞争的加锁，调用被装饰锁的lock并统计等待时间
+ *    （tryLock对排队锁而言只在队列为空时成功，不会插队）
+ * 2. 退避轮数通过替换被装饰锁的退避策略统计，因此需要通过接收SpinBackoff的构造方法创建被装饰的锁
+ *    退避发生在被装饰锁内部的等待循环中，拿不到当前线程的计数器，因此累加在LongAdder中（避免每一轮退避都查找threadLocal）
+ * 3. 为了降低开销，统计数据先累加在每个线程自己的计数器中（无竞争、无volatile写），
+ *    由LockProfiler生成报告时再合并所有线程的计数器（合并时读到的是各线程较新但不保证最新的值）
+ *    合并时已经结束的线程的计数器会被累加到retiredCounter中并移除，线程池不断替换线程时计数器不会无限堆积
+ * 4. 持有时间每HOLD_TIME_SAMPLE_INTERVAL次加锁采样一次，避免每次加锁解锁都调用System.nanoTime
+ * 创建时自动注册到LockProfiler（LockProfiler只持有弱引用）
+ */
+public class InstrumentedSpinLock implements SpinLock{
+
+    /**
+     * 持有时间分布的桶数，第i个桶统计持有时间在[2^i, 2^(i+1))纳秒之间的次数
+     * */
+    static final int HOLD_TIME_BUCKET_NUM = 64;
+
+    /**
+     * 持有时间的采样间隔（2的幂）
+     * */
+    private static final int HOLD_TIME_SAMPLE_INTERVAL = 16;
+
+    /**
+     * 单个线程在单把锁上的计数器（只被所属线程修改）
+     * */
+    static final class Counter {
+        /**
+         * 所属线程（弱引用，不阻止已结束的线程被回收）
+         * */
+        final WeakReference<Thread> owner;
+
+        long acquireCount;
+        long contendedCount;
+        long waitNanos;
+        final long[] holdTimeBuckets = new long[HOLD_TIME_BUCKET_NUM];
+
+        /**
+         * 本次加锁成功的时间（用于计算持有时间），为0时代表本次不采样
+         * */
+        long acquiredNanos;
+
+        Counter(Thread owner) {
+            this.owner = new WeakReference<>(owner);
+        }
+
+        boolean isOwnerTerminated() {
+            Thread thread = owner.get();
+            return thread == null || !thread.isAlive();
+        }
+    }
+
+    /**
+     * 统计退避轮数的退避策略
+     * */
+    private final class CountingSpinBackoff extends SpinBackoff {
+        private final SpinBackoff backoff;
+
+        private CountingSpinBackoff(SpinBackoff backoff) {
+            super(backoff);
+            this.backoff = backoff;
+        }
+
+        @Override
+        public int backoff(int step) {
+            spinRounds.increment();
+            return backoff.backoff(step);
+        }
+    }
+
+    private final String name;
+
+    private final SpinLock spinLock;
+
+    private final ThreadLocal<Counter> counter;
+
+    /**
+     * 所有存活线程的计数器
+     * */
+    private final Queue<Counter> counters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 已经结束的线程的计数器之和（只在getStats中访问）
+     * */
+    private final Counter retiredCounter = new Counter(null);
+
+    /**
+     * 退避轮数
+     * */
+    private final LongAdder spinRounds = new LongAdder();
+
+    /**
+     * LockProfiler持有的弱引用
+     * */
+    final WeakReference<InstrumentedSpinLock> profilerRef;
+
+    /**
+     * 当前持有锁的线程的计数器（由锁本身保护，解锁时不需要再查找threadLocal）
+     * */
+    private Counter holderCounter;
+
+    /**
+     * @param lockFactory 以退避策略创建被装饰锁的方法，例如MCSLock::new
+     * @param backoff 被装饰锁实际使用的退避策略
+     * */
+    public InstrumentedSpinLock(String name, Function<SpinBackoff, SpinLock> lockFactory, SpinBackoff backoff) {
+        this.name = name;
+        this.counter = ThreadLocal.withInitial(this::newCounter);
+        this.spinLock = lockFactory.apply(new CountingSpinBackoff(backoff));
+        this.profilerRef = LockProfiler.register(this);
+    }
+
+    /**
+     * 直接装饰一把已有的锁（不统计退避轮数）
+     * */
+    public InstrumentedSpinLock(String name, SpinLock spinLock) {
+        this.name = name;
+        this.counter = ThreadLocal.withInitial(this::newCounter);
+        this.spinLock = spinLock;
+        this.profilerRef = LockProfiler.register(this);
+    }
+
+    private Counter newCounter() {
+        Counter newCounter = new Counter(Thread.currentThread());
+        counters.add(newCounter);
+        return newCounter;
+    }
+
+    @Override
+    public void lock() {
+        Counter currentCounter = counter.get();
+        if (!spinLock.tryLock()) {
+            long start = System.nanoTime();
+            spinLock.lock();
+            currentCounter.waitNanos += System.nanoTime() - start;
+            currentCounter.contendedCount++;
+        }
+        onAcquired(currentCounter);
+    }
+
+    @Override
+    public boolean tryLock() {
+        if (!spinLock.tryLock()) {
+            return false;
+        }
+        onAcquired(counter.get());
+        return true;
+    }
+
+    @Override
+    public boolean tryLock(long timeout, TimeUnit unit) {
+        if (tryLock()) {
+            return true;
+        }
+
+        Counter currentCounter = counter.get();
+        long start = System.nanoTime();
+        boolean success = spinLock.tryLock(timeout, unit);
+        currentCounter.waitNanos += System.nanoTime() - start;
+        currentCounter.contendedCount++;
+        if (success) {
+            onAcquired(currentCounter);
+        }
+        return success;
+    }
+
+    private void onAcquired(Counter currentCounter) {
+        currentCounter.acquiredNanos = (currentCounter.acquireCount++ & (HOLD_TIME_SAMPLE_INTERVAL - 1)) == 0 ? System.nanoTime() : 0;
+        this.holderCounter = currentCounter;
+    }
+
+    @Override
+    public void unlock() {
+        Counter currentCounter = this.holderCounter;
+        if (currentCounter.acquiredNanos != 0) {
+            long holdNanos = System.nanoTime() - currentCounter.acquiredNanos;
+            currentCounter.holdTimeBuckets[63 - Long.numberOfLeadingZeros(Math.max(holdNanos, 1))]++;
+        }
+        spinLock.unlock();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 合并所有线程的计数器，同时将已经结束的线程的计数器累加到retiredCounter中
+     * （加锁保证并发的getStats不会重复累加同一个计数器）
+     * */
+    public synchronized Stats getStats() {
+        Iterator<Counter> iterator = counters.iterator();
+        while (iterator.hasNext()) {
+            Counter c = iterator.next();
+            // 线程结束之前的写入对isAlive返回false之后的读取可见
+            if (c.isOwnerTerminated()) {
+                iterator.remove();
+                add(retiredCounter, c);
+            }
+        }
+
+        Counter total = new Counter(null);
+        add(total, retiredCounter);
+        for (Counter c : counters) {
+            add(total, c);
+        }
+
+        Stats stats = new Stats(name);
+        stats.acquireCount = total.acquireCount;
+        stats.contendedCount = total.contendedCount;
+        stats.spinRounds = spinRounds.sum();
+        stats.waitNanos = total.waitNanos;
+        System.arraycopy(total.holdTimeBuckets, 0, stats.holdTimeBuckets, 0, HOLD_TIME_BUCKET_NUM);
+        return stats;
+    }
+
+    private static void add(Counter target, Counter c) {
+        target.acquireCount += c.acquireCount;
+        target.contendedCount += c.contendedCount;
+        target.waitNanos += c.waitNanos;
+        for (int i = 0; i < HOLD_TIME_BUCKET_NUM; i++) {
+            target.holdTimeBuckets[i] += c.holdTimeBuckets[i];
+        }
+    }
+
+    /**
+     * 某一时刻单把锁的统计数据
+     * */
+    public static class Stats {
+        private final String name;
+        private long acquireCount;
+        private long contendedCount;
+        private long spinRounds;
+        private long waitNanos;
+        private final long[] holdTimeBuckets = new long[HOLD_TIME_BUCKET_NUM];
+
+        private Stats(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getAcquireCount() {
+            return acquireCount;
+        }
+
+        public long getContendedCount() {
+            return contendedCount;
+        }
+
+        public long getSpinRounds() {
+            return spinRounds;
+        }
+
+        public long getWaitNanos() {
+            return waitNanos;
+        }
+
+        /**
+         * 持有时间的分位数（采样统计，取所在桶的上界，精度为2倍以内）
+         * */
+        public long getHoldNanosPercentile(double percentile) {
+            long total = 0;
+            for (long count : holdTimeBuckets) {
+                total += count;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long threshold = (long) Math.ceil(percentile * total);
+            long accumulated = 0;
+            for (int i = 0; i < HOLD_TIME_BUCKET_NUM; i++) {
+                accumulated += holdTimeBuckets[i];
+                if (accumulated >= threshold) {
+                    return i >= 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public String toString() {
+            return name
+                    + " acquire=" + acquireCount
+                    + " contended=" + contendedCount
+                    + String.format("(%.1f%%)", acquireCount == 0 ? 0 : contendedCount * 100.0 / acquireCount)
+                    + " spinRounds=" + spinRounds
+                    + " avgWait=" + (contendedCount == 0 ? 0 : waitNanos / contendedCount) + "ns"
+                    + " holdP50<=" + getHoldNanosPercentile(0.5) + "ns"
+                    + " holdP99<=" + getHoldNanosPercentile(0.99) + "ns";
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package spinlock;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 锁竞争分析器
+ * 所有InstrumentedSpinLock创建时都会注册到这里，按需生成竞争最激烈的前N把锁的报告
+ * 分析器只弱引用已注册的锁，不再被使用的锁（例如生命周期很短的锁）可以被正常回收，回收后自动从分析器中移除
+ */
+public class LockProfiler {
+
+    private static final Set<WeakReference<InstrumentedSpinLock>> LOCKS = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 已被回收的锁对应的弱引用
+     * */
+    private static final ReferenceQueue<InstrumentedSpinLock> COLLECTED = new ReferenceQueue<>();
+
+    /**
+     * @return 分析器持有的弱引用（注销时使用）
+     * */
+    static WeakReference<InstrumentedSpinLock> register(InstrumentedSpinLock lock) {
+        expungeCollected();
+        WeakReference<InstrumentedSpinLock> lockRef = new WeakReference<>(lock, COLLECTED);
+        LOCKS.add(lockRef);
+        return lockRef;
+    }
+
+    /**
+     * 注销（不再使用的锁）
+     * */
+    public static void unregister(InstrumentedSpinLock lock) {
+        LOCKS.remove(lock.profilerRef);
+    }
+
+    /**
+     * 按照发生竞争的加锁次数（相同时按等待时间）降序排列的前topN把锁的统计数据
+     * */
+    public static List<InstrumentedSpinLock.Stats> topContended(int topN) {
+        expungeCollected();
+        List<InstrumentedSpinLock.Stats> statsList = new ArrayList<>();
+        for (WeakReference<InstrumentedSpinLock> lockRef : LOCKS) {
+            InstrumentedSpinLock lock = lockRef.get();
+            if (lock != null) {
+                statsList.add(lock.getStats());
+            }
+        }
+        statsList.sort(Comparator.comparingLong(InstrumentedSpinLock.Stats::getContendedCount)
+                .thenComparingLong(InstrumentedSpinLock.Stats::getWaitNanos)
+                .reversed());
+        return statsList.size() > topN ? statsList.subList(0, topN) : statsList;
+    }
+
+    /**
+     * 竞争最激烈的前topN把锁的报告
+     * */
+    public static String report(int topN) {
+        StringBuilder report = new StringBuilder("==== top " + topN + " contended locks ====");
+        for (InstrumentedSpinLock.Stats stats : topContended(topN)) {
+            report.append(System.lineSeparator()).append(stats);
+        }
+        return report.toString();
+    }
+
+    /**
+     * 移除已被回收的锁
+     * */
+    private static void expungeCollected() {
+        Reference<? extends InstrumentedSpinLock> lockRef;
+        while ((lockRef = COLLECTED.poll()) != null) {
+            LOCKS.remove(lockRef);
+        }
+    }
+}
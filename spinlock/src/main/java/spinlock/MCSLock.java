@@ -1,27 +1,61 @@
 package spinlock;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @author xiongyx
  * @date 2021/7/24
+ *
+ * MCS锁（支持超时放弃）
+ * 节点的状态通过cas在WAITING、GRANTED、CANCELLED之间转换：
+ * 1. 释放锁时将后继节点cas的从WAITING修改为GRANTED
+ * 2. 等待超时时将自己的节点cas的从WAITING修改为CANCELLED，cas失败说明前驱恰好把锁交给了自己，此时依然加锁成功
+ * 放弃的节点留在队列中，由释放锁的线程跳过（继续交给其后继节点）
+ *
+ * 除了通过threadLocal查找当前线程节点的lock/unlock，还提供由调用方持有节点的lock(node)/unlock(node)，省去threadLocal的查找
+ * MCS的节点在解锁后就不再被其它线程引用，同一个节点可以直接反复使用
  */
 public class MCSLock implements SpinLock{
 
-    private static class MCSNode {
+    private static final int WAITING = 0;
+    private static final int GRANTED = 1;
+    private static final int CANCELLED = 2;
+
+    /**
+     * 队列节点（调用方自己持有时，每个线程一个，不能在线程间共享）
+     * */
+    public static class MCSNode {
         /**
-         * 获取到锁的线程其后继争用锁的节点会持续不断的查询isLocked的值
-         * 使用volatile修饰，使得释放锁修改isLocked时不会出现线程间变量不可见的问题
+         * 获取到锁的线程其后继争用锁的节点会持续不断的查询state的值
+         * 释放锁与超时放弃可能同时发生，因此通过cas修改
          * */
-        private volatile boolean isLocked;
+        private final AtomicInteger state = new AtomicInteger(GRANTED);
 
-        private MCSNode next;
+        /**
+         * 释放锁的线程跳过放弃的节点时会读取其它线程节点的next，因此使用volatile修饰
+         * */
+        private volatile MCSNode next;
+
+        public MCSNode() {
+        }
     }
 
     private final AtomicReference<MCSNode> tailNode;
     private final ThreadLocal<MCSNode> curNode;
 
+    /**
+     * 自旋等待时的退避策略
+     * */
+    private final SpinBackoff backoff;
+
     public MCSLock() {
+        this(SpinBackoff.DEFAULT);
+    }
+
+    public MCSLock(SpinBackoff backoff) {
+        this.backoff = backoff;
         // MCS锁的tailNode初始化时为空，代表初始化时没有任何线程持有锁
         tailNode = new AtomicReference<>();
         // 设置threadLocal的初始化方法
@@ -30,50 +64,117 @@ public class MCSLock implements SpinLock{
 
     @Override
     public void lock() {
-        MCSNode currNode = curNode.get();
-        currNode.isLocked = true;
+        lock(curNode.get());
+    }
+
+    public void lock(MCSNode currNode) {
+        currNode.state.set(WAITING);
 
         MCSNode preNode = tailNode.getAndSet(currNode);
         if(preNode == null){
             // 当前线程加锁之前并不存在tail节点，则代表当前线程为最新的节点，直接认为是加锁成功
-            currNode.isLocked = false;
+            currNode.state.set(GRANTED);
         }else{
             // 之前的节点存在，令前驱节点next指向当前节点，以便后续前驱节点释放锁时能够找到currNode
-            // 前驱节点释放锁时，会主动的更新currNode.isLocked（令currNode.isLocked=false）
+            // 前驱节点释放锁时，会主动的更新currNode.state（令currNode.state=GRANTED）
             preNode.next = currNode;
 
-            while (currNode.isLocked) {
-                // 自旋等待当前节点自己的isLocked变为false
+            int step = 0;
+            while (currNode.state.get() == WAITING) {
+                // 自旋（退避）等待当前节点自己的state变为GRANTED
+                step = backoff.backoff(step);
             }
         }
     }
 
+    /**
+     * 只在队列为空时加锁成功
+     * */
     @Override
-    public void unlock() {
+    public boolean tryLock() {
         MCSNode currNode = curNode.get();
-        if (currNode == null || currNode.isLocked) {
-            // 前置防御性校验，如果当前线程节点为空或者当前线程自身没有成功获得锁，则直接返回，加锁失败
+        currNode.state.set(GRANTED);
+        // cas失败时当前节点没有被其它线程引用，依然留在threadLocal中供下次复用
+        return tailNode.compareAndSet(null, currNode);
+    }
+
+    @Override
+    public boolean tryLock(long timeout, TimeUnit unit) {
+        MCSNode currNode = curNode.get();
+        currNode.state.set(WAITING);
+
+        MCSNode preNode = tailNode.getAndSet(currNode);
+        if(preNode == null){
+            currNode.state.set(GRANTED);
+            return true;
+        }
+        preNode.next = currNode;
+
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int step = 0;
+        while (currNode.state.get() == WAITING) {
+            if (System.nanoTime() - deadline >= 0) {
+                if (currNode.state.compareAndSet(WAITING, CANCELLED)) {
+                    // 放弃成功，节点留在队列中由释放锁的线程跳过，之后可能依然被引用，因此不能复用
+                    curNode.remove();
+                    return false;
+                }
+                // cas失败说明前驱节点恰好把锁交给了当前节点
+                break;
+            }
+            step = backoff.backoff(step);
+        }
+        return true;
+    }
+
+    /**
+     * 当前线程持有锁时，是否已有其它线程排在自己之后（供CohortLock判断能否在cluster内部传递锁）
+     * 只有不使用带超时tryLock时结果才准确，否则排在后面的可能是已经放弃的节点
+     * */
+    boolean hasQueuedSuccessor() {
+        return tailNode.get() != curNode.get();
+    }
+
+    @Override
+    public void unlock() {
+        unlock(curNode.get());
+    }
+
+    public void unlock(MCSNode currNode) {
+        if (currNode.state.get() != GRANTED) {
+            // 前置防御性校验，如果当前线程自身没有成功获得锁，则直接返回
             return;
         }
 
-        if(currNode.next == null){
-            // 当前节点的next为空，说明其是MCS的最后一个节点
-            // 以cas的形式将tailNode设置为null（防止此时有线程并发加锁 => lock方法中的tailNode.getAndSet()）
-            boolean casSuccess = tailNode.compareAndSet(currNode,null);
-            if(casSuccess){
-                // 如果cas设置tailNode成功为null成功，则释放锁结束
-                return;
-            }else{
+        MCSNode node = currNode;
+        while (true) {
+            MCSNode next = node.next;
+            if(next == null){
+                // 当前节点的next为空，说明其是MCS的最后一个节点
+                // 以cas的形式将tailNode设置为null（防止此时有线程并发加锁 => lock方法中的tailNode.getAndSet()）
+                if(tailNode.compareAndSet(node,null)){
+                    // 如果cas设置tailNode成功为null成功，则释放锁结束
+                    break;
+                }
+
                 // 如果cas设置失败，说明此时又有了新的线程节点入队了
-                while (currNode.next == null) {
-                    // 自旋等待，并发lock的线程执行（preNode.next = currNode），设置currNode的next引用
+                int step = 0;
+                while ((next = node.next) == null) {
+                    // 自旋等待，并发lock的线程执行（preNode.next = currNode），设置node的next引用
+                    // 入队的线程可能恰好在两步之间被调度出去，因此同样需要退避
+                    step = backoff.backoff(step);
                 }
             }
+
+            // 按照约定释放锁时需要将next的state修改为GRANTED，令next节点线程结束自旋从而获得锁
+            if (next.state.compareAndSet(WAITING, GRANTED)) {
+                break;
+            }
+            // next节点已经超时放弃，跳过它，继续将锁交给它的后继
+            node = next;
         }
 
-        // 如果currNode.next存在，按照约定则释放锁时需要将其next的isLocked修改，令next节点线程结束自旋从而获得锁
-        currNode.next.isLocked = false;
-        // 方便GC，断开next引用
+        // 方便GC，断开next引用（同时令当前节点可以被当前线程下一次加锁时复用）
         currNode.next = null;
     }
 }
@@ -16,18 +16,38 @@ public class OriginalSpinLock implements SpinLock{
      * */
     private final AtomicReference<Thread> lockOwner = new AtomicReference<>();
 
+    /**
+     * 自旋等待时的退避策略
+     * */
+    private final SpinBackoff backoff;
+
+    public OriginalSpinLock() {
+        this(SpinBackoff.DEFAULT);
+    }
+
+    public OriginalSpinLock(SpinBackoff backoff) {
+        this.backoff = backoff;
+    }
+
     @Override
     public void lock() {
         Thread currentThread = Thread.currentThread();
 
         // cas争用锁
         // 只有当加锁时之前lockOwner为null，才代表加锁成功,结束循环
-        // 否则说明加锁时已经有其它线程获得了锁，无限循环重试
+        // 否则说明加锁时已经有其它线程获得了锁，退避之后重试
+        int step = 0;
         while (!lockOwner.compareAndSet(null, currentThread)) {
+            step = backoff.backoff(step);
         }
 
     }
 
+    @Override
+    public boolean tryLock() {
+        return lockOwner.compareAndSet(null, Thread.currentThread());
+    }
+
     @Override
     public void unlock() {
         Thread currentThread = Thread.currentThread();
@@ -0,0 +1,20 @@
+package spinlock;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 读写自旋锁（与jdk的ReadWriteLock类似，读锁之间共享，写锁与其它所有锁互斥）
+ */
+public interface ReadWriteSpinLock {
+
+    /**
+     * 读锁
+     * */
+    SpinLock readLock();
+
+    /**
+     * 写锁
+     * */
+    SpinLock writeLock();
+}
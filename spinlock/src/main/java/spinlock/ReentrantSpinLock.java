@@ -0,0 +1,95 @@
+package spinlock;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 可重入的自旋锁装饰器
+ * 被装饰的自旋锁（例如CLHLockV1、MCSLock）在同一线程重复加锁时会把自己的节点重复入队导致死锁，
+ * 这里记录持有锁的线程与重入次数，只有第一次加锁和最后一次解锁才会真正操作被装饰的锁
+ */
+public class ReentrantSpinLock implements SpinLock{
+
+    private final SpinLock spinLock;
+
+    /**
+     * 当前持有锁的线程
+     * 只有持有锁的线程会修改，其它线程读到的要么是null要么是其它线程，都不会等于自己
+     * */
+    private volatile Thread owner;
+
+    /**
+     * 重入次数（只被持有锁的线程读写）
+     * */
+    private int holdCount;
+
+    public ReentrantSpinLock(SpinLock spinLock) {
+        this.spinLock = spinLock;
+    }
+
+    @Override
+    public void lock() {
+        Thread currentThread = Thread.currentThread();
+        if (owner == currentThread) {
+            holdCount++;
+            return;
+        }
+
+        spinLock.lock();
+        owner = currentThread;
+        holdCount = 1;
+    }
+
+    @Override
+    public boolean tryLock() {
+        Thread currentThread = Thread.currentThread();
+        if (owner == currentThread) {
+            holdCount++;
+            return true;
+        }
+
+        if (spinLock.tryLock()) {
+            owner = currentThread;
+            holdCount = 1;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean tryLock(long timeout, TimeUnit unit) {
+        Thread currentThread = Thread.currentThread();
+        if (owner == currentThread) {
+            holdCount++;
+            return true;
+        }
+
+        if (spinLock.tryLock(timeout, unit)) {
+            owner = currentThread;
+            holdCount = 1;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void unlock() {
+        if (owner != Thread.currentThread()) {
+            throw new IllegalMonitorStateException();
+        }
+
+        if (--holdCount == 0) {
+            owner = null;
+            spinLock.unlock();
+        }
+    }
+
+    /**
+     * 当前线程的重入次数，未持有锁时为0
+     * */
+    public int getHoldCount() {
+        return owner == Thread.currentThread() ? holdCount : 0;
+    }
+}
@@ -0,0 +1,149 @@
+package spinlock;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 自旋锁等待时的退避策略
+ * 线程数超过cpu核心数时，空转的while循环会白白耗尽整个时间片，甚至令被调度出去的锁持有者迟迟得不到运行
+ * 退避分为三个阶段：
+ * 1. 自旋阶段：每一轮调用Thread.onSpinWait若干次，次数从minSpins开始指数增长到maxSpins为止，并加入随机抖动避免多个线程步调一致
+ * 2. 让出阶段：自旋轮数用完后，每一轮调用Thread.yield让出cpu
+ * 3. 阻塞阶段：让出轮数也用完后，每一轮parkNanos阻塞一小段时间
+ *
+ * 退避策略本身是无状态的（可以被多个锁共享），当前退避到了第几轮由调用方在自旋循环中以局部变量的形式维护：
+ * <pre>
+ *     int step = 0;
+ *     while (!condition) {
+ *         step = backoff.backoff(step);
+ *     }
+ * </pre>
+ * 子类可以覆盖backoff方法，在退避的同时做统计（参见InstrumentedSpinLock）
+ */
+public class SpinBackoff {
+
+    /**
+     * 纯自旋，不做任何退避（只有Thread.onSpinWait的提示），与原先的空while循环等价
+     * */
+    public static final SpinBackoff BUSY_SPIN = new SpinBackoff(1, 1, Integer.MAX_VALUE, 0, 0);
+
+    /**
+     * 默认的退避策略：指数退避的自旋之后转为yield，最终park
+     * */
+    public static final SpinBackoff DEFAULT = new SpinBackoff(4, 1024, 10, 20, 50_000L);
+
+    /**
+     * jdk9开始提供的Thread.onSpinWait（jdk8中不存在，此时为null）
+     * */
+    private static final MethodHandle ON_SPIN_WAIT = findOnSpinWait();
+
+    /**
+     * 第一轮自旋的次数
+     * */
+    private final int minSpins;
+
+    /**
+     * 单轮自旋次数的上限
+     * */
+    private final int maxSpins;
+
+    /**
+     * 自旋阶段的轮数
+     * */
+    private final int spinRounds;
+
+    /**
+     * 让出阶段的轮数
+     * */
+    private final int yieldRounds;
+
+    /**
+     * 阻塞阶段每一轮park的时间（纳秒）
+     * */
+    private final long parkNanos;
+
+    /**
+     * @param minSpins 第一轮自旋的次数
+     * @param maxSpins 单轮自旋次数的上限
+     * @param spinRounds 自旋阶段的轮数
+     * @param yieldRounds 让出阶段的轮数
+     * @param parkNanos 阻塞阶段每一轮park的时间（纳秒），为0时代表阻塞阶段也只做yield
+     * */
+    public SpinBackoff(int minSpins, int maxSpins, int spinRounds, int yieldRounds, long parkNanos) {
+        if (minSpins <= 0 || maxSpins < minSpins || spinRounds < 0 || yieldRounds < 0 || parkNanos < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.minSpins = minSpins;
+        this.maxSpins = maxSpins;
+        this.spinRounds = spinRounds;
+        this.yieldRounds = yieldRounds;
+        this.parkNanos = parkNanos;
+    }
+
+    /**
+     * 复制另一个退避策略的参数
+     * */
+    protected SpinBackoff(SpinBackoff other) {
+        this(other.minSpins, other.maxSpins, other.spinRounds, other.yieldRounds, other.parkNanos);
+    }
+
+    /**
+     * 执行一轮退避
+     * @param step 当前是第几轮退避（从0开始）
+     * @return 下一轮退避时传入的step
+     * */
+    public int backoff(int step) {
+        if (step < spinRounds) {
+            // 指数增长的自旋次数（左移超过上限时直接取上限，避免溢出）
+            int spins = step >= 31 ? maxSpins : (int) Math.min((long) minSpins << step, maxSpins);
+            // 在[spins/2, spins]之间随机抖动
+            if (spins > 1) {
+                spins = (spins >>> 1) + ThreadLocalRandom.current().nextInt((spins >>> 1) + 1);
+            }
+            for (int i = 0; i < spins; i++) {
+                onSpinWait();
+            }
+        } else if (step < (long) spinRounds + yieldRounds || parkNanos == 0) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(this, parkNanos);
+        }
+
+        // 进入阻塞阶段后不再继续累加，避免溢出
+        return step < (long) spinRounds + yieldRounds ? step + 1 : step;
+    }
+
+    /**
+     * 提示处理器当前处于自旋等待中（例如x86下的pause指令），降低自旋时的功耗和对超线程兄弟线程的干扰
+     * 模块以jdk8为编译目标，因此通过MethodHandle调用；运行在jdk8上时为空操作
+     * */
+    public static void onSpinWait() {
+        if (ON_SPIN_WAIT != null) {
+            try {
+                ON_SPIN_WAIT.invokeExact();
+            } catch (Throwable ignore) {
+                // Thread.onSpinWait不会抛出异常
+            }
+        }
+    }
+
+    private static MethodHandle findOnSpinWait() {
+        try {
+            return MethodHandles.lookup().findStatic(Thread.class, "onSpinWait", MethodType.methodType(void.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SpinBackoff{minSpins=" + minSpins + ", maxSpins=" + maxSpins + ", spinRounds=" + spinRounds
+                + ", yieldRounds=" + yieldRounds + ", parkNanos=" + parkNanos + "}";
+    }
+}
@@ -1,5 +1,7 @@
 package spinlock;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * @author xiongyx
  * @date 2021/7/18
@@ -11,6 +13,30 @@ public interface SpinLock {
      * */
     void lock();
 
+    /**
+     * 尝试加锁，锁已被持有（或已有线程在排队）时不等待，直接返回
+     * @return true 加锁成功；false 加锁失败
+     * */
+    boolean tryLock();
+
+    /**
+     * 在timeout时间内尝试加锁
+     * 默认实现为轮询tryLock，适用于非排队的锁以及无法从队列中撤销节点的排队锁
+     * 支持撤销队列节点的锁（CLHLockV2、MCSLock）会覆盖该方法，超时时从队列中放弃自己的节点
+     * @return true 加锁成功；false 超时未能加锁
+     * */
+    default boolean tryLock(long timeout, TimeUnit unit) {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int step = 0;
+        while (!tryLock()) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            step = SpinBackoff.DEFAULT.backoff(step);
+        }
+        return true;
+    }
+
     /**
      * 解锁
      * */
@@ -0,0 +1,153 @@
+package spinlock;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 读者计数按线程分散到多个条带的写优先读写自旋锁（读多写少的场景）
+ * WriterPreferringRWSpinLock中所有读者都要修改同一个读者计数，即使读者之间不互斥，计数所在的缓存行也会在各个核心之间来回传递
+ * 这里每个线程只修改自己所在条带的计数（条带之间填充到不同的缓存行），读锁的加锁解锁在不同核心上互不干扰
+ * 代价是写者需要检查所有条带的计数都为0才能进入临界区
+ */
+public class StripedRWSpinLock implements ReadWriteSpinLock{
+
+    /**
+     * 相邻条带的计数在数组中的间隔（128字节，避免伪共享，同时规避相邻缓存行预取）
+     * */
+    private static final int STRIPE_PADDING = 32;
+
+    /**
+     * 每个条带上持有读锁的线程数
+     * */
+    private final AtomicIntegerArray readerCounts;
+
+    private final int stripeMask;
+
+    /**
+     * 是否有写者持有（或正在获取）写锁
+     * */
+    private final AtomicBoolean writer = new AtomicBoolean();
+
+    private final SpinBackoff backoff;
+
+    private final SpinLock readLock = new ReadLock();
+
+    private final SpinLock writeLock = new WriteLock();
+
+    /**
+     * 默认条带数为cpu核心数的2倍
+     * */
+    public StripedRWSpinLock() {
+        this(Runtime.getRuntime().availableProcessors() * 2, SpinBackoff.DEFAULT);
+    }
+
+    /**
+     * @param stripeNum 条带数（向上取整为2的幂）
+     * */
+    public StripedRWSpinLock(int stripeNum, SpinBackoff backoff) {
+        if (stripeNum <= 0) {
+            throw new IllegalArgumentException();
+        }
+        int size = 1;
+        while (size < stripeNum) {
+            size <<= 1;
+        }
+        this.stripeMask = size - 1;
+        this.readerCounts = new AtomicIntegerArray(size * STRIPE_PADDING);
+        this.backoff = backoff;
+    }
+
+    @Override
+    public SpinLock readLock() {
+        return readLock;
+    }
+
+    @Override
+    public SpinLock writeLock() {
+        return writeLock;
+    }
+
+    /**
+     * 当前线程所在条带的计数在数组中的下标（线程id散列，同一线程始终落在同一条带）
+     * */
+    private int stripeIndex() {
+        long id = Thread.currentThread().getId();
+        return (((int) ((id * 0x9E3779B97F4A7C15L) >>> 32)) & stripeMask) * STRIPE_PADDING;
+    }
+
+    private boolean noReader() {
+        for (int i = 0; i <= stripeMask; i++) {
+            if (readerCounts.get(i * STRIPE_PADDING) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private class ReadLock implements SpinLock {
+        @Override
+        public void lock() {
+            int step = 0;
+            while (!tryLock()) {
+                while (writer.get()) {
+                    step = backoff.backoff(step);
+                }
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            if (writer.get()) {
+                return false;
+            }
+            int index = stripeIndex();
+            readerCounts.incrementAndGet(index);
+            if (writer.get()) {
+                // 增加计数期间有写者到来，让出给写者
+                readerCounts.decrementAndGet(index);
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            readerCounts.decrementAndGet(stripeIndex());
+        }
+    }
+
+    private class WriteLock implements SpinLock {
+        @Override
+        public void lock() {
+            int step = 0;
+            while (writer.get() || !writer.compareAndSet(false, true)) {
+                step = backoff.backoff(step);
+            }
+            // 等待所有条带上的读者全部退出
+            step = 0;
+            while (!noReader()) {
+                step = backoff.backoff(step);
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            if (writer.get() || !writer.compareAndSet(false, true)) {
+                return false;
+            }
+            if (!noReader()) {
+                writer.set(false);
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            writer.set(false);
+        }
+    }
+}
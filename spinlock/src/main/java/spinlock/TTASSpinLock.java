@@ -0,0 +1,68 @@
+package spinlock;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * test-and-test-and-set自旋锁，不支持重入
+ * OriginalSpinLock在循环中不断的cas，每一次cas（无论成功与否）都需要独占lockOwner所在的缓存行，令其它等待线程的缓存行失效
+ * TTAS在等待时只对lockOwner做volatile读（各个线程读取自己缓存中的副本），只有看到锁空闲时才尝试cas
+ */
+public class TTASSpinLock implements SpinLock{
+
+    /**
+     * 标识当前自旋锁的持有线程
+     * */
+    private final AtomicReference<Thread> lockOwner = new AtomicReference<>();
+
+    /**
+     * 自旋等待时的退避策略
+     * */
+    private final SpinBackoff backoff;
+
+    public TTASSpinLock() {
+        this(SpinBackoff.DEFAULT);
+    }
+
+    /**
+     * @param backoff 退避策略，SpinBackoff.BUSY_SPIN即为不退避的TTAS锁
+     * */
+    public TTASSpinLock(SpinBackoff backoff) {
+        this.backoff = backoff;
+    }
+
+    @Override
+    public void lock() {
+        Thread currentThread = Thread.currentThread();
+
+        int step = 0;
+        while (true) {
+            // test：锁被持有时只读不写，在本地缓存上自旋
+            while (lockOwner.get() != null) {
+                step = backoff.backoff(step);
+            }
+
+            // test-and-set：锁看起来空闲时才cas争用
+            if (lockOwner.compareAndSet(null, currentThread)) {
+                return;
+            }
+            // cas失败说明有其它线程抢先获得了锁，多个线程同时看到锁空闲时会一起cas，退避一下再重新读取
+            step = backoff.backoff(step);
+        }
+    }
+
+    @Override
+    public boolean tryLock() {
+        return lockOwner.get() == null && lockOwner.compareAndSet(null, Thread.currentThread());
+    }
+
+    @Override
+    public void unlock() {
+        Thread currentThread = Thread.currentThread();
+
+        // 只有之前加锁成功的线程才能够将其重新cas的设置为null
+        lockOwner.compareAndSet(currentThread, null);
+    }
+}
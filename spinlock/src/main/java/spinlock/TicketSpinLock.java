@@ -18,17 +18,39 @@ public class TicketSpinLock implements SpinLock{
      * */
     private AtomicInteger currentServerNum = new AtomicInteger();
 
+    /**
+     * 自旋等待时的退避策略
+     * */
+    private final SpinBackoff backoff;
+
+    public TicketSpinLock() {
+        this(SpinBackoff.DEFAULT);
+    }
+
+    public TicketSpinLock(SpinBackoff backoff) {
+        this.backoff = backoff;
+    }
 
     public void lock() {
         // 首先原子性地获得一个排队号
         int myTicketNum = ticketNum.getAndIncrement();
 
         // 当前服务号与自己持有的服务号不匹配
-        // 一直无限轮训，直到排队号与自己的服务号一致（等待排队排到自己）
+        // 一直轮训（每次轮训之间退避），直到排队号与自己的服务号一致（等待排队排到自己）
+        int step = 0;
         while (currentServerNum.get() != myTicketNum) {
+            step = backoff.backoff(step);
         }
     }
 
+    @Override
+    public boolean tryLock() {
+        // 排队号与当前服务号一致说明锁空闲且没有线程在排队，此时原子性的取号即可直接获得锁
+        // 锁被持有时不取号（排队号一旦取得就无法放弃，否则后面的线程会永远等待）
+        int serverNum = currentServerNum.get();
+        return ticketNum.compareAndSet(serverNum, serverNum + 1);
+    }
+
     public void unlock() {
         // 释放锁时，代表当前服务已经结束
         // 当前服务号自增，使得拿到下一个服务号的线程能够获得锁
@@ -0,0 +1,115 @@
+package spinlock;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 写优先的读写自旋锁
+ * 写者先占有writer标识（此后新的读者无法进入），再等待已有的读者全部退出
+ * 读者先增加读者计数，再检查writer标识；如果发现有写者则撤销计数并等待写者结束
+ * 读者计数与writer标识都是volatile变量，读者与写者各自"先写自己的、再读对方的"，不会同时进入临界区
+ */
+public class WriterPreferringRWSpinLock implements ReadWriteSpinLock{
+
+    /**
+     * 持有读锁的线程数
+     * */
+    private final AtomicInteger readerCount = new AtomicInteger();
+
+    /**
+     * 是否有写者持有（或正在获取）写锁
+     * */
+    private final AtomicBoolean writer = new AtomicBoolean();
+
+    private final SpinBackoff backoff;
+
+    private final SpinLock readLock = new ReadLock();
+
+    private final SpinLock writeLock = new WriteLock();
+
+    public WriterPreferringRWSpinLock() {
+        this(SpinBackoff.DEFAULT);
+    }
+
+    public WriterPreferringRWSpinLock(SpinBackoff backoff) {
+        this.backoff = backoff;
+    }
+
+    @Override
+    public SpinLock readLock() {
+        return readLock;
+    }
+
+    @Override
+    public SpinLock writeLock() {
+        return writeLock;
+    }
+
+    private class ReadLock implements SpinLock {
+        @Override
+        public void lock() {
+            int step = 0;
+            while (!tryLock()) {
+                // 写者存在时只读writer标识等待，不反复修改读者计数
+                while (writer.get()) {
+                    step = backoff.backoff(step);
+                }
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            if (writer.get()) {
+                return false;
+            }
+            readerCount.incrementAndGet();
+            if (writer.get()) {
+                // 增加计数期间有写者到来，让出给写者
+                readerCount.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            readerCount.decrementAndGet();
+        }
+    }
+
+    private class WriteLock implements SpinLock {
+        @Override
+        public void lock() {
+            int step = 0;
+            // 先与其它写者争用writer标识，成功后新的读者无法再进入
+            while (writer.get() || !writer.compareAndSet(false, true)) {
+                step = backoff.backoff(step);
+            }
+            // 等待已经进入的读者全部退出
+            step = 0;
+            while (readerCount.get() != 0) {
+                step = backoff.backoff(step);
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            if (writer.get() || !writer.compareAndSet(false, true)) {
+                return false;
+            }
+            if (readerCount.get() != 0) {
+                writer.set(false);
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            writer.set(false);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+import spinlock.AdaptiveMCSLock;
+import spinlock.MCSLock;
+import spinlock.SpinBackoff;
+import spinlock.SpinLock;
+import util.SpinLockTestUtil;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 自适应自旋后阻塞的MCS锁，与纯自旋/退避的MCSLock在线程数超过cpu核心数时的耗时对比
+ */
+public class AdaptiveMCSLockTest {
+
+    public static void main(String[] args) throws InterruptedException {
+        int cpuNum = Runtime.getRuntime().availableProcessors();
+        int sumCount = cpuNum * 8;
+        int repeatSum = 1000;
+
+        AdaptiveMCSLock adaptiveMCSLock = new AdaptiveMCSLock();
+        System.out.print("AdaptiveMCSLock ");
+        testSum(adaptiveMCSLock, sumCount, repeatSum);
+        System.out.println("AdaptiveMCSLock avgHoldNanos=" + adaptiveMCSLock.getAvgHoldNanos());
+
+        System.out.print("MCSLock(DEFAULT backoff) ");
+        testSum(new MCSLock(SpinBackoff.DEFAULT), sumCount, repeatSum);
+
+        // 单核机器上纯自旋的排队锁每次交接都要等待后继线程被调度，耗时长达数分钟，没有对比的意义
+        if (cpuNum > 1) {
+            System.out.print("MCSLock(BUSY_SPIN) ");
+            testSum(new MCSLock(SpinBackoff.BUSY_SPIN), sumCount, repeatSum);
+        }
+    }
+
+    private static void testSum(SpinLock spinLock, int sumCount, int repeatSum) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(sumCount);
+        int result = SpinLockTestUtil.testConcurrentSum(executorService, spinLock, sumCount, repeatSum);
+        executorService.shutdown();
+
+        if (sumCount*repeatSum != result) {
+            throw new RuntimeException("testAdaptiveMCSLock error: sumCount != result result=" + result);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+import spinlock.CLHLockV1;
+import spinlock.CLHLockV2;
+import spinlock.MCSLock;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 由调用方持有队列节点的CLH/MCS锁
+ * 1. 并发累加校验（每个线程持有自己的节点）
+ * 2. 单线程反复加锁解锁，校验调用方持有节点时稳态下没有对象分配，并与threadLocal查找节点的方式对比耗时
+ */
+public class CallerHeldNodeTest {
+
+    private static final int THREAD_NUM = 8;
+
+    private static final int REPEAT_SUM = 20000;
+
+    private static final int LOOP_NUM = 10_000_000;
+
+    /**
+     * 调用方持有节点的加锁、解锁操作
+     * */
+    private interface NodeLock<N> {
+        N newNode();
+
+        void lock(N node);
+
+        void unlock(N node);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        CLHLockV1 clhLockV1 = new CLHLockV1();
+        CLHLockV2 clhLockV2 = new CLHLockV2();
+        MCSLock mcsLock = new MCSLock();
+
+        NodeLock<CLHLockV1.Handle> clhV1NodeLock = nodeLock(CLHLockV1.Handle::new, clhLockV1::lock, clhLockV1::unlock);
+        NodeLock<CLHLockV2.Handle> clhV2NodeLock = nodeLock(CLHLockV2.Handle::new, clhLockV2::lock, clhLockV2::unlock);
+        NodeLock<MCSLock.MCSNode> mcsNodeLock = nodeLock(MCSLock.MCSNode::new, mcsLock::lock, mcsLock::unlock);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_NUM);
+        concurrentSum(executorService, "CLHLockV1", clhV1NodeLock);
+        concurrentSum(executorService, "CLHLockV2", clhV2NodeLock);
+        concurrentSum(executorService, "MCSLock", mcsNodeLock);
+        executorService.shutdown();
+
+        checkAllocation("CLHLockV1", clhV1NodeLock, clhLockV1::lock, clhLockV1::unlock);
+        checkAllocation("CLHLockV2", clhV2NodeLock, clhLockV2::lock, clhLockV2::unlock);
+        checkAllocation("MCSLock", mcsNodeLock, mcsLock::lock, mcsLock::unlock);
+    }
+
+    private static <N> NodeLock<N> nodeLock(Supplier<N> nodeSupplier, Consumer<N> lock, Consumer<N> unlock) {
+        return new NodeLock<N>() {
+            @Override
+            public N newNode() {
+                return nodeSupplier.get();
+            }
+
+            @Override
+            public void lock(N node) {
+                lock.accept(node);
+            }
+
+            @Override
+            public void unlock(N node) {
+                unlock.accept(node);
+            }
+        };
+    }
+
+    private static <N> void concurrentSum(ExecutorService executorService, String name, NodeLock<N> nodeLock) throws InterruptedException {
+        CountDownLatch driverLatch = new CountDownLatch(1);
+        CountDownLatch barrierLatch = new CountDownLatch(THREAD_NUM);
+        final int[] count = {0};
+
+        for (int i = 0; i < THREAD_NUM; i++) {
+            executorService.execute(() -> {
+                N node = nodeLock.newNode();
+                try {
+                    driverLatch.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+
+                for (int j = 0; j < REPEAT_SUM; j++) {
+                    nodeLock.lock(node);
+                    count[0]++;
+                    nodeLock.unlock(node);
+                }
+                barrierLatch.countDown();
+            });
+        }
+        driverLatch.countDown();
+        barrierLatch.await();
+
+        if (count[0] != THREAD_NUM * REPEAT_SUM) {
+            throw new RuntimeException("concurrentSum error: " + name + " result=" + count[0]);
+        }
+    }
+
+    private static <N> void checkAllocation(String name, NodeLock<N> nodeLock, Runnable lock, Runnable unlock) {
+        N node = nodeLock.newNode();
+        // 预热，令相关方法完成编译
+        runNodeLock(nodeLock, node, LOOP_NUM / 10);
+        runThreadLocalLock(lock, unlock, LOOP_NUM / 10);
+
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        runNodeLock(nodeLock, node, LOOP_NUM);
+        long nodeCost = System.nanoTime() - start;
+        long nodeAllocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        before = threadMXBean.getThreadAllocatedBytes(threadId);
+        start = System.nanoTime();
+        runThreadLocalLock(lock, unlock, LOOP_NUM);
+        long threadLocalCost = System.nanoTime() - start;
+        long threadLocalAllocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        System.out.println(name
+                + " callerHeldNode: " + nodeCost / LOOP_NUM + "ns/op allocatedBytes=" + nodeAllocatedBytes
+                + " threadLocalNode: " + threadLocalCost / LOOP_NUM + "ns/op allocatedBytes=" + threadLocalAllocatedBytes);
+        // 允许统计方法自身产生的少量分配
+        if (nodeAllocatedBytes > 1024) {
+            throw new RuntimeException("checkAllocation error: " + name + " allocatedBytes=" + nodeAllocatedBytes);
+        }
+    }
+
+    private static <N> void runNodeLock(NodeLock<N> nodeLock, N node, int loopNum) {
+        for (int i = 0; i < loopNum; i++) {
+            nodeLock.lock(node);
+            nodeLock.unlock(node);
+        }
+    }
+
+    private static void runThreadLocalLock(Runnable lock, Runnable unlock, int loopNum) {
+        for (int i = 0; i < loopNum; i++) {
+            lock.run();
+            unlock.run();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+import spinlock.CohortLock;
+import spinlock.MCSLock;
+import spinlock.SpinBackoff;
+import spinlock.SpinLock;
+import util.SpinLockTestUtil;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * cohort锁的正确性校验，以及与MCSLock的对比
+ * 测试环境不一定是多路服务器，因此在临界区内模拟跨cluster交接的开销：
+ * 持有者与上一个持有者不在同一个cluster时，额外忙等一段时间（近似跨插槽读取被保护数据时的缓存未命中）
+ */
+public class CohortLockTest {
+
+    private static final int CLUSTER_NUM = 2;
+
+    private static final int THREAD_NUM = 8;
+
+    private static final int REPEAT_SUM = 5000;
+
+    /**
+     * 模拟的跨cluster交接开销
+     * */
+    private static final long REMOTE_HANDOFF_NANOS = 1_000L;
+
+    /**
+     * 当前测试线程所属的cluster
+     * */
+    private static final ThreadLocal<Integer> CLUSTER = new ThreadLocal<>();
+
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_NUM);
+
+        int result = SpinLockTestUtil.testConcurrentSum(executorService, new CohortLock(CLUSTER_NUM), THREAD_NUM, REPEAT_SUM);
+        if (THREAD_NUM * REPEAT_SUM != result) {
+            throw new RuntimeException("testCohortLock error: sumCount != result result=" + result);
+        }
+
+        // 第一次执行时存在一定的初始化开销，不进行统计
+        testRemoteHandoff(executorService, "MCSLock", new MCSLock(SpinBackoff.DEFAULT));
+        testRemoteHandoff(executorService, "CohortLock", newCohortLock(1));
+
+        testRemoteHandoff(executorService, "MCSLock", new MCSLock(SpinBackoff.DEFAULT));
+        for (int maxLocalPass : new int[]{1, 16, 64}) {
+            testRemoteHandoff(executorService, "CohortLock(maxLocalPass=" + maxLocalPass + ")", newCohortLock(maxLocalPass));
+        }
+        executorService.shutdown();
+    }
+
+    /**
+     * 线程按照编号（而不是线程id）划分cluster，保证每个cluster的线程数相同
+     * */
+    private static CohortLock newCohortLock(int maxLocalPass) {
+        return new CohortLock(CLUSTER_NUM, CohortLockTest::clusterOf, maxLocalPass, SpinBackoff.DEFAULT);
+    }
+
+    private static int clusterOf(Thread thread) {
+        return CLUSTER.get();
+    }
+
+    private static void testRemoteHandoff(ExecutorService executorService, String name, SpinLock spinLock) throws InterruptedException {
+        CountDownLatch driverLatch = new CountDownLatch(1);
+        CountDownLatch barrierLatch = new CountDownLatch(THREAD_NUM);
+        // lastCluster、remoteHandoffCount、count都在锁内访问
+        final int[] lastCluster = {-1};
+        final long[] remoteHandoffCount = {0};
+        final int[] count = {0};
+
+        for (int i = 0; i < THREAD_NUM; i++) {
+            final int cluster = i % CLUSTER_NUM;
+            executorService.execute(() -> {
+                CLUSTER.set(cluster);
+                try {
+                    driverLatch.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+
+                for (int j = 0; j < REPEAT_SUM; j++) {
+                    spinLock.lock();
+                    if (lastCluster[0] != cluster) {
+                        lastCluster[0] = cluster;
+                        remoteHandoffCount[0]++;
+                        long end = System.nanoTime() + REMOTE_HANDOFF_NANOS;
+                        while (System.nanoTime() < end) {
+                            // 模拟跨cluster的缓存未命中
+                        }
+                    }
+                    count[0]++;
+                    spinLock.unlock();
+                }
+                barrierLatch.countDown();
+            });
+        }
+
+        long start = System.currentTimeMillis();
+        driverLatch.countDown();
+        barrierLatch.await();
+        long cost = System.currentTimeMillis() - start;
+
+        if (count[0] != THREAD_NUM * REPEAT_SUM) {
+            throw new RuntimeException("testRemoteHandoff error: " + name + " result=" + count[0]);
+        }
+        System.out.println(name + " cost=" + cost + "ms remoteHandoffCount=" + remoteHandoffCount[0]);
+    }
+}
@@ -0,0 +1,185 @@
+import spinlock.FlatCombiningExecutor;
+import spinlock.MCSLock;
+import spinlock.SpinLock;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * flat combining执行器与MCSLock的对比：计数器自增、小HashMap更新两种临界区
+ * 以及线程不断被替换（槽位被清理后重新加入）时执行结果的正确性
+ */
+public class FlatCombiningExecutorTest {
+
+    private static final int THREAD_NUM = 8;
+
+    /**
+     * 每个线程执行的次数（MCSLock在线程数超过cpu核心数时每次交接都依赖后继线程被调度，次数不宜过大）
+     * */
+    private static final int REPEAT_SUM = 10000;
+
+    /**
+     * HashMap的key数量
+     * */
+    private static final int KEY_NUM = 16;
+
+    /**
+     * 重复执行的次数
+     * */
+    private static final int REPEAT_TIME = 5;
+
+    private static class Counter {
+        long value;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_NUM);
+
+        // 计数器自增
+        {
+            MCSLock mcsLock = new MCSLock();
+            Counter lockCounter = new Counter();
+            long mcsCost = statistic(executorService, () -> increment(mcsLock, lockCounter), () -> lockCounter.value, (long) THREAD_NUM * REPEAT_SUM);
+
+            Counter combiningCounter = new Counter();
+            FlatCombiningExecutor<Counter> executor = new FlatCombiningExecutor<>(combiningCounter);
+            long combiningCost = statistic(executorService, () -> increment(executor), () -> combiningCounter.value, (long) THREAD_NUM * REPEAT_SUM);
+
+            System.out.println("increment MCSLock avgCostTime=" + mcsCost + "ms FlatCombiningExecutor avgCostTime=" + combiningCost + "ms");
+        }
+
+        // 小HashMap更新（校验所有value之和）
+        {
+            MCSLock mcsLock = new MCSLock();
+            Map<Integer, Long> lockMap = new HashMap<>();
+            long mcsCost = statistic(executorService, () -> updateMap(mcsLock, lockMap), () -> sum(lockMap), (long) THREAD_NUM * REPEAT_SUM);
+
+            Map<Integer, Long> combiningMap = new HashMap<>();
+            FlatCombiningExecutor<Map<Integer, Long>> executor = new FlatCombiningExecutor<>(combiningMap);
+            long combiningCost = statistic(executorService, () -> updateMap(executor), () -> sum(combiningMap), (long) THREAD_NUM * REPEAT_SUM);
+
+            System.out.println("mapUpdate MCSLock avgCostTime=" + mcsCost + "ms FlatCombiningExecutor avgCostTime=" + combiningCost + "ms");
+        }
+        executorService.shutdown();
+
+        checkThreadChurn();
+    }
+
+    /**
+     * 每一批都使用新的线程执行，旧线程的槽位会被清理，常驻线程的槽位空闲后被移出链表、再次执行时重新加入
+     * */
+    private static void checkThreadChurn() throws InterruptedException {
+        Counter counter = new Counter();
+        FlatCombiningExecutor<Counter> executor = new FlatCombiningExecutor<>(counter);
+        int batchNum = 200;
+        int perThreadNum = 1000;
+        for (int i = 0; i < batchNum; i++) {
+            Thread[] threads = new Thread[4];
+            for (int j = 0; j < threads.length; j++) {
+                threads[j] = new Thread(() -> {
+                    for (int k = 0; k < perThreadNum; k++) {
+                        executor.execute(c -> ++c.value);
+                    }
+                });
+                threads[j].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            // 当前线程间歇性地执行，期间其槽位会因空闲被移出链表
+            executor.execute(c -> ++c.value);
+        }
+
+        long expected = (long) batchNum * (4 * perThreadNum + 1);
+        if (counter.value != expected) {
+            throw new RuntimeException("checkThreadChurn error: result=" + counter.value + " expected=" + expected);
+        }
+        System.out.println("checkThreadChurn ok");
+    }
+
+    private static void increment(SpinLock spinLock, Counter counter) {
+        for (int i = 0; i < REPEAT_SUM; i++) {
+            spinLock.lock();
+            counter.value++;
+            spinLock.unlock();
+        }
+    }
+
+    private static void increment(FlatCombiningExecutor<Counter> executor) {
+        for (int i = 0; i < REPEAT_SUM; i++) {
+            executor.execute(counter -> ++counter.value);
+        }
+    }
+
+    private static void updateMap(SpinLock spinLock, Map<Integer, Long> map) {
+        for (int i = 0; i < REPEAT_SUM; i++) {
+            spinLock.lock();
+            map.merge(i % KEY_NUM, 1L, Long::sum);
+            spinLock.unlock();
+        }
+    }
+
+    private static void updateMap(FlatCombiningExecutor<Map<Integer, Long>> executor) {
+        for (int i = 0; i < REPEAT_SUM; i++) {
+            final int key = i % KEY_NUM;
+            executor.execute(map -> map.merge(key, 1L, Long::sum));
+        }
+    }
+
+    private static long sum(Map<Integer, Long> map) {
+        long sum = 0;
+        for (long value : map.values()) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    private interface LongGetter {
+        long get();
+    }
+
+    /**
+     * @return 平均耗时（每一轮结束时校验共享状态的累计值）
+     * */
+    private static long statistic(ExecutorService executorService, Runnable task, LongGetter resultGetter, long perTurnExpected) throws InterruptedException {
+        // 第一次执行时存在一定的初始化开销，不进行统计
+        oneTurnExecute(executorService, task);
+        long totalTime = 0;
+        for (int i = 0; i < REPEAT_TIME; i++) {
+            totalTime += oneTurnExecute(executorService, task);
+        }
+
+        long result = resultGetter.get();
+        if (result != perTurnExpected * (REPEAT_TIME + 1)) {
+            throw new RuntimeException("testFlatCombiningExecutor error: result=" + result);
+        }
+        return totalTime / REPEAT_TIME;
+    }
+
+    private static long oneTurnExecute(ExecutorService executorService, Runnable task) throws InterruptedException {
+        CountDownLatch driverLatch = new CountDownLatch(1);
+        CountDownLatch barrierLatch = new CountDownLatch(THREAD_NUM);
+        for (int i = 0; i < THREAD_NUM; i++) {
+            executorService.execute(() -> {
+                try {
+                    driverLatch.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                task.run();
+                barrierLatch.countDown();
+            });
+        }
+
+        long startTime = System.currentTimeMillis();
+        driverLatch.countDown();
+        barrierLatch.await();
+        return System.currentTimeMillis() - startTime;
+    }
+}
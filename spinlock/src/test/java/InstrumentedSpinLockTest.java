@@ -0,0 +1,151 @@
+import spinlock.InstrumentedSpinLock;
+import spinlock.LockProfiler;
+import spinlock.MCSLock;
+import spinlock.SpinBackoff;
+import spinlock.SpinLock;
+import spinlock.TTASSpinLock;
+import util.SpinLockTestUtil;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 带统计的自旋锁装饰器与锁竞争分析器的校验（包括线程结束、锁不再被引用之后的清理），以及装饰器在无竞争时的额外开销
+ */
+public class InstrumentedSpinLockTest {
+
+    private static final int LOOP_NUM = 10_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        InstrumentedSpinLock hotLock = new InstrumentedSpinLock("hotLock", MCSLock::new, SpinBackoff.DEFAULT);
+        InstrumentedSpinLock warmLock = new InstrumentedSpinLock("warmLock", TTASSpinLock::new, SpinBackoff.DEFAULT);
+        InstrumentedSpinLock coldLock = new InstrumentedSpinLock("coldLock", new MCSLock());
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        testSum(executorService, hotLock, 8, 20000);
+        testSum(executorService, warmLock, 2, 20000);
+        testSum(executorService, coldLock, 1, 20000);
+        executorService.shutdown();
+        check(hotLock.getStats().getAcquireCount() == 8 * 20000, "hotLock acquireCount=" + hotLock.getStats().getAcquireCount());
+
+        // 是否发生竞争取决于线程调度（单核机器上可能完全没有竞争），确保hotLock、warmLock至少各有一次竞争
+        forceContention(hotLock);
+        forceContention(warmLock);
+
+        System.out.println(LockProfiler.report(2));
+
+        check(coldLock.getStats().getContendedCount() == 0, "coldLock contendedCount=" + coldLock.getStats().getContendedCount());
+        check(hotLock.getStats().getContendedCount() > 0, "hotLock contendedCount=" + hotLock.getStats().getContendedCount());
+        check(warmLock.getStats().getContendedCount() > 0, "warmLock contendedCount=" + warmLock.getStats().getContendedCount());
+        List<InstrumentedSpinLock.Stats> top = LockProfiler.topContended(2);
+        check(top.size() == 2 && !top.get(0).getName().equals("coldLock") && !top.get(1).getName().equals("coldLock"), "topContended=" + top);
+
+        testTerminatedThreads();
+        testCollectedLock();
+        testOverhead();
+    }
+
+    /**
+     * 线程结束后其计数器被合并，统计数据不丢失
+     * */
+    private static void testTerminatedThreads() throws InterruptedException {
+        InstrumentedSpinLock lock = new InstrumentedSpinLock("shortLivedThreadsLock", MCSLock::new, SpinBackoff.DEFAULT);
+        int threadNum = 100;
+        int repeatSum = 100;
+        for (int i = 0; i < threadNum; i++) {
+            Thread thread = new Thread(() -> runLockUnlock(lock, repeatSum));
+            thread.start();
+            thread.join();
+            // 每个线程结束后都合并一次，令已结束线程的计数器被移除
+            check(lock.getStats().getAcquireCount() == (long) (i + 1) * repeatSum, "shortLivedThreadsLock acquireCount=" + lock.getStats().getAcquireCount());
+        }
+        LockProfiler.unregister(lock);
+    }
+
+    /**
+     * 不再被引用的锁被回收后不再出现在报告中
+     * */
+    private static void testCollectedLock() throws InterruptedException {
+        String name = "collectedLock";
+        InstrumentedSpinLock lock = new InstrumentedSpinLock(name, MCSLock::new, SpinBackoff.DEFAULT);
+        runLockUnlock(lock, 1);
+        lock = null;
+
+        for (int i = 0; i < 50; i++) {
+            System.gc();
+            Thread.sleep(10);
+            boolean found = false;
+            for (InstrumentedSpinLock.Stats stats : LockProfiler.topContended(Integer.MAX_VALUE)) {
+                found |= stats.getName().equals(name);
+            }
+            if (!found) {
+                return;
+            }
+        }
+        throw new RuntimeException("testInstrumentedSpinLock error: collectedLock still registered");
+    }
+
+    /**
+     * 当前线程持有锁期间，另一个线程尝试加锁（tryLock失败后进入lock，计为一次竞争）
+     * 另一个线程极端情况下可能在锁释放之后才开始加锁，因此重复直到竞争次数增加
+     * */
+    private static void forceContention(InstrumentedSpinLock lock) throws InterruptedException {
+        long contendedCount = lock.getStats().getContendedCount();
+        while (lock.getStats().getContendedCount() == contendedCount) {
+            lock.lock();
+            Thread contender = new Thread(() -> runLockUnlock(lock, 1));
+            try {
+                contender.start();
+                Thread.sleep(10);
+            } finally {
+                lock.unlock();
+            }
+            contender.join();
+        }
+    }
+
+    private static void testSum(ExecutorService executorService, SpinLock spinLock, int sumCount, int repeatSum) throws InterruptedException {
+        int result = SpinLockTestUtil.testConcurrentSum(executorService, spinLock, sumCount, repeatSum);
+        check(sumCount * repeatSum == result, "sumCount != result result=" + result);
+    }
+
+    /**
+     * 单线程无竞争时，装饰前后每次加锁解锁的耗时
+     * */
+    private static void testOverhead() {
+        MCSLock mcsLock = new MCSLock();
+        InstrumentedSpinLock instrumentedSpinLock = new InstrumentedSpinLock("overheadLock", MCSLock::new, SpinBackoff.DEFAULT);
+        LockProfiler.unregister(instrumentedSpinLock);
+
+        // 预热，令相关方法完成编译
+        runLockUnlock(mcsLock, LOOP_NUM / 10);
+        runLockUnlock(instrumentedSpinLock, LOOP_NUM / 10);
+
+        long start = System.nanoTime();
+        runLockUnlock(mcsLock, LOOP_NUM);
+        long rawCost = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        runLockUnlock(instrumentedSpinLock, LOOP_NUM);
+        long instrumentedCost = System.nanoTime() - start;
+
+        System.out.println("MCSLock " + rawCost / LOOP_NUM + "ns/op, InstrumentedSpinLock(MCSLock) " + instrumentedCost / LOOP_NUM + "ns/op");
+    }
+
+    private static void runLockUnlock(SpinLock spinLock, int loopNum) {
+        for (int i = 0; i < loopNum; i++) {
+            spinLock.lock();
+            spinLock.unlock();
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new RuntimeException("testInstrumentedSpinLock error: " + message);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+import jmh.LockHandoffLatencyBenchmark;
+import jmh.LockThroughputBenchmark;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.stream.IntStream;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 锁性能测试（基于jmh）
+ * 1. LockThroughputBenchmark：不同线程数、临界区长度下的吞吐量（ops/us），以及各线程获得锁次数的分布（公平性）
+ * 2. LockHandoffLatencyBenchmark：加锁+解锁耗时分布，以及锁在线程之间交接延迟的p50/p99/p999
+ * 依次以1、2、4、8个线程（以及cpu核心数的2倍）运行，命令行指定了-t时只使用指定的线程数
+ *
+ * 命令行参数与jmh一致，会覆盖下面的默认配置，例如只测试MCS与jdk的锁：
+ * -p lockType=MCS,JDKReentrantLock -p criticalSectionTokens=0
+ */
+public class LockPerformanceTest {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        int cpuNum = Runtime.getRuntime().availableProcessors();
+        int[] threadNums = commandLineOptions.getThreads().hasValue()
+                ? new int[]{commandLineOptions.getThreads().get()}
+                : IntStream.of(1, 2, 4, 8, cpuNum * 2).distinct().sorted().toArray();
+
+        for (int threads : threadNums) {
+            Options options = new OptionsBuilder()
+                    .parent(commandLineOptions)
+                    .include(LockThroughputBenchmark.class.getName())
+                    .include(LockHandoffLatencyBenchmark.class.getName())
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(3)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(1))
+                    .build();
+
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+import spinlock.CentralizedRWSpinLock;
+import spinlock.ReadWriteSpinLock;
+import spinlock.SpinLock;
+import spinlock.StripedRWSpinLock;
+import spinlock.WriterPreferringRWSpinLock;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 读写自旋锁的正确性校验，以及与ReentrantReadWriteLock在不同写比例（1%、10%、50%）下的性能对比
+ * 临界区为对一个小HashMap（模拟配置表）的查询/更新
+ */
+public class ReadWriteSpinLockTest {
+
+    private static final int THREAD_NUM = 4;
+
+    /**
+     * 每个线程的操作次数
+     * */
+    private static final int PER_THREAD_OPERATION_NUM = 200000;
+
+    /**
+     * 配置表的大小
+     * */
+    private static final int CONFIG_SIZE = 64;
+
+    /**
+     * 重复执行的次数
+     * */
+    private static final int REPEAT_TIME = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_NUM);
+
+        for (int writePercent : new int[]{1, 10, 50}) {
+            System.out.println("========== writePercent=" + writePercent + "% ==========");
+            testReadWriteLock(executorService, "ReentrantReadWriteLock", ReadWriteSpinLockTest::jdkReadWriteLock, writePercent);
+            testReadWriteLock(executorService, "CentralizedRWSpinLock", CentralizedRWSpinLock::new, writePercent);
+            testReadWriteLock(executorService, "WriterPreferringRWSpinLock", WriterPreferringRWSpinLock::new, writePercent);
+            testReadWriteLock(executorService, "StripedRWSpinLock", StripedRWSpinLock::new, writePercent);
+        }
+        executorService.shutdown();
+    }
+
+    private static void testReadWriteLock(ExecutorService executorService, String name, Supplier<ReadWriteSpinLock> lockSupplier, int writePercent) throws InterruptedException {
+        ReadWriteSpinLock readWriteSpinLock = lockSupplier.get();
+
+        // 第一次执行时存在一定的初始化开销，不进行统计
+        oneTurnExecute(executorService, readWriteSpinLock, writePercent);
+        long totalTime = 0;
+        for (int i = 0; i < REPEAT_TIME; i++) {
+            totalTime += oneTurnExecute(executorService, readWriteSpinLock, writePercent);
+        }
+        System.out.println(name + " avgCostTime=" + totalTime / REPEAT_TIME + "ms");
+    }
+
+    /**
+     * 配置表中所有value始终保持相同（写者在临界区内逐个更新），读者在读锁保护下检查一致性
+     * */
+    private static long oneTurnExecute(ExecutorService executorService, ReadWriteSpinLock readWriteSpinLock, int writePercent) throws InterruptedException {
+        Map<Integer, Integer> config = new HashMap<>();
+        for (int i = 0; i < CONFIG_SIZE; i++) {
+            config.put(i, 0);
+        }
+        SpinLock readLock = readWriteSpinLock.readLock();
+        SpinLock writeLock = readWriteSpinLock.writeLock();
+        final int[] writeCount = new int[THREAD_NUM];
+
+        CountDownLatch driverLatch = new CountDownLatch(1);
+        CountDownLatch barrierLatch = new CountDownLatch(THREAD_NUM);
+        for (int i = 0; i < THREAD_NUM; i++) {
+            final int index = i;
+            executorService.execute(() -> {
+                try {
+                    driverLatch.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int j = 0; j < PER_THREAD_OPERATION_NUM; j++) {
+                    if (random.nextInt(100) < writePercent) {
+                        writeLock.lock();
+                        int version = config.get(0) + 1;
+                        for (int k = 0; k < CONFIG_SIZE; k++) {
+                            config.put(k, version);
+                        }
+                        writeLock.unlock();
+                        writeCount[index]++;
+                    } else {
+                        readLock.lock();
+                        int key = random.nextInt(CONFIG_SIZE);
+                        boolean consistent = config.get(key).equals(config.get(0));
+                        readLock.unlock();
+                        if (!consistent) {
+                            throw new RuntimeException("readWriteLock error: read inconsistent config");
+                        }
+                    }
+                }
+                barrierLatch.countDown();
+            });
+        }
+
+        long startTime = System.currentTimeMillis();
+        driverLatch.countDown();
+        barrierLatch.await();
+        long costTime = System.currentTimeMillis() - startTime;
+
+        int totalWriteCount = 0;
+        for (int count : writeCount) {
+            totalWriteCount += count;
+        }
+        if (config.get(0) != totalWriteCount) {
+            throw new RuntimeException("readWriteLock error: version=" + config.get(0) + " writeCount=" + totalWriteCount);
+        }
+        return costTime;
+    }
+
+    /**
+     * 将ReentrantReadWriteLock适配为ReadWriteSpinLock
+     * */
+    private static ReadWriteSpinLock jdkReadWriteLock() {
+        ReentrantReadWriteLock reentrantReadWriteLock = new ReentrantReadWriteLock();
+        SpinLock readLock = adapt(reentrantReadWriteLock.readLock());
+        SpinLock writeLock = adapt(reentrantReadWriteLock.writeLock());
+        return new ReadWriteSpinLock() {
+            @Override
+            public SpinLock readLock() {
+                return readLock;
+            }
+
+            @Override
+            public SpinLock writeLock() {
+                return writeLock;
+            }
+        };
+    }
+
+    private static SpinLock adapt(Lock lock) {
+        return new SpinLock() {
+            @Override
+            public void lock() {
+                lock.lock();
+            }
+
+            @Override
+            public boolean tryLock() {
+                return lock.tryLock();
+            }
+
+            @Override
+            public void unlock() {
+                lock.unlock();
+            }
+        };
+    }
+}
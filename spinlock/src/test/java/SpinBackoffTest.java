@@ -0,0 +1,54 @@
+import spinlock.CLHLockV1;
+import spinlock.CLHLockV2;
+import spinlock.MCSLock;
+import spinlock.OriginalSpinLock;
+import spinlock.SpinBackoff;
+import spinlock.SpinLock;
+import spinlock.TicketSpinLock;
+import util.SpinLockTestUtil;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 线程数超过cpu核心数（2倍、8倍）时，纯自旋与退避策略下各个自旋锁的耗时对比
+ * 纯自旋时，排队锁（ticket、CLH、MCS）的下一个持有者如果没有被调度，其余线程只能空转耗尽各自的时间片，耗时会急剧恶化
+ */
+public class SpinBackoffTest {
+
+    /**
+     * 每个线程自增的次数（纯自旋在8倍超额订阅下单次交接就可能耗费一整个时间片，因此次数不宜过大）
+     * */
+    private static final int REPEAT_SUM = 1000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int cpuNum = Runtime.getRuntime().availableProcessors();
+        for (int oversubscription : new int[]{2, 8}) {
+            int sumCount = cpuNum * oversubscription;
+            System.out.println("========== cpuNum=" + cpuNum + " threads=" + sumCount + " ==========");
+            for (SpinBackoff backoff : new SpinBackoff[]{SpinBackoff.BUSY_SPIN, SpinBackoff.DEFAULT}) {
+                System.out.println(backoff);
+                testSum("OriginalSpinLock", OriginalSpinLock::new, backoff, sumCount);
+                testSum("TicketSpinLock", TicketSpinLock::new, backoff, sumCount);
+                testSum("CLHLockV1", CLHLockV1::new, backoff, sumCount);
+                testSum("CLHLockV2", CLHLockV2::new, backoff, sumCount);
+                testSum("MCSLock", MCSLock::new, backoff, sumCount);
+            }
+        }
+    }
+
+    private static void testSum(String name, Function<SpinBackoff, SpinLock> lockFactory, SpinBackoff backoff, int sumCount) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(sumCount);
+        System.out.print(name + " ");
+        int result = SpinLockTestUtil.testConcurrentSum(executorService, lockFactory.apply(backoff), sumCount, REPEAT_SUM);
+        executorService.shutdown();
+
+        if (sumCount * REPEAT_SUM != result) {
+            throw new RuntimeException("testSpinBackoff error: " + name + " sumCount != result result=" + result);
+        }
+    }
+}
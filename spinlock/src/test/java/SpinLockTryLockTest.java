@@ -0,0 +1,185 @@
+import spinlock.AdaptiveMCSLock;
+import spinlock.CLHLockV1;
+import spinlock.CLHLockV2;
+import spinlock.MCSLock;
+import spinlock.OriginalSpinLock;
+import spinlock.ReentrantSpinLock;
+import spinlock.SpinLock;
+import spinlock.TTASSpinLock;
+import spinlock.TicketSpinLock;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 各个自旋锁tryLock、带超时tryLock的校验，以及可重入装饰器的校验
+ * 带超时的并发累加测试中大量加锁会超时放弃，用于校验CLHLockV2、MCSLock放弃队列节点之后锁依然正确
+ */
+public class SpinLockTryLockTest {
+
+    private static final int THREAD_NUM = 8;
+
+    private static final int REPEAT_SUM = 2000;
+
+    /**
+     * 带超时加锁的超时时间（足够短，令竞争时频繁出现超时放弃）
+     * */
+    private static final long TRY_LOCK_TIMEOUT_NANOS = 20_000L;
+
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_NUM);
+
+        testLock("OriginalSpinLock", OriginalSpinLock::new, executorService);
+        testLock("TicketSpinLock", TicketSpinLock::new, executorService);
+        testLock("TTASSpinLock", TTASSpinLock::new, executorService);
+        testLock("CLHLockV1", CLHLockV1::new, executorService);
+        testLock("CLHLockV2", CLHLockV2::new, executorService);
+        testLock("MCSLock", MCSLock::new, executorService);
+        testLock("AdaptiveMCSLock", AdaptiveMCSLock::new, executorService);
+
+        testReentrant(executorService);
+        executorService.shutdown();
+    }
+
+    private static void testLock(String name, Supplier<SpinLock> lockSupplier, ExecutorService executorService) throws InterruptedException {
+        SpinLock spinLock = lockSupplier.get();
+
+        // 锁空闲时tryLock成功，被持有时其它线程的tryLock与带超时的tryLock都失败
+        check(name, spinLock.tryLock(), "tryLock on free lock");
+        check(name, !runInOtherThread(executorService, spinLock::tryLock), "tryLock on held lock");
+        long start = System.nanoTime();
+        check(name, !runInOtherThread(executorService, () -> spinLock.tryLock(10, TimeUnit.MILLISECONDS)), "timed tryLock on held lock");
+        check(name, System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(10), "timed tryLock returned too early");
+        spinLock.unlock();
+
+        // 超时放弃之后锁依然可以被正常获取
+        check(name, runInOtherThread(executorService, () -> {
+            boolean success = spinLock.tryLock(10, TimeUnit.MILLISECONDS);
+            spinLock.unlock();
+            return success;
+        }), "timed tryLock after abandon");
+        spinLock.lock();
+        spinLock.unlock();
+
+        long timeoutCount = timedConcurrentSum(executorService, spinLock);
+        System.out.println(name + " ok, timeoutCount=" + timeoutCount);
+    }
+
+    /**
+     * 所有线程使用很短的超时时间加锁，超时后重试，校验累加结果
+     * @return 超时放弃的次数
+     * */
+    private static long timedConcurrentSum(ExecutorService executorService, SpinLock spinLock) throws InterruptedException {
+        CountDownLatch driverLatch = new CountDownLatch(1);
+        CountDownLatch barrierLatch = new CountDownLatch(THREAD_NUM);
+        final long[] count = {0};
+        final long[] timeoutCount = new long[THREAD_NUM];
+
+        for (int i = 0; i < THREAD_NUM; i++) {
+            final int index = i;
+            executorService.execute(() -> {
+                try {
+                    driverLatch.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+
+                for (int j = 0; j < REPEAT_SUM; j++) {
+                    while (!spinLock.tryLock(TRY_LOCK_TIMEOUT_NANOS, TimeUnit.NANOSECONDS)) {
+                        timeoutCount[index]++;
+                    }
+                    count[0]++;
+                    spinLock.unlock();
+                }
+                barrierLatch.countDown();
+            });
+        }
+        driverLatch.countDown();
+        barrierLatch.await();
+
+        if (count[0] != (long) THREAD_NUM * REPEAT_SUM) {
+            throw new RuntimeException("timedConcurrentSum error: result=" + count[0]);
+        }
+        long totalTimeoutCount = 0;
+        for (long c : timeoutCount) {
+            totalTimeoutCount += c;
+        }
+        return totalTimeoutCount;
+    }
+
+    private static void testReentrant(ExecutorService executorService) throws InterruptedException {
+        ReentrantSpinLock reentrantSpinLock = new ReentrantSpinLock(new MCSLock());
+
+        reentrantSpinLock.lock();
+        reentrantSpinLock.lock();
+        check("ReentrantSpinLock", reentrantSpinLock.tryLock(), "reentrant tryLock");
+        check("ReentrantSpinLock", reentrantSpinLock.getHoldCount() == 3, "holdCount");
+        check("ReentrantSpinLock", !runInOtherThread(executorService, reentrantSpinLock::tryLock), "tryLock on held lock");
+        reentrantSpinLock.unlock();
+        reentrantSpinLock.unlock();
+        check("ReentrantSpinLock", !runInOtherThread(executorService, reentrantSpinLock::tryLock), "tryLock before last unlock");
+        reentrantSpinLock.unlock();
+        check("ReentrantSpinLock", reentrantSpinLock.getHoldCount() == 0, "holdCount after unlock");
+
+        try {
+            reentrantSpinLock.unlock();
+            throw new RuntimeException("ReentrantSpinLock error: unlock without lock");
+        } catch (IllegalMonitorStateException expected) {
+            // 未持有锁时解锁需要抛出异常
+        }
+
+        // 嵌套加锁的并发累加
+        timedConcurrentSum(executorService, new SpinLock() {
+            @Override
+            public void lock() {
+                reentrantSpinLock.lock();
+                reentrantSpinLock.lock();
+            }
+
+            @Override
+            public boolean tryLock() {
+                return reentrantSpinLock.tryLock() && reentrantSpinLock.tryLock();
+            }
+
+            @Override
+            public boolean tryLock(long timeout, TimeUnit unit) {
+                if (!reentrantSpinLock.tryLock(timeout, unit)) {
+                    return false;
+                }
+                reentrantSpinLock.lock();
+                return true;
+            }
+
+            @Override
+            public void unlock() {
+                reentrantSpinLock.unlock();
+                reentrantSpinLock.unlock();
+            }
+        });
+        System.out.println("ReentrantSpinLock ok");
+    }
+
+    private interface BooleanTask {
+        boolean run() throws Exception;
+    }
+
+    private static boolean runInOtherThread(ExecutorService executorService, BooleanTask task) {
+        try {
+            return executorService.submit(task::run).get();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void check(String name, boolean condition, String message) {
+        if (!condition) {
+            throw new RuntimeException(name + " error: " + message);
+        }
+    }
+}
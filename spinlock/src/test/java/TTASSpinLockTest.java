@@ -0,0 +1,65 @@
+import spinlock.OriginalSpinLock;
+import spinlock.SpinBackoff;
+import spinlock.SpinLock;
+import spinlock.TTASSpinLock;
+import spinlock.TicketSpinLock;
+import util.SpinLockTestUtil;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * TTAS自旋锁的正确性校验，以及与OriginalSpinLock、TicketSpinLock的吞吐量对比
+ */
+public class TTASSpinLockTest {
+
+    /**
+     * 重复执行的次数
+     * */
+    private static final int REPEAT_TIME = 10;
+
+    public static void main(String[] args) throws InterruptedException {
+        // 线程数与cpu核心数一致（纯自旋在线程数超过核心数时的表现见SpinBackoffTest）
+        int cpuNum = Runtime.getRuntime().availableProcessors();
+        int sumCount = Math.max(2, cpuNum);
+        int repeatSum = 100000;
+        ExecutorService executorService = Executors.newFixedThreadPool(sumCount);
+
+        // 单核时纯自旋的TicketSpinLock每次交接都要等待下一个排队线程被调度，耗时以分钟计，因此只测试退避策略
+        SpinBackoff[] backoffs = cpuNum > 1
+                ? new SpinBackoff[]{SpinBackoff.BUSY_SPIN, SpinBackoff.DEFAULT}
+                : new SpinBackoff[]{SpinBackoff.DEFAULT};
+        for (SpinBackoff backoff : backoffs) {
+            System.out.println(backoff);
+            testThroughput(executorService, "OriginalSpinLock", new OriginalSpinLock(backoff), sumCount, repeatSum);
+            testThroughput(executorService, "TicketSpinLock", new TicketSpinLock(backoff), sumCount, repeatSum);
+            testThroughput(executorService, "TTASSpinLock", new TTASSpinLock(backoff), sumCount, repeatSum);
+        }
+        executorService.shutdown();
+    }
+
+    private static void testThroughput(ExecutorService executorService, String name, SpinLock spinLock, int sumCount, int repeatSum) throws InterruptedException {
+        // 第一次执行时存在一定的初始化开销，不进行统计
+        oneTurnExecute(executorService, spinLock, sumCount, repeatSum);
+
+        long totalTime = 0;
+        for (int i = 0; i < REPEAT_TIME; i++) {
+            totalTime += oneTurnExecute(executorService, spinLock, sumCount, repeatSum);
+        }
+        long avgCostTime = totalTime / REPEAT_TIME;
+        System.out.println(name + " avgCostTime=" + avgCostTime + "ms"
+                + " ops/ms=" + (long) sumCount * repeatSum / Math.max(avgCostTime, 1));
+    }
+
+    private static long oneTurnExecute(ExecutorService executorService, SpinLock spinLock, int sumCount, int repeatSum) throws InterruptedException {
+        long startTime = System.currentTimeMillis();
+        int result = SpinLockTestUtil.testConcurrentSum(executorService, spinLock, sumCount, repeatSum);
+        if (sumCount*repeatSum != result) {
+            throw new RuntimeException("testTTASSpinLock error: sumCount != result result=" + result);
+        }
+        return System.currentTimeMillis() - startTime;
+    }
+}
@@ -0,0 +1,100 @@
+package jmh;
+
+import aqs.v4.MyReentrantLockV4;
+import spinlock.AdaptiveMCSLock;
+import spinlock.CLHLockV1;
+import spinlock.CLHLockV2;
+import spinlock.CohortLock;
+import spinlock.MCSLock;
+import spinlock.OriginalSpinLock;
+import spinlock.SpinLock;
+import spinlock.TTASSpinLock;
+import spinlock.TicketSpinLock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 根据jmh的@Param参数创建对应的锁
+ * MyReentrantLockV4与jdk的ReentrantLock作为基准，适配为SpinLock接口
+ */
+public class LockFactory {
+
+    public static SpinLock create(String lockType) {
+        switch (lockType) {
+            case "Original":
+                return new OriginalSpinLock();
+            case "Ticket":
+                return new TicketSpinLock();
+            case "TTAS":
+                return new TTASSpinLock();
+            case "CLHV1":
+                return new CLHLockV1();
+            case "CLHV2":
+                return new CLHLockV2();
+            case "MCS":
+                return new MCSLock();
+            case "AdaptiveMCS":
+                return new AdaptiveMCSLock();
+            case "Cohort":
+                return new CohortLock(2);
+            case "MyReentrantLockV4":
+                return adapt(new MyReentrantLockV4());
+            case "JDKReentrantLock":
+                return adapt(new ReentrantLock());
+            default:
+                throw new IllegalArgumentException("unknown lockType: " + lockType);
+        }
+    }
+
+    private static SpinLock adapt(MyReentrantLockV4 lock) {
+        return new SpinLock() {
+            @Override
+            public void lock() {
+                lock.lock();
+            }
+
+            @Override
+            public boolean tryLock() {
+                return lock.tryLock();
+            }
+
+            @Override
+            public void unlock() {
+                lock.unlock();
+            }
+        };
+    }
+
+    private static SpinLock adapt(ReentrantLock lock) {
+        return new SpinLock() {
+            @Override
+            public void lock() {
+                lock.lock();
+            }
+
+            @Override
+            public boolean tryLock() {
+                return lock.tryLock();
+            }
+
+            @Override
+            public boolean tryLock(long timeout, TimeUnit unit) {
+                try {
+                    return lock.tryLock(timeout, unit);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+
+            @Override
+            public void unlock() {
+                lock.unlock();
+            }
+        };
+    }
+}
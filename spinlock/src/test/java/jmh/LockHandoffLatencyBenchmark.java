@@ -0,0 +1,126 @@
+package jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import spinlock.SpinLock;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 锁交接延迟基准测试
+ * 1. jmh的SampleTime模式统计一次加锁+解锁的耗时分布（包含排队等待的时间）
+ * 2. 持有者在解锁前记录时间戳，下一个获得锁的线程（与上一个持有者不同时）计算从解锁到自己加锁成功之间的耗时，即交接延迟
+ *    每次迭代结束时打印交接延迟的p50/p99/p999
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LockHandoffLatencyBenchmark {
+
+    /**
+     * 每个线程每次迭代最多记录的交接延迟样本数
+     * */
+    private static final int MAX_SAMPLE_NUM = 1 << 20;
+
+    @State(Scope.Benchmark)
+    public static class LockState {
+
+        @Param({"Original", "Ticket", "TTAS", "CLHV1", "CLHV2", "MCS", "AdaptiveMCS", "Cohort", "MyReentrantLockV4", "JDKReentrantLock"})
+        public String lockType;
+
+        @Param({"0", "100"})
+        public int criticalSectionTokens;
+
+        SpinLock lock;
+
+        /**
+         * 上一个持有者解锁前的时间，以及上一个持有者（均由锁保护）
+         * */
+        long releaseNanos;
+
+        Thread lastOwner;
+
+        final Queue<ThreadState> threadStates = new ConcurrentLinkedQueue<>();
+
+        @Setup(Level.Trial)
+        public void setup() {
+            lock = LockFactory.create(lockType);
+        }
+
+        @TearDown(Level.Iteration)
+        public void printHandoffLatency() {
+            int total = 0;
+            for (ThreadState threadState : threadStates) {
+                total += threadState.sampleNum;
+            }
+            long[] samples = new long[total];
+            int offset = 0;
+            for (ThreadState threadState : threadStates) {
+                System.arraycopy(threadState.samples, 0, samples, offset, threadState.sampleNum);
+                offset += threadState.sampleNum;
+                threadState.sampleNum = 0;
+            }
+            if (total == 0) {
+                return;
+            }
+            Arrays.sort(samples);
+            System.out.print(" [handoff samples=" + total
+                    + " p50=" + percentile(samples, 0.5) + "ns"
+                    + " p99=" + percentile(samples, 0.99) + "ns"
+                    + " p999=" + percentile(samples, 0.999) + "ns]");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        final long[] samples = new long[MAX_SAMPLE_NUM];
+
+        int sampleNum;
+
+        @Setup(Level.Trial)
+        public void setup(LockState lockState) {
+            lockState.threadStates.add(this);
+        }
+    }
+
+    @Benchmark
+    public void lockUnlock(LockState state, ThreadState threadState) {
+        Thread currentThread = Thread.currentThread();
+        state.lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (state.lastOwner != null && state.lastOwner != currentThread && threadState.sampleNum < MAX_SAMPLE_NUM) {
+                threadState.samples[threadState.sampleNum++] = now - state.releaseNanos;
+            }
+            Blackhole.consumeCPU(state.criticalSectionTokens);
+            state.lastOwner = currentThread;
+            state.releaseNanos = System.nanoTime();
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * 已排序数组的分位数
+     * */
+    private static long percentile(long[] sortedValues, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedValues.length) - 1;
+        return sortedValues[Math.max(0, Math.min(index, sortedValues.length - 1))];
+    }
+}
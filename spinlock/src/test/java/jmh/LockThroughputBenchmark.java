@@ -0,0 +1,106 @@
+package jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import spinlock.SpinLock;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author xiongyx
+ * @date 2026/10/19
+ *
+ * 锁吞吐量与公平性基准测试
+ * 所有线程反复获取同一把锁，在临界区内执行criticalSectionTokens个单位的计算，临界区外执行outsideTokens个单位的计算
+ * 线程数由运行时的-t参数（或LockPerformanceTest中的配置）决定
+ * 每次迭代结束时打印各线程获得锁次数的分布（max/min以及变异系数），数值越接近1/0说明越公平
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LockThroughputBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class LockState {
+
+        @Param({"Original", "Ticket", "TTAS", "CLHV1", "CLHV2", "MCS", "AdaptiveMCS", "Cohort", "MyReentrantLockV4", "JDKReentrantLock"})
+        public String lockType;
+
+        @Param({"0", "100"})
+        public int criticalSectionTokens;
+
+        @Param({"0", "100"})
+        public int outsideTokens;
+
+        SpinLock lock;
+
+        /**
+         * 被锁保护的共享变量
+         * */
+        long counter;
+
+        final Queue<ThreadState> threadStates = new ConcurrentLinkedQueue<>();
+
+        @Setup(Level.Trial)
+        public void setup() {
+            lock = LockFactory.create(lockType);
+        }
+
+        @TearDown(Level.Iteration)
+        public void printFairness() {
+            long[] counts = threadStates.stream().mapToLong(threadState -> threadState.acquireCount).toArray();
+            threadStates.forEach(threadState -> threadState.acquireCount = 0);
+            if (counts.length == 0) {
+                return;
+            }
+            Arrays.sort(counts);
+            double mean = Arrays.stream(counts).average().orElse(0);
+            double variance = Arrays.stream(counts).mapToDouble(count -> (count - mean) * (count - mean)).sum() / counts.length;
+            System.out.print(" [fairness threads=" + counts.length
+                    + " min=" + counts[0] + " max=" + counts[counts.length - 1]
+                    + " max/min=" + String.format("%.2f", counts[0] == 0 ? Double.POSITIVE_INFINITY : (double) counts[counts.length - 1] / counts[0])
+                    + " cv=" + String.format("%.3f", mean == 0 ? 0 : Math.sqrt(variance) / mean) + "]");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        /**
+         * 当前线程在本次迭代中获得锁的次数
+         * */
+        long acquireCount;
+
+        @Setup(Level.Trial)
+        public void setup(LockState lockState) {
+            lockState.threadStates.add(this);
+        }
+    }
+
+    @Benchmark
+    public long lockUnlock(LockState state, ThreadState threadState) {
+        long value;
+        state.lock.lock();
+        try {
+            value = ++state.counter;
+            Blackhole.consumeCPU(state.criticalSectionTokens);
+        } finally {
+            state.lock.unlock();
+        }
+        threadState.acquireCount++;
+        Blackhole.consumeCPU(state.outsideTokens);
+        return value;
+    }
+}
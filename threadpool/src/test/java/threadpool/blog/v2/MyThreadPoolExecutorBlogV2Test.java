@@ -1,5 +1,6 @@
 package threadpool.blog.v2;
 
+import blockingqueue.transfer.MyTransferQueue;
 import org.junit.Assert;
 import org.junit.Test;
 import threadpool.blog.MyThreadPoolExecutorV2;
@@ -131,6 +132,56 @@ public class MyThreadPoolExecutorBlogV2Test {
         Assert.assertEquals(queueCapacity, myThreadPoolExecutorV2.getQueue().size());
     }
 
+    /**
+     * 直接交接队列（不缓冲任务）
+     * corePoolSize = 0
+     * maximumPoolSize = 10
+     * 提交的任务只会直接交给空闲的工作线程，没有空闲线程时创建新的工作线程，
+     * 提交11个任务，会创建10(maximumPoolSize)个工作线程，最后一个任务提交时触发拒绝策略
+     * */
+    @Test
+    public void testTransferQueue() throws InterruptedException {
+        int maximumPooSize = 10;
+        int taskNum = 11;
+
+        MyThreadPoolExecutorV2 myThreadPoolExecutorV2 = new MyThreadPoolExecutorV2(
+                0, maximumPooSize, 60, TimeUnit.SECONDS,
+                // 直接交接队列
+                new MyTransferQueue<>(),
+                Executors.defaultThreadFactory(),
+                new MyThreadPoolExecutorV2.MyAbortPolicy());
+
+        // 短任务执行完毕后，工作线程空闲下来等待新任务，后续的任务会直接交给空闲的工作线程而不会创建新的线程
+        for (int i = 0; i < 100; i++) {
+            myThreadPoolExecutorV2.execute(() -> {});
+            Thread.sleep(10L);
+        }
+        Assert.assertEquals(1, myThreadPoolExecutorV2.getPoolSize());
+
+        boolean hasRejectedExecutionException = false;
+        try {
+            for (int i = 0; i < taskNum; i++) {
+                myThreadPoolExecutorV2.execute(() -> {
+                    while (true) {
+                        System.out.println("666:" + Thread.currentThread().getName());
+                        try {
+                            Thread.sleep(1000L);
+                        } catch (InterruptedException e) {
+                            e.printStackTrace();
+                        }
+                    }
+                });
+            }
+        }catch (RejectedExecutionException ignore){
+            System.out.println("触发拒绝策略");
+            hasRejectedExecutionException = true;
+        }
+
+        Assert.assertTrue(hasRejectedExecutionException);
+        Assert.assertEquals(maximumPooSize, myThreadPoolExecutorV2.getPoolSize());
+        Assert.assertEquals(0, myThreadPoolExecutorV2.getQueue().size());
+    }
+
     /**
      * 测试允许核心线程超时
      * 提交5个任务(每个耗时2秒)，会创建5个核心线程